@@ -73,6 +73,7 @@ import org.valkyriercp.form.builder.*;
 import org.valkyriercp.image.DefaultIconSource;
 import org.valkyriercp.image.DefaultImageSource;
 import org.valkyriercp.image.IconSource;
+import org.valkyriercp.image.ImagePreloader;
 import org.valkyriercp.image.ImageSource;
 import org.valkyriercp.rules.RulesSource;
 import org.valkyriercp.rules.reporting.DefaultMessageTranslatorFactory;
@@ -184,6 +185,31 @@ public abstract class AbstractApplicationConfig implements ApplicationConfig {
         return imageSource;
     }
 
+    /**
+     * Starts decoding the images returned by {@link #getPreloadedImageKeys()}
+     * in the background while the application context is being loaded. The
+     * application launcher waits for it before starting the application.
+     */
+    @Bean
+    public ImagePreloader imagePreloader() {
+        ImagePreloader imagePreloader = new ImagePreloader(imageSource(), getPreloadedImageKeys());
+        imagePreloader.start();
+        return imagePreloader;
+    }
+
+    /**
+     * Returns the keys of the images to preload at startup, by default all
+     * images of a {@link DefaultImageSource}. Override to return a subset, or
+     * an empty collection to disable preloading.
+     */
+    protected Collection<String> getPreloadedImageKeys() {
+        ImageSource imageSource = imageSource();
+        if (imageSource instanceof DefaultImageSource) {
+            return ((DefaultImageSource) imageSource).getImageKeys();
+        }
+        return Collections.emptySet();
+    }
+
     private Map<String, Object> flatten(Map<String, Object> map, String root) {
     	Map<String, Object> flattened = new HashMap<>();
     	map.forEach((key, value) -> {
@@ -274,7 +300,7 @@ public abstract class AbstractApplicationConfig implements ApplicationConfig {
 	}
 
     protected ResourceBundleMessageSource createMessageSourceImpl() {
-        return new ResourceBundleMessageSource();
+        return new IndexedResourceBundleMessageSource();
     }
 
 	public List<String> getResourceBundleLocations() {
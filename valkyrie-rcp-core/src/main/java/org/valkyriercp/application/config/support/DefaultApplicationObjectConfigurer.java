@@ -41,6 +41,8 @@ import org.valkyriercp.security.SecurityControllerManager;
 import javax.swing.*;
 import java.awt.*;
 import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The default implementation of the {@link ApplicationObjectConfigurer}
@@ -57,6 +59,12 @@ import java.util.Locale;
  * implement certain 'configurable' interfaces, such as
  * {@link LabelConfigurable} or {@link TitleConfigurable}. See the javadoc of
  * the {@link #configure(Object, String)} method for more details.
+ * <p>
+ * When the message source is an {@link IndexedResourceBundleMessageSource},
+ * the set of message codes it knows is used to skip lookups of optional
+ * messages that do not exist, instead of letting the message source walk its
+ * bundles for each of them. The number of configured objects and the time
+ * spent configuring them are kept to monitor startup.
  *
  *
  * @author Keith Donald
@@ -111,6 +119,12 @@ public class DefaultApplicationObjectConfigurer implements ApplicationObjectConf
 
 	private boolean loadOptionalIcons = true;
 
+	private boolean useMessageCodeIndex = true;
+
+	private final AtomicLong configuredObjectCount = new AtomicLong();
+
+	private final AtomicLong configureTime = new AtomicLong();
+
 	private MessageSource messageSource;
 
 	private ImageSource imageSource;
@@ -185,6 +199,31 @@ public class DefaultApplicationObjectConfigurer implements ApplicationObjectConf
 		this.loadOptionalIcons = loadOptionalIcons;
 	}
 
+	/**
+	 * Sets the flag that determines if the message codes known by an
+	 * {@link IndexedResourceBundleMessageSource} are used to skip lookups of
+	 * messages that do not exist. The default is true.
+	 *
+	 * @param useMessageCodeIndex The flag to use the message code index.
+	 */
+	public void setUseMessageCodeIndex(boolean useMessageCodeIndex) {
+		this.useMessageCodeIndex = useMessageCodeIndex;
+	}
+
+	/**
+	 * Returns the number of objects configured by this instance.
+	 */
+	public long getConfiguredObjectCount() {
+		return configuredObjectCount.get();
+	}
+
+	/**
+	 * Returns the total time in nanoseconds spent configuring objects.
+	 */
+	public long getConfigureTime() {
+		return configureTime.get();
+	}
+
 	/**
 	 * Returns this instance's message source. If a source was not provided at
 	 * construction, it will be retrieved by the application services locator.
@@ -291,6 +330,8 @@ public class DefaultApplicationObjectConfigurer implements ApplicationObjectConf
 
 		Assert.notNull(objectName, "objectName");
 
+		long start = System.nanoTime();
+
 		if (object instanceof TitleConfigurable) {
 			configureTitle((TitleConfigurable) object, objectName);
 		}
@@ -327,6 +368,13 @@ public class DefaultApplicationObjectConfigurer implements ApplicationObjectConf
 			configureSecurityController((Secured) object, objectName);
 		}
 
+		long time = System.nanoTime() - start;
+		configureTime.addAndGet(time);
+		configuredObjectCount.incrementAndGet();
+		if (logger.isDebugEnabled()) {
+			logger.debug("Configured [" + objectName + "] in " + (time / 1000) + " microseconds");
+		}
+
 	}
 
 	/**
@@ -721,6 +769,11 @@ public class DefaultApplicationObjectConfigurer implements ApplicationObjectConf
 			logger.debug("Resolving label with code '" + messageCode + "'");
 		}
 
+		Set<String> messageCodes = getMessageCodes();
+		if (messageCodes != null && !messageCodes.contains(messageCode)) {
+			return null;
+		}
+
 		try {
 			return getMessageSource().getMessage(messageCode, null, getLocale());
 		}
@@ -745,6 +798,18 @@ public class DefaultApplicationObjectConfigurer implements ApplicationObjectConf
 		return Locale.getDefault();
 	}
 
+	/**
+	 * Returns the message codes known by the message source for the current
+	 * locale, or null if these are not known up front.
+	 */
+	private Set<String> getMessageCodes() {
+		MessageSource messageSource = getMessageSource();
+		if (useMessageCodeIndex && messageSource instanceof IndexedResourceBundleMessageSource) {
+			return ((IndexedResourceBundleMessageSource) messageSource).getMessageCodes(getLocale());
+		}
+		return null;
+	}
+
 	private Icon loadIcon(String objectName, String iconType) {
 		return loadIcon(objectName, iconType, false);
 	}
@@ -0,0 +1,81 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.application.config.support;
+
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link ResourceBundleMessageSource} which can tell which message codes it
+ * is able to resolve, without walking its bundles for each code.
+ * <p>
+ * The set of codes is collected once per locale by scanning the keys of the
+ * configured bundles, including the keys of their parent bundles. This allows
+ * the {@link DefaultApplicationObjectConfigurer} to skip lookups of optional
+ * messages, such as titles and captions, which most objects do not have.
+ *
+ * @see #getMessageCodes(Locale)
+ */
+public class IndexedResourceBundleMessageSource extends ResourceBundleMessageSource {
+
+	private final Map<Locale, Set<String>> messageCodes = new ConcurrentHashMap<Locale, Set<String>>();
+
+	/**
+	 * Returns all message codes this message source resolves for the given
+	 * locale, or <code>null</code> if the codes cannot be known up front: when
+	 * a parent message source, common messages or the code as default message
+	 * are used, or when bundles are reloaded.
+	 *
+	 * @param locale the locale of the messages.
+	 * @return an unmodifiable set of codes, or <code>null</code>.
+	 */
+	public Set<String> getMessageCodes(Locale locale) {
+		if (getParentMessageSource() != null || getCommonMessages() != null || isUseCodeAsDefaultMessage()
+				|| getCacheMillis() >= 0) {
+			return null;
+		}
+		Set<String> codes = messageCodes.get(locale);
+		if (codes == null) {
+			codes = new HashSet<String>();
+			for (String basename : getBasenameSet()) {
+				ResourceBundle bundle = getResourceBundle(basename, locale);
+				if (bundle != null) {
+					codes.addAll(bundle.keySet());
+				}
+			}
+			codes = Collections.unmodifiableSet(codes);
+			messageCodes.put(locale, codes);
+		}
+		return codes;
+	}
+
+	public void setBasenames(String... basenames) {
+		super.setBasenames(basenames);
+		messageCodes.clear();
+	}
+
+	public void addBasenames(String... basenames) {
+		super.addBasenames(basenames);
+		messageCodes.clear();
+	}
+}
@@ -30,10 +30,12 @@ import org.valkyriercp.application.splash.DefaultSplashScreenConfig;
 import org.valkyriercp.application.splash.MonitoringSplashScreen;
 import org.valkyriercp.application.splash.SplashScreen;
 import org.valkyriercp.application.splash.SplashScreenConfig;
+import org.valkyriercp.image.ImagePreloader;
 import org.valkyriercp.progress.ProgressMonitor;
 
 import javax.swing.*;
 import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The main driver for a Spring Rich Client application.
@@ -64,6 +66,9 @@ public class ApplicationLauncher {
 
 	private final Log logger = LogFactory.getLog(getClass());
 
+	/** Maximum number of seconds to wait for image preloading at startup. */
+	private static final long IMAGE_PRELOAD_TIMEOUT = 10;
+
 	private ApplicationContext startupContext;
 
 	private SplashScreen splashScreen;
@@ -310,6 +315,8 @@ public class ApplicationLauncher {
                     e);
         }
 
+        awaitImagePreloading();
+
         try {
             // To avoid deadlocks when events fire during initialization of some swing components
             // Possible to do: in theory not a single Swing component should be created (=modified) in the launcher thread...
@@ -331,6 +338,27 @@ public class ApplicationLauncher {
 
     }
 
+    /**
+     * Waits, with a timeout, for the {@link ImagePreloader} of the main
+     * application context, if any, so the first window can be built without
+     * loading images on the EDT.
+     */
+    private void awaitImagePreloading() {
+        ImagePreloader imagePreloader = rootApplicationContext.getBeanProvider(ImagePreloader.class).getIfAvailable();
+        if (imagePreloader != null) {
+            try {
+                if (!imagePreloader.awaitCompletion(IMAGE_PRELOAD_TIMEOUT, TimeUnit.SECONDS)) {
+                    logger.warn("Image preloading not finished after " + IMAGE_PRELOAD_TIMEOUT
+                            + " seconds; continuing startup");
+                }
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("Image preloading interrupted", e);
+            }
+        }
+    }
+
     /**
      * Searches the given bean factory for a {@link SplashScreen} and displays it.
      *
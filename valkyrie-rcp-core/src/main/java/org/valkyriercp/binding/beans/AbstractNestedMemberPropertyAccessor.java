@@ -15,11 +15,10 @@
  */
 package org.valkyriercp.binding.beans;
 
-import org.cache2k.Cache;
-import org.cache2k.Cache2kBuilder;
 import org.springframework.beans.*;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.convert.TypeDescriptor;
+import org.valkyriercp.util.MemoMap;
 
 import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
@@ -39,9 +38,8 @@ public abstract class AbstractNestedMemberPropertyAccessor extends
 
 	private String basePropertyName;
 
-	private final Cache<String, PropertyAccessor> childPropertyAccessors = new Cache2kBuilder<String, PropertyAccessor>() {}
-			.loader(this::createChildPropertyAccessor)
-			.build();
+	private final MemoMap<String, PropertyAccessor> childPropertyAccessors = new MemoMap<String, PropertyAccessor>(
+			this::createChildPropertyAccessor);
 
 	private final boolean strictNullHandlingEnabled;
 
@@ -68,6 +68,14 @@ public interface FormModel extends PropertyChangePublisher, Authorizable {
 	/** The name of the bound property <em>committable</em>. */
 	static final String COMMITTABLE_PROPERTY = "committable";
 
+	/**
+	 * The name of the event fired once the form object has been replaced, if
+	 * the form model coalesces form object changes.
+	 *
+	 * @see FormObjectReplacedListener
+	 */
+	static final String FORM_OBJECT_REPLACED_PROPERTY = "formObjectReplaced";
+
 	/**
 	 * Returns the id that is used to identify this form model.
 	 */
@@ -0,0 +1,30 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.binding.form;
+
+import java.beans.PropertyChangeListener;
+
+/**
+ * Marks a value change listener of a form property that also listens to the
+ * {@link FormModel#FORM_OBJECT_REPLACED_PROPERTY} of its form model. When the
+ * form model coalesces form object replacements, such a listener is not
+ * notified of the value changes caused by replacing the form object; it is
+ * expected to read the new value when the form object replaced event arrives.
+ *
+ * @see org.valkyriercp.binding.form.support.AbstractFormModel#setCoalesceFormObjectChanges(boolean)
+ */
+public interface FormObjectReplacedListener extends PropertyChangeListener {
+}
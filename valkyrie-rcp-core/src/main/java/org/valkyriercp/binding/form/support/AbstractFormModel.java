@@ -15,8 +15,6 @@
  */
 package org.valkyriercp.binding.form.support;
 
-import org.cache2k.Cache;
-import org.cache2k.Cache2kBuilder;
 import org.springframework.beans.BeanUtils;
 import org.valkyriercp.convert.ConversionExecutor;
 import org.valkyriercp.convert.RichClientConversionService;
@@ -39,6 +37,7 @@ import org.valkyriercp.binding.value.support.ValueHolder;
 import org.valkyriercp.core.support.AbstractPropertyChangePublisher;
 import org.valkyriercp.util.ClassUtils;
 import org.valkyriercp.util.EventListenerListHelper;
+import org.valkyriercp.util.MemoMap;
 import org.valkyriercp.util.ValkyrieRepository;
 
 import java.beans.PropertyChangeEvent;
@@ -93,13 +92,16 @@ public abstract class AbstractFormModel extends AbstractPropertyChangePublisher
 
     private final Set dirtyValueAndFormModels = new HashSet();
 
-    private final Cache<String, RichClientConversionService> propertyConversionServices = new Cache2kBuilder<String, RichClientConversionService>() {
-    }
-            .loader(key -> new DefaultRichClientConversionService() {
+    /** Set while a new form object is installed, see {@link #isSettingFormObject()}. */
+    private boolean settingFormObject;
+
+    private boolean coalesceFormObjectChanges;
+
+    private final MemoMap<String, RichClientConversionService> propertyConversionServices = new MemoMap<String, RichClientConversionService>(
+            key -> new DefaultRichClientConversionService() {
                 protected void addDefaultConverters() {
                 }
-            })
-            .build();
+            });
 
     protected final PropertyChangeListener parentStateChangeHandler = new ParentStateChangeHandler();
 
@@ -164,19 +166,75 @@ public abstract class AbstractFormModel extends AbstractPropertyChangePublisher
         return getFormObjectHolder().getValue();
     }
 
+    /**
+     * Replaces the form object. The value models are disconnected from the
+     * view while the new property values are read, so listeners see the new
+     * object as a whole: the form object holder notifies its listeners first,
+     * followed by one value change per property that actually changed. The
+     * dirty state of this form model is notified once, after all value models
+     * have been updated.
+     * <p>
+     * If form object changes are coalesced, the
+     * {@link FormObjectReplacedListener}s of the value models are left out of
+     * the value changes and a single {@link #FORM_OBJECT_REPLACED_PROPERTY}
+     * event is fired instead, once the new form object has been installed.
+     *
+     * @see #setCoalesceFormObjectChanges(boolean)
+     */
     public void setFormObject(Object formObject) {
-        setDeliverValueChangeEvents(false);
-        if (formObject == null) {
-            handleSetNullFormObject();
-        } else {
-            getFormObjectHolder().setValue(formObject);
-            setEnabled(true);
+        boolean wasSettingFormObject = settingFormObject;
+        settingFormObject = true;
+        try {
+            setDeliverValueChangeEvents(false);
+            if (formObject == null) {
+                handleSetNullFormObject();
+            } else {
+                getFormObjectHolder().setValue(formObject);
+                setEnabled(true);
+            }
+            // this will cause all buffered value models to revert
+            // to the new form objects property values
+            commitTrigger.revert();
+            clearValueModelsDirtyState();
+            setDeliverValueChangeEvents(true, coalesceFormObjectChanges);
+        } finally {
+            settingFormObject = wasSettingFormObject;
+        }
+        if (!settingFormObject) {
+            dirtyUpdated();
+        }
+        if (coalesceFormObjectChanges) {
+            firePropertyChange(FORM_OBJECT_REPLACED_PROPERTY, null, getFormObject());
         }
-        // this will cause all buffered value models to revert
-        // to the new form objects property values
-        commitTrigger.revert();
-        clearValueModelsDirtyState();
-        setDeliverValueChangeEvents(true);
+    }
+
+    /**
+     * Returns whether replacing the form object notifies the
+     * {@link FormObjectReplacedListener}s once instead of per property.
+     */
+    public boolean isCoalesceFormObjectChanges() {
+        return coalesceFormObjectChanges;
+    }
+
+    /**
+     * Sets whether replacing the form object notifies the
+     * {@link FormObjectReplacedListener}s of the value models, like the
+     * bindings, with a single {@link #FORM_OBJECT_REPLACED_PROPERTY} event
+     * instead of a value change per property. Other value change listeners
+     * are notified as before. Defaults to <code>false</code>.
+     */
+    public void setCoalesceFormObjectChanges(boolean coalesceFormObjectChanges) {
+        this.coalesceFormObjectChanges = coalesceFormObjectChanges;
+    }
+
+    /**
+     * Returns <code>true</code> while {@link #setFormObject(Object)} is
+     * installing a new form object. Subclasses can use this to handle the
+     * property changes caused by the new form object in a single pass once it
+     * has been installed, instead of once per property.
+     */
+    protected boolean isSettingFormObject() {
+        return settingFormObject;
     }
 
     /**
@@ -186,11 +244,7 @@ public abstract class AbstractFormModel extends AbstractPropertyChangePublisher
      * delivered.
      */
     private void setDeliverValueChangeEvents(boolean enable) {
-        formObjectHolder.setDeliverValueChangeEvents(enable);
-        for (Object o : mediatingValueModels.values()) {
-            FormModelMediatingValueModel valueModel = (FormModelMediatingValueModel) o;
-            valueModel.setDeliverValueChangeEvents(enable);
-        }
+        setDeliverValueChangeEvents(enable, false);
     }
 
     private void clearValueModelsDirtyState() {
@@ -200,12 +254,20 @@ public abstract class AbstractFormModel extends AbstractPropertyChangePublisher
     }
 
 
-    private void setDeliverValueChangeEvents(boolean deliverValueChangeEvents, boolean clearValueModels) {
+    /**
+     * Disconnect view from data in MediatingValueModels
+     *
+     * @param deliverValueChangeEvents <code>true</code> if events should be
+     * delivered.
+     * @param skipFormObjectReplacedListeners <code>true</code> if the
+     * {@link FormObjectReplacedListener}s are notified separately.
+     */
+    private void setDeliverValueChangeEvents(boolean deliverValueChangeEvents, boolean skipFormObjectReplacedListeners) {
         formObjectHolder.setDeliverValueChangeEvents(deliverValueChangeEvents);
 
         for (Object o : mediatingValueModels.values()) {
             FormModelMediatingValueModel valueModel = (FormModelMediatingValueModel) o;
-            valueModel.setDeliverValueChangeEvents(deliverValueChangeEvents);
+            valueModel.setDeliverValueChangeEvents(deliverValueChangeEvents, skipFormObjectReplacedListeners);
         }
     }
 
@@ -820,7 +882,9 @@ public abstract class AbstractFormModel extends AbstractPropertyChangePublisher
                     dirtyValueAndFormModels.remove(valueModel);
                 }
             }
-            dirtyUpdated();
+            if (!settingFormObject) {
+                dirtyUpdated();
+            }
         } else if (COMMITTABLE_PROPERTY.equals(evt.getPropertyName())) {
             committableUpdated();
         }
@@ -24,7 +24,9 @@ import org.valkyriercp.binding.form.BindingErrorMessageProvider;
 import org.valkyriercp.binding.form.HierarchicalFormModel;
 import org.valkyriercp.binding.form.ValidatingFormModel;
 import org.valkyriercp.binding.validation.RichValidator;
+import org.valkyriercp.binding.validation.SnapshotValidator;
 import org.valkyriercp.binding.validation.ValidationMessage;
+import org.valkyriercp.binding.validation.ValidationResults;
 import org.valkyriercp.binding.validation.ValidationResultsModel;
 import org.valkyriercp.binding.validation.Validator;
 import org.valkyriercp.binding.validation.support.DefaultValidationResults;
@@ -34,10 +36,14 @@ import org.valkyriercp.binding.value.ValueModel;
 import org.valkyriercp.binding.value.support.AbstractValueModelWrapper;
 import org.valkyriercp.util.ValkyrieRepository;
 
+import javax.swing.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * Default form model implementation. Is configurable, hierarchical and
@@ -51,6 +57,17 @@ import java.util.Map;
  * validator.setRulesContextId( "mySpecialFormId" );
  * </code>
  * Along with this you will need to register your rules using the context id.
+ * <p>
+ * By default validation runs synchronously on the calling thread. Setting a
+ * {@link #setValidationExecutor(Executor) validation executor} switches to
+ * asynchronous validation when the validator is a {@link SnapshotValidator}:
+ * requests are collected on the EDT, optionally debounced using
+ * {@link #setValidationDelay(int)}, a {@link FormModelSnapshot} of the form is
+ * taken on the EDT and validated completely on the executor, the results are
+ * published on the EDT. Requests made while a validation is running are
+ * coalesced into a single follow-up validation and stale results are
+ * discarded. {@link #commit()} always validates synchronously first so no
+ * stale results can be committed.
  *
  * @author Keith Donald
  * @author Oliver Hutchison
@@ -67,11 +84,29 @@ public class DefaultFormModel extends AbstractFormModel implements ValidatingFor
 
 	private boolean oldValidating = true;
 
+	/** Set when property changes occurred while a new form object was installed. */
+	private boolean validationDeferred;
+
 	private boolean oldHasErrors = false;
 
 	private Validator validator;
     private BindingErrorMessageProvider bindingErrorMessageProvider;
 
+	private Executor validationExecutor;
+
+	private int validationDelay = 0;
+
+	private Timer validationTimer;
+
+	/** Set when an asynchronous validation has been requested but not started. Only accessed on the EDT. */
+	private boolean validationScheduled = false;
+
+	/** The request of the running asynchronous validation, <code>-1</code> if none is running. */
+	private int runningValidationRequest = -1;
+
+	/** Incremented for every change, results of older requests are stale. */
+	private int validationRequest = 0;
+
     public DefaultFormModel() {
 		init();
 	}
@@ -252,6 +287,22 @@ public class DefaultFormModel extends AbstractFormModel implements ValidatingFor
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * The new form object is validated once after it has been installed,
+	 * instead of once for every property that changed.
+	 * </p>
+	 */
+	public void setFormObject(Object formObject) {
+		super.setFormObject(formObject);
+		if (validationDeferred && !isSettingFormObject()) {
+			validationDeferred = false;
+			validateAfterPropertyChanged(null);
+		}
+	}
+
 	public Validator getValidator() {
 		if (validator == null) {
 			setValidator(new RulesValidator(this));
@@ -272,6 +323,65 @@ public class DefaultFormModel extends AbstractFormModel implements ValidatingFor
 		validate();
 	}
 
+	/**
+	 * Set the executor used to validate off the EDT. Using <code>null</code>
+	 * (default) validates synchronously on every change. Only validators
+	 * implementing {@link SnapshotValidator} are run on the executor, others
+	 * keep validating synchronously.
+	 */
+	public void setValidationExecutor(Executor validationExecutor) {
+		this.validationExecutor = validationExecutor;
+	}
+
+	public Executor getValidationExecutor() {
+		return validationExecutor;
+	}
+
+	/**
+	 * Set the delay in milliseconds to wait for further changes before an
+	 * asynchronous validation is started. Only used in combination with a
+	 * validation executor.
+	 */
+	public void setValidationDelay(int validationDelay) {
+		Assert.isTrue(validationDelay >= 0, "validationDelay must not be negative");
+		this.validationDelay = validationDelay;
+	}
+
+	public int getValidationDelay() {
+		return validationDelay;
+	}
+
+	/**
+	 * @return <code>true</code> if an asynchronous validation is scheduled or
+	 * running and the current validation results may be outdated.
+	 */
+	public boolean isValidationPending() {
+		return validationScheduled || runningValidationRequest == validationRequest;
+	}
+
+	/**
+	 * Cancels any scheduled asynchronous validation and validates the form
+	 * object synchronously. A running asynchronous validation is not waited
+	 * for, its results are discarded.
+	 */
+	public void flushValidation() {
+		if (isValidationPending()) {
+			if (validationTimer != null) {
+				validationTimer.stop();
+			}
+			validationScheduled = false;
+			validationRequest++;
+			if (isValidating()) {
+				validateNow(null);
+			}
+		}
+	}
+
+	public void commit() {
+		flushValidation();
+		super.commit();
+	}
+
 	public boolean isCommittable() {
 		final boolean superIsCommittable = super.isCommittable();
 		final boolean hasNoErrors = !getValidationResults().getHasErrors();
@@ -308,20 +418,111 @@ public class DefaultFormModel extends AbstractFormModel implements ValidatingFor
 	 * this is not known/available.
 	 */
 	protected void validateAfterPropertyChanged(String formProperty) {
+		if (isSettingFormObject()) {
+			// validate the new form object once it has been installed
+			validationDeferred = true;
+			return;
+		}
 		if (isValidating()) {
-			Validator validator = getValidator();
-			if (validator != null) {
-				DefaultValidationResults validationResults = new DefaultValidationResults(bindingErrorMessages.values());
-				if (formProperty != null && validator instanceof RichValidator) {
-					validationResults.addAllMessages(((RichValidator) validator)
-							.validate(getFormObject(), formProperty));
+			if (validationExecutor != null && getValidator() instanceof SnapshotValidator) {
+				scheduleValidation();
+			}
+			else {
+				validateNow(formProperty);
+			}
+		}
+	}
+
+	private void validateNow(String formProperty) {
+		Validator validator = getValidator();
+		if (validator != null) {
+			ValidationResults results;
+			if (formProperty != null && validator instanceof RichValidator) {
+				results = ((RichValidator) validator).validate(getFormObject(), formProperty);
+			}
+			else {
+				results = validator.validate(getFormObject());
+			}
+			publishValidationResults(results);
+		}
+	}
+
+	private void publishValidationResults(ValidationResults validatorResults) {
+		DefaultValidationResults validationResults = new DefaultValidationResults(bindingErrorMessages.values());
+		validationResults.addAllMessages(validatorResults);
+		validationResults.addAllMessages(additionalValidationResults);
+		validationResultsModel.updateValidationResults(validationResults);
+	}
+
+	private void scheduleValidation() {
+		validationRequest++;
+		validationScheduled = true;
+		if (validationDelay > 0) {
+			if (validationTimer == null) {
+				validationTimer = new Timer(validationDelay, new ActionListener() {
+
+					public void actionPerformed(ActionEvent e) {
+						startScheduledValidation();
+					}
+
+				});
+				validationTimer.setRepeats(false);
+			}
+			validationTimer.setInitialDelay(validationDelay);
+			validationTimer.restart();
+		}
+		else {
+			startScheduledValidation();
+		}
+	}
+
+	private void startScheduledValidation() {
+		if (!validationScheduled || runningValidationRequest != -1
+				|| (validationTimer != null && validationTimer.isRunning())) {
+			return;
+		}
+		validationScheduled = false;
+		final Validator validator = getValidator();
+		if (!isValidating() || !(validator instanceof SnapshotValidator)) {
+			return;
+		}
+		// everything the validation needs is copied here, on the EDT
+		final FormModelSnapshot snapshot = new FormModelSnapshot(this);
+		final int request = validationRequest;
+		runningValidationRequest = request;
+		validationExecutor.execute(new Runnable() {
+
+			public void run() {
+				ValidationResults results = null;
+				RuntimeException failure = null;
+				try {
+					results = ((SnapshotValidator) validator).validateSnapshot(snapshot);
 				}
-				else {
-					validationResults.addAllMessages(validator.validate(getFormObject()));
+				catch (RuntimeException e) {
+					failure = e;
 				}
-				validationResults.addAllMessages(additionalValidationResults);
-				validationResultsModel.updateValidationResults(validationResults);
+				final ValidationResults finalResults = results;
+				final RuntimeException finalFailure = failure;
+				SwingUtilities.invokeLater(new Runnable() {
+
+					public void run() {
+						validationDone(request, finalResults, finalFailure);
+					}
+
+				});
 			}
+
+		});
+	}
+
+	private void validationDone(int request, ValidationResults validatorResults, RuntimeException failure) {
+		runningValidationRequest = -1;
+		if (failure == null && request == validationRequest && isValidating()) {
+			publishValidationResults(validatorResults);
+		}
+		startScheduledValidation();
+		if (failure != null) {
+			throw failure;
 		}
 	}
 
@@ -15,6 +15,7 @@
  */
 package org.valkyriercp.binding.form.support;
 
+import org.valkyriercp.binding.form.FormObjectReplacedListener;
 import org.valkyriercp.binding.value.DirtyTrackingValueModel;
 import org.valkyriercp.binding.value.ValueChangeDetector;
 import org.valkyriercp.binding.value.ValueModel;
@@ -83,7 +84,7 @@ public class FormModelMediatingValueModel extends AbstractValueModelWrapper impl
 	private boolean deliverValueChangeEvents = true;
 
 	/** Holds the originalValue. Used to register listeners. */
-	private final ValueHolder mediatedValueHolder;
+	private final MediatedValueHolder mediatedValueHolder;
 
 	/** The original value of the wrapped ValueModel. */
 	private Object originalValue;
@@ -113,7 +114,7 @@ public class FormModelMediatingValueModel extends AbstractValueModelWrapper impl
 		super(propertyValueModel);
 		super.addValueChangeListener(this);
 		this.originalValue = getValue();
-		this.mediatedValueHolder = new ValueHolder(originalValue);
+		this.mediatedValueHolder = new MediatedValueHolder(originalValue);
 		this.trackDirty = trackDirty;
 	}
 
@@ -155,10 +156,32 @@ public class FormModelMediatingValueModel extends AbstractValueModelWrapper impl
 	 * mechanism.
 	 */
 	public void setDeliverValueChangeEvents(boolean deliverValueChangeEvents) {
+		setDeliverValueChangeEvents(deliverValueChangeEvents, false);
+	}
+
+	/**
+	 * Enable/disable the event mechanism, see
+	 * {@link #setDeliverValueChangeEvents(boolean)}. When enabling with
+	 * <code>skipFormObjectReplacedListeners</code>, the value change is not
+	 * delivered to the {@link FormObjectReplacedListener}s, which are notified
+	 * by the form model instead.
+	 *
+	 * @param deliverValueChangeEvents boolean to enable/disable event
+	 * mechanism.
+	 * @param skipFormObjectReplacedListeners <code>true</code> to skip the
+	 * form object replaced listeners when the delayed events are fired.
+	 */
+	public void setDeliverValueChangeEvents(boolean deliverValueChangeEvents, boolean skipFormObjectReplacedListeners) {
 		boolean oldDeliverValueChangeEvents = this.deliverValueChangeEvents;
 		this.deliverValueChangeEvents = deliverValueChangeEvents;
 		if (!oldDeliverValueChangeEvents && deliverValueChangeEvents) {
-			mediatedValueHolder.setValue(getValue());
+			mediatedValueHolder.skipFormObjectReplacedListeners = skipFormObjectReplacedListeners;
+			try {
+				mediatedValueHolder.setValue(getValue());
+			}
+			finally {
+				mediatedValueHolder.skipFormObjectReplacedListeners = false;
+			}
 			updateDirtyState();
 		}
 	}
@@ -249,4 +272,33 @@ public class FormModelMediatingValueModel extends AbstractValueModelWrapper impl
 			}
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Holds the mediated value; can leave out the form object replaced
+	 * listeners when notifying a value change.
+	 */
+	private static class MediatedValueHolder extends ValueHolder {
+
+		private boolean skipFormObjectReplacedListeners;
+
+		MediatedValueHolder(Object value) {
+			super(value);
+		}
+
+		protected void fireValueChangeEvent(Object oldValue, Object newValue) {
+			if (!skipFormObjectReplacedListeners) {
+				super.fireValueChangeEvent(oldValue, newValue);
+				return;
+			}
+			PropertyChangeEvent evt = null;
+			for (PropertyChangeListener listener : getPropertyChangeListeners(VALUE_PROPERTY)) {
+				if (!(listener instanceof FormObjectReplacedListener)) {
+					if (evt == null) {
+						evt = new PropertyChangeEvent(this, VALUE_PROPERTY, oldValue, newValue);
+					}
+					listener.propertyChange(evt);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,169 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.binding.form.support;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.NotReadablePropertyException;
+import org.valkyriercp.binding.PropertyAccessStrategy;
+import org.valkyriercp.binding.PropertyMetadataAccessStrategy;
+import org.valkyriercp.binding.form.FieldMetadata;
+import org.valkyriercp.binding.form.FormModel;
+import org.valkyriercp.rules.reporting.ObjectNameResolver;
+import org.valkyriercp.util.CloneUtils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable copy of the field values, metadata and display names of a
+ * <code>FormModel</code>, accessible using the
+ * <code>PropertyAccessStrategy</code> interface.
+ * <p>
+ * The snapshot is taken on the thread that owns the form model, after that it
+ * can be read from any thread without touching the form model. Values are
+ * copied using {@link CloneUtils#getClone(Object)}; values that can't be
+ * cloned are shared and should not be modified while the snapshot is in use.
+ * Only the fields of the form model are captured, other properties can't be
+ * read from the snapshot.
+ */
+public class FormModelSnapshot implements PropertyAccessStrategy, ObjectNameResolver {
+
+    private final Object domainObject;
+
+    private final Class domainObjectClass;
+
+    private final Map<String, Field> fields;
+
+    private final PropertyMetadataAccessStrategy metadataAccessStrategy = new SnapshotMetadataAccessStrategy();
+
+    /**
+     * Takes a snapshot of the given form model. Must be called on the thread
+     * that owns the form model, usually the EDT.
+     */
+    public FormModelSnapshot(FormModel formModel) {
+        this.domainObject = formModel.getFormObject();
+        this.domainObjectClass = domainObject != null ? domainObject.getClass() : null;
+        Map<String, Field> fields = new HashMap<String, Field>();
+        for (Iterator i = formModel.getFieldNames().iterator(); i.hasNext();) {
+            String fieldName = (String) i.next();
+            fields.put(fieldName, new Field(formModel, fieldName));
+        }
+        this.fields = Collections.unmodifiableMap(fields);
+    }
+
+    /**
+     * @return the names of the captured fields.
+     */
+    public Set<String> getPropertyNames() {
+        return fields.keySet();
+    }
+
+    public boolean hasProperty(String propertyName) {
+        return fields.containsKey(propertyName);
+    }
+
+    /**
+     * @return the class of the form object at the time the snapshot was taken,
+     * <code>null</code> if there was no form object.
+     */
+    public Class getDomainObjectClass() {
+        return domainObjectClass;
+    }
+
+    public Object getPropertyValue(String propertyPath) throws BeansException {
+        return getField(propertyPath).value;
+    }
+
+    public PropertyMetadataAccessStrategy getMetadataAccessStrategy() {
+        return metadataAccessStrategy;
+    }
+
+    /**
+     * Returns the form object the snapshot was taken of. Its properties may
+     * have changed since, use {@link #getPropertyValue(String)} instead.
+     */
+    public Object getDomainObject() {
+        return domainObject;
+    }
+
+    /**
+     * Returns the display name captured for the given field or the field name
+     * itself if the field wasn't captured.
+     */
+    public String resolveObjectName(String objectName) {
+        Field field = fields.get(objectName);
+        return field != null ? field.displayName : objectName;
+    }
+
+    private Field getField(String propertyName) {
+        Field field = fields.get(propertyName);
+        if (field == null) {
+            throw new NotReadablePropertyException(domainObjectClass, propertyName,
+                    "Property is not a field of the form model snapshot");
+        }
+        return field;
+    }
+
+    private static class Field {
+
+        private final Object value;
+
+        private final boolean readOnly;
+
+        private final Class propertyType;
+
+        private final Map userMetadata;
+
+        private final String displayName;
+
+        private Field(FormModel formModel, String fieldName) {
+            this.value = CloneUtils.getClone(formModel.getValueModel(fieldName).getValue());
+            FieldMetadata metadata = formModel.getFieldMetadata(fieldName);
+            this.readOnly = metadata.isReadOnly();
+            this.propertyType = metadata.getPropertyType();
+            Map allUserMetadata = metadata.getAllUserMetadata();
+            this.userMetadata = allUserMetadata != null ? Collections.unmodifiableMap(new HashMap(allUserMetadata))
+                    : Collections.EMPTY_MAP;
+            this.displayName = formModel.getFieldFace(fieldName).getDisplayName();
+        }
+    }
+
+    private class SnapshotMetadataAccessStrategy implements PropertyMetadataAccessStrategy {
+
+        public boolean isReadable(String propertyName) {
+            return hasProperty(propertyName);
+        }
+
+        public boolean isWriteable(String propertyName) {
+            return hasProperty(propertyName) && !getField(propertyName).readOnly;
+        }
+
+        public Class getPropertyType(String propertyName) {
+            return getField(propertyName).propertyType;
+        }
+
+        public Object getUserMetadata(String propertyName, String key) {
+            return getField(propertyName).userMetadata.get(key);
+        }
+
+        public Map getAllUserMetadata(String propertyName) {
+            return getField(propertyName).userMetadata;
+        }
+    }
+}
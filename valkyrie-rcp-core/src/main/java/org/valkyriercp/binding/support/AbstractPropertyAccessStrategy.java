@@ -15,8 +15,6 @@
  */
 package org.valkyriercp.binding.support;
 
-import org.cache2k.Cache;
-import org.cache2k.Cache2kBuilder;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.PropertyAccessor;
 import org.springframework.util.Assert;
@@ -25,6 +23,7 @@ import org.valkyriercp.binding.PropertyMetadataAccessStrategy;
 import org.valkyriercp.binding.value.ValueModel;
 import org.valkyriercp.binding.value.support.AbstractValueModel;
 import org.valkyriercp.binding.value.support.ValueHolder;
+import org.valkyriercp.util.MemoMap;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
@@ -48,7 +47,7 @@ public abstract class AbstractPropertyAccessStrategy implements MutablePropertyA
 
     private final String basePropertyPath;
 
-    private final Cache<String, PropertyValueModel> valueModelCache;
+    private final MemoMap<String, PropertyValueModel> valueModelCache;
 
     private final PropertyMetadataAccessStrategy metaAspectAccessor;
 
@@ -74,20 +73,18 @@ public abstract class AbstractPropertyAccessStrategy implements MutablePropertyA
         this.domainObjectHolder = domainObjectHolder;
         this.domainObjectHolder.addValueChangeListener(new DomainObjectChangeListener());
         this.basePropertyPath = "";
-        this.valueModelCache = new Cache2kBuilder<String, PropertyValueModel>() {
-        }
-                .loader(propertyPath -> {
+        this.valueModelCache = new MemoMap<String, PropertyValueModel>(
+                propertyPath -> {
                     String fullPropertyPath = getFullPropertyPath((String) propertyPath);
                     String parentPropertyPath = getParentPropertyPath(fullPropertyPath);
                     ValueModel parentValueModel = parentPropertyPath == "" ? domainObjectHolder : getValueModelCache()
                             .get(parentPropertyPath);
                     return new PropertyValueModel(parentValueModel, fullPropertyPath);
-                })
-                .build();
+                });
         this.metaAspectAccessor = new PropertyMetaAspectAccessor();
     }
 
-	private Cache<String, PropertyValueModel> getValueModelCache() {
+	private MemoMap<String, PropertyValueModel> getValueModelCache() {
 		return valueModelCache;
 	}
 
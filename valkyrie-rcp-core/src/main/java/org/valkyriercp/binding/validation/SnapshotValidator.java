@@ -0,0 +1,38 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.binding.validation;
+
+import org.valkyriercp.binding.form.support.FormModelSnapshot;
+
+/**
+ * Interface to be implemented by validators that are able to validate an
+ * immutable snapshot of a form model. Unlike the other validate methods this
+ * one may be called from any thread, concurrently with other validations.
+ *
+ * @see org.valkyriercp.binding.form.support.DefaultFormModel#setValidationExecutor(java.util.concurrent.Executor)
+ */
+public interface SnapshotValidator<T> extends Validator<T> {
+
+	/**
+	 * Validates all properties of the given snapshot. Implementations must
+	 * not access the form model the snapshot was taken of nor keep state
+	 * between calls.
+	 *
+	 * @param snapshot the snapshot to validate.
+	 * @return new results containing the messages of all properties.
+	 */
+	ValidationResults validateSnapshot(FormModelSnapshot snapshot);
+}
@@ -15,13 +15,12 @@
  */
 package org.valkyriercp.binding.validation.support;
 
-import org.cache2k.Cache;
-import org.cache2k.Cache2kBuilder;
 import org.springframework.core.style.ToStringCreator;
 import org.springframework.util.ObjectUtils;
 import org.valkyriercp.binding.validation.ValidationMessage;
 import org.valkyriercp.binding.validation.ValidationResults;
 import org.valkyriercp.core.Severity;
+import org.valkyriercp.util.MemoMap;
 
 import java.util.*;
 
@@ -29,9 +28,8 @@ public class DefaultValidationResults implements ValidationResults {
 
     private final Set messages = new HashSet();
 
-    private Cache<Object, Set<ValidationMessage>> messagesSubSets = new Cache2kBuilder<Object, Set<ValidationMessage>>() {
-    }
-            .loader(key -> {
+    private MemoMap<Object, Set<ValidationMessage>> messagesSubSets = new MemoMap<Object, Set<ValidationMessage>>(
+            key -> {
                 Set messagesSubSet = new HashSet();
                 for (Iterator i = messages.iterator(); i.hasNext(); ) {
                     ValidationMessage message = (ValidationMessage) i.next();
@@ -42,8 +40,7 @@ public class DefaultValidationResults implements ValidationResults {
                     }
                 }
                 return Collections.unmodifiableSet(messagesSubSet);
-            })
-            .build();
+            });
 
     public DefaultValidationResults() {
     }
@@ -15,8 +15,6 @@
  */
 package org.valkyriercp.binding.validation.support;
 
-import org.cache2k.Cache;
-import org.cache2k.Cache2kBuilder;
 import org.springframework.core.style.ToStringCreator;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
@@ -26,6 +24,7 @@ import org.valkyriercp.binding.validation.ValidationResults;
 import org.valkyriercp.binding.validation.ValidationResultsModel;
 import org.valkyriercp.core.Severity;
 import org.valkyriercp.util.EventListenerListHelper;
+import org.valkyriercp.util.MemoMap;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
@@ -90,13 +89,11 @@ public class DefaultValidationResultsModel implements ValidationResultsModel, Va
 
 	private final EventListenerListHelper validationListeners = new EventListenerListHelper(ValidationListener.class);
 
-	private final Cache<String, EventListenerListHelper> propertyValidationListeners = new Cache2kBuilder<String, EventListenerListHelper>() {}
-		.loader(key -> new EventListenerListHelper(ValidationListener.class))
-		.build();
+	private final MemoMap<String, EventListenerListHelper> propertyValidationListeners = new MemoMap<String, EventListenerListHelper>(
+			key -> new EventListenerListHelper(ValidationListener.class));
 
-	private final Cache<String, EventListenerListHelper> propertyChangeListeners = new Cache2kBuilder<String, EventListenerListHelper>() {}
-			.loader(key -> new EventListenerListHelper(PropertyChangeListener.class))
-			.build();
+	private final MemoMap<String, EventListenerListHelper> propertyChangeListeners = new MemoMap<String, EventListenerListHelper>(
+			key -> new EventListenerListHelper(PropertyChangeListener.class));
 
 	/** Delegate or reference to this. */
 	private final ValidationResultsModel delegateFor;
@@ -116,6 +113,24 @@ public class DefaultValidationResultsModel implements ValidationResultsModel, Va
 	/** Info bookkeeping. */
 	private boolean hasInfo = false;
 
+	/** Severity flags of the results of this instance only. */
+	private boolean ownHasErrors = false;
+
+	private boolean ownHasWarnings = false;
+
+	private boolean ownHasInfo = false;
+
+	/**
+	 * Number of children having errors, warnings or info. Kept up to date by
+	 * the property change events of the children so the flags of this model
+	 * can be updated without walking all children.
+	 */
+	private int childrenWithErrors = 0;
+
+	private int childrenWithWarnings = 0;
+
+	private int childrenWithInfo = 0;
+
 	/**
 	 * Constructor without delegate. (Delegating for 'this').
 	 */
@@ -139,6 +154,7 @@ public class DefaultValidationResultsModel implements ValidationResultsModel, Va
 		if (oldValidationResults.getMessageCount() == 0 && validationResults.getMessageCount() == 0) {
 			return;
 		}
+		updateOwnSeverities();
 		fireChangedEvents();
 		for (Iterator i = propertyValidationListeners.asMap().keySet().iterator(); i.hasNext();) {
 			String propertyName = (String) i.next();
@@ -156,6 +172,7 @@ public class DefaultValidationResultsModel implements ValidationResultsModel, Va
 			List newMessages = new ArrayList(oldValidationResults.getMessages());
 			newMessages.add(validationMessage);
 			validationResults = new DefaultValidationResults(newMessages);
+			updateOwnSeverities();
 			fireChangedEvents();
 			fireValidationResultsChanged(validationMessage.getProperty());
 		}
@@ -168,6 +185,7 @@ public class DefaultValidationResultsModel implements ValidationResultsModel, Va
 			List newMessages = new ArrayList(oldValidationResults.getMessages());
 			newMessages.remove(validationMessage);
 			validationResults = new DefaultValidationResults(newMessages);
+			updateOwnSeverities();
 			fireChangedEvents();
 			fireValidationResultsChanged(validationMessage.getProperty());
 		}
@@ -183,6 +201,7 @@ public class DefaultValidationResultsModel implements ValidationResultsModel, Va
 		}
 		newMessages.add(replacementMessage);
 		validationResults = new DefaultValidationResults(newMessages);
+		updateOwnSeverities();
 		fireChangedEvents();
 		if (containsMessageToReplace
 				&& !ObjectUtils.nullSafeEquals(messageToReplace.getProperty(), replacementMessage.getProperty())) {
@@ -195,6 +214,28 @@ public class DefaultValidationResultsModel implements ValidationResultsModel, Va
 		updateValidationResults(EmptyValidationResults.INSTANCE);
 	}
 
+	/**
+	 * Revaluate the severity flags of the results of this instance in a single
+	 * pass over its messages.
+	 */
+	private void updateOwnSeverities() {
+		ownHasErrors = false;
+		ownHasWarnings = false;
+		ownHasInfo = false;
+		for (Iterator i = validationResults.getMessages().iterator(); i.hasNext();) {
+			Severity severity = ((ValidationMessage) i.next()).getSeverity();
+			if (severity == Severity.ERROR) {
+				ownHasErrors = true;
+			}
+			else if (severity == Severity.WARNING) {
+				ownHasWarnings = true;
+			}
+			else if (severity == Severity.INFO) {
+				ownHasInfo = true;
+			}
+		}
+	}
+
 	/**
 	 * @return <code>true</code> if this instance of one of its children has
 	 * errors contained in their results.
@@ -209,20 +250,7 @@ public class DefaultValidationResultsModel implements ValidationResultsModel, Va
 	 */
 	private void updateErrors() {
 		boolean oldErrors = hasErrors;
-		hasErrors = false;
-		if (validationResults.getHasErrors()) {
-			hasErrors = true;
-		}
-		else {
-			Iterator childIter = children.iterator();
-			while (childIter.hasNext()) {
-				ValidationResultsModel childModel = (ValidationResultsModel) childIter.next();
-				if (childModel.getHasErrors()) {
-					hasErrors = true;
-					break;
-				}
-			}
-		}
+		hasErrors = ownHasErrors || childrenWithErrors > 0;
 		firePropertyChange(HAS_ERRORS_PROPERTY, oldErrors, hasErrors);
 	}
 
@@ -239,20 +267,7 @@ public class DefaultValidationResultsModel implements ValidationResultsModel, Va
 	 */
 	private void updateInfo() {
 		boolean oldInfo = hasInfo;
-		hasInfo = false;
-		if (validationResults.getHasInfo()) {
-			hasInfo = true;
-		}
-		else {
-			Iterator childIter = children.iterator();
-			while (childIter.hasNext()) {
-				ValidationResultsModel childModel = (ValidationResultsModel) childIter.next();
-				if (childModel.getHasInfo()) {
-					hasInfo = true;
-					break;
-				}
-			}
-		}
+		hasInfo = ownHasInfo || childrenWithInfo > 0;
 		firePropertyChange(HAS_INFO_PROPERTY, oldInfo, hasInfo);
 	}
 
@@ -270,20 +285,7 @@ public class DefaultValidationResultsModel implements ValidationResultsModel, Va
 	 */
 	private void updateWarnings() {
 		boolean oldWarnings = hasWarnings;
-		hasWarnings = false;
-		if (validationResults.getHasWarnings()) {
-			hasWarnings = true;
-		}
-		else {
-			Iterator childIter = children.iterator();
-			while (childIter.hasNext()) {
-				ValidationResultsModel childModel = (ValidationResultsModel) childIter.next();
-				if (childModel.getHasWarnings()) {
-					hasWarnings = true;
-					break;
-				}
-			}
-		}
+		hasWarnings = ownHasWarnings || childrenWithWarnings > 0;
 		firePropertyChange(HAS_WARNINGS_PROPERTY, oldWarnings, hasWarnings);
 	}
 
@@ -429,7 +431,8 @@ public class DefaultValidationResultsModel implements ValidationResultsModel, Va
 	 * @param validationResultsModel
 	 */
 	public void add(ValidationResultsModel validationResultsModel) {
-		if (children.add(validationResultsModel)) {
+		if (!children.contains(validationResultsModel) && children.add(validationResultsModel)) {
+			updateChildCounters(validationResultsModel, 1);
 			validationResultsModel.addValidationListener(this);
 			validationResultsModel.addPropertyChangeListener(HAS_ERRORS_PROPERTY, this);
 			validationResultsModel.addPropertyChangeListener(HAS_WARNINGS_PROPERTY, this);
@@ -447,6 +450,7 @@ public class DefaultValidationResultsModel implements ValidationResultsModel, Va
 	 */
 	public void remove(ValidationResultsModel validationResultsModel) {
 		if (children.remove(validationResultsModel)) {
+			updateChildCounters(validationResultsModel, -1);
 			validationResultsModel.removeValidationListener(this);
 			validationResultsModel.removePropertyChangeListener(HAS_ERRORS_PROPERTY, this);
 			validationResultsModel.removePropertyChangeListener(HAS_WARNINGS_PROPERTY, this);
@@ -456,6 +460,18 @@ public class DefaultValidationResultsModel implements ValidationResultsModel, Va
 		}
 	}
 
+	private void updateChildCounters(ValidationResultsModel child, int delta) {
+		if (child.getHasErrors()) {
+			childrenWithErrors += delta;
+		}
+		if (child.getHasWarnings()) {
+			childrenWithWarnings += delta;
+		}
+		if (child.getHasInfo()) {
+			childrenWithInfo += delta;
+		}
+	}
+
 	/**
 	 * {@link DefaultValidationResultsModel} registers itself as a
 	 * validationListener on it's children to forward the event.
@@ -466,15 +482,22 @@ public class DefaultValidationResultsModel implements ValidationResultsModel, Va
 
 	/**
 	 * Forwarding of known property events coming from child models. Each event
-	 * triggers a specific evaluation of the parent property, which will trigger
-	 * events as needed.
+	 * updates the matching child counter and triggers a specific evaluation of
+	 * the parent property, which will trigger events as needed.
 	 */
 	public void propertyChange(PropertyChangeEvent evt) {
-		if (evt.getPropertyName() == HAS_ERRORS_PROPERTY)
+		int delta = Boolean.TRUE.equals(evt.getNewValue()) ? 1 : -1;
+		if (evt.getPropertyName() == HAS_ERRORS_PROPERTY) {
+			childrenWithErrors += delta;
 			updateErrors();
-		else if (evt.getPropertyName() == HAS_WARNINGS_PROPERTY)
+		}
+		else if (evt.getPropertyName() == HAS_WARNINGS_PROPERTY) {
+			childrenWithWarnings += delta;
 			updateWarnings();
-		else if (evt.getPropertyName() == HAS_INFO_PROPERTY)
+		}
+		else if (evt.getPropertyName() == HAS_INFO_PROPERTY) {
+			childrenWithInfo += delta;
 			updateInfo();
+		}
 	}
 }
@@ -20,7 +20,9 @@ import org.apache.commons.logging.LogFactory;
 import org.valkyriercp.application.config.ApplicationConfig;
 import org.valkyriercp.binding.form.FormModel;
 import org.valkyriercp.binding.form.support.FormModelPropertyAccessStrategy;
+import org.valkyriercp.binding.form.support.FormModelSnapshot;
 import org.valkyriercp.binding.validation.RichValidator;
+import org.valkyriercp.binding.validation.SnapshotValidator;
 import org.valkyriercp.binding.validation.ValidationMessage;
 import org.valkyriercp.core.Severity;
 import org.valkyriercp.rules.PropertyConstraintProvider;
@@ -31,10 +33,12 @@ import org.valkyriercp.rules.reporting.BeanValidationResultsCollector;
 import org.valkyriercp.rules.reporting.MessageTranslator;
 import org.valkyriercp.rules.reporting.ObjectNameResolver;
 import org.valkyriercp.rules.reporting.PropertyResults;
+import org.valkyriercp.rules.support.DefaultRulesSource;
 import org.valkyriercp.util.ValkyrieRepository;
 
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -53,10 +57,17 @@ import java.util.Map;
  * accordingly and return <em>all</em> validation results of the object.
  * </p>
  *
+ * <p>
+ * {@link #validateSnapshot(FormModelSnapshot)} doesn't use nor update the
+ * cached results and can be used from a background thread. Constraints
+ * validated that way can only depend on properties that are fields of the
+ * form model.
+ * </p>
+ *
  * @author Keith Donald
  * @author Jan Hoskens
  */
-public class RulesValidator implements RichValidator, ObjectNameResolver {
+public class RulesValidator implements RichValidator, SnapshotValidator, ObjectNameResolver {
 
 	private static final Log logger = LogFactory.getLog(RulesValidator.class);
 
@@ -132,7 +143,15 @@ public class RulesValidator implements RichValidator, ObjectNameResolver {
 			}
 		}
 		else {
-			if (getRulesSource() != null) {
+			if (propertyName != null && getRulesSource() instanceof DefaultRulesSource) {
+				// only evaluate the constraints depending on the changed property
+				List dependentRules = ((DefaultRulesSource) getRulesSource()).getDependentPropertyConstraints(
+						objectClass, propertyName, getRulesContextId());
+				for (int i = 0, size = dependentRules.size(); i < size; i++) {
+					checkRule((PropertyConstraint) dependentRules.get(i));
+				}
+			}
+			else if (getRulesSource() != null) {
 				rules = getRulesSource().getRules(objectClass, getRulesContextId());
 				if (rules != null) {
 					for (Iterator i = rules.iterator(); i.hasNext();) {
@@ -156,6 +175,50 @@ public class RulesValidator implements RichValidator, ObjectNameResolver {
 		return results;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	public org.valkyriercp.binding.validation.ValidationResults validateSnapshot(FormModelSnapshot snapshot) {
+		DefaultValidationResults snapshotResults = new DefaultValidationResults();
+		Object object = snapshot.getDomainObject();
+		if (object == null) {
+			return snapshotResults;
+		}
+		MessageTranslator snapshotTranslator = getApplicationConfig().messageTranslatorFactory().createTranslator(
+				snapshot);
+		BeanValidationResultsCollector resultsCollector = new BeanValidationResultsCollector(snapshot);
+		if (object instanceof PropertyConstraintProvider) {
+			PropertyConstraintProvider propertyConstraintProvider = (PropertyConstraintProvider) object;
+			for (Iterator<String> i = snapshot.getPropertyNames().iterator(); i.hasNext();) {
+				checkSnapshotRule(propertyConstraintProvider.getPropertyConstraint(i.next()), resultsCollector,
+						snapshotTranslator, snapshotResults);
+			}
+		}
+		else if (getRulesSource() != null) {
+			Rules rules = getRulesSource().getRules(snapshot.getDomainObjectClass(), getRulesContextId());
+			if (rules != null) {
+				for (Iterator i = rules.iterator(); i.hasNext();) {
+					PropertyConstraint validationRule = (PropertyConstraint) i.next();
+					if (snapshot.hasProperty(validationRule.getPropertyName())) {
+						checkSnapshotRule(validationRule, resultsCollector, snapshotTranslator, snapshotResults);
+					}
+				}
+			}
+		}
+		return snapshotResults;
+	}
+
+	private void checkSnapshotRule(PropertyConstraint validationRule, BeanValidationResultsCollector resultsCollector,
+			MessageTranslator translator, DefaultValidationResults snapshotResults) {
+		if (validationRule == null)
+			return;
+		PropertyResults propertyResults = resultsCollector.collectPropertyResults(validationRule);
+		if (propertyResults != null) {
+			snapshotResults.addMessage(new DefaultValidationMessage(validationRule.getPropertyName(), Severity.ERROR,
+					translator.getMessage(propertyResults)));
+		}
+	}
+
 	private void checkRule(PropertyConstraint validationRule) {
 		if (validationRule == null)
 			return;
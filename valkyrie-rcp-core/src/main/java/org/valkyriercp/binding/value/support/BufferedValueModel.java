@@ -54,6 +54,11 @@ public class BufferedValueModel extends AbstractValueModel implements ValueModel
 
     private boolean buffering;
 
+    /** The value just read from the wrapped model, to avoid reading it twice. */
+    private Object knownWrappedValue;
+
+    private boolean wrappedValueKnown;
+
     /**
      * Constructs a <code>BufferedValueHolder</code> that wraps the given wrappedModel.
      *
@@ -178,10 +183,19 @@ public class BufferedValueModel extends AbstractValueModel implements ValueModel
      * Called when the value held by the wrapped value model changes.
      */
     protected void onWrappedValueChanged() {
+        Object wrappedValue = wrappedModel.getValue();
         if (logger.isDebugEnabled()) {
-            logger.debug("Wrapped model value has changed; new value is '" + wrappedModel.getValue() + "'");
+            logger.debug("Wrapped model value has changed; new value is '" + wrappedValue + "'");
+        }
+        knownWrappedValue = wrappedValue;
+        wrappedValueKnown = true;
+        try {
+            setValue(wrappedValue);
+        }
+        finally {
+            knownWrappedValue = null;
+            wrappedValueKnown = false;
         }
-        setValue(wrappedModel.getValue());
     }
 
     /**
@@ -218,7 +232,10 @@ public class BufferedValueModel extends AbstractValueModel implements ValueModel
      */
     private void updateBuffering() {
         boolean wasBuffering = isBuffering();
-        buffering = hasValueChanged(wrappedModel.getValue(), bufferedValue);
+        Object wrappedValue = wrappedValueKnown ? knownWrappedValue : wrappedModel.getValue();
+        wrappedValueKnown = false;
+        knownWrappedValue = null;
+        buffering = hasValueChanged(wrappedValue, bufferedValue);
         firePropertyChange(BUFFERING_PROPERTY, wasBuffering, buffering);
     }
 
@@ -15,8 +15,6 @@
  */
 package org.valkyriercp.command.support;
 
-import org.cache2k.Cache;
-import org.cache2k.Cache2kBuilder;
 import org.springframework.beans.factory.BeanNameAware;
 import org.springframework.core.style.ToStringCreator;
 import org.springframework.util.Assert;
@@ -28,6 +26,7 @@ import org.valkyriercp.core.support.AbstractPropertyChangePublisher;
 import org.valkyriercp.factory.ButtonFactory;
 import org.valkyriercp.factory.ComponentFactory;
 import org.valkyriercp.factory.MenuFactory;
+import org.valkyriercp.util.MemoMap;
 import org.valkyriercp.util.ValkyrieRepository;
 
 import javax.swing.*;
@@ -86,9 +85,8 @@ public abstract class AbstractCommand extends AbstractPropertyChangePublisher im
 
     private String[] authorities;
 
-	private Cache<String, CommandFaceButtonManager> faceButtonManagers = new Cache2kBuilder<String, CommandFaceButtonManager>() {}
-			.loader(key -> new CommandFaceButtonManager(AbstractCommand.this, key))
-			.build();
+	private MemoMap<String, CommandFaceButtonManager> faceButtonManagers = new MemoMap<String, CommandFaceButtonManager>(
+			key -> new CommandFaceButtonManager(AbstractCommand.this, key));
 
 	private CommandServices commandServices;
 
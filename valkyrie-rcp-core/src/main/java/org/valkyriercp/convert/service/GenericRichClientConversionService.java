@@ -19,6 +19,8 @@ import java.lang.reflect.Modifier;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.valkyriercp.convert.converters.*;
 import org.valkyriercp.convert.*;
@@ -28,6 +30,11 @@ import org.springframework.util.Assert;
 
 /**
  * Base implementation of a conversion service. Initially empty, e.g. no converters are registered by default.
+ * <p>
+ * Conversion executors are cached per converter id, source and target class, including the conversions this service
+ * cannot handle itself. The cache is cleared when converters are added or the parent changes. Converters registered
+ * directly on the delegate Spring ConversionService are not detected, call {@link #clearConversionExecutorCache()}
+ * after doing so.
  * 
  * @author Keith Donald
  */
@@ -54,6 +61,21 @@ public class GenericRichClientConversionService implements RichClientConversionS
 	 */
 	private RichClientConversionService parent;
 
+	/**
+	 * Marks a conversion this service cannot handle itself.
+	 */
+	private static final Object NOT_CONVERTIBLE = new Object();
+
+	/**
+	 * Cached conversion executors, {@link #NOT_CONVERTIBLE} or the {@link ConversionExecutorNotFoundException}
+	 * describing why a custom converter cannot be used.
+	 */
+	private final Map<ConversionExecutorKey, Object> conversionExecutors = new ConcurrentHashMap<>();
+
+	private final AtomicLong cacheHitCount = new AtomicLong();
+
+	private final AtomicLong cacheMissCount = new AtomicLong();
+
 	/**
 	 * Default constructor.
 	 */
@@ -84,6 +106,7 @@ public class GenericRichClientConversionService implements RichClientConversionS
 	 */
 	public void setParent(RichClientConversionService parent) {
 		this.parent = parent;
+		clearConversionExecutorCache();
 	}
 
 	/**
@@ -110,6 +133,7 @@ public class GenericRichClientConversionService implements RichClientConversionS
 			((ConverterRegistry) delegate).addConverter(new SpringBindingConverterAdapter(new ReverseConverter(
 					twoWayConverter)));
 		}
+		clearConversionExecutorCache();
 	}
 
 	/**
@@ -124,6 +148,28 @@ public class GenericRichClientConversionService implements RichClientConversionS
 	 */
 	public void addConverter(String id, Converter converter) {
 		customConverters.put(id, converter);
+		clearConversionExecutorCache();
+	}
+
+	/**
+	 * Clears the cached conversion executors.
+	 */
+	public void clearConversionExecutorCache() {
+		conversionExecutors.clear();
+	}
+
+	/**
+	 * Returns the number of conversion executor requests served from the cache.
+	 */
+	public long getCacheHitCount() {
+		return cacheHitCount.get();
+	}
+
+	/**
+	 * Returns the number of conversion executor requests that required creating an executor.
+	 */
+	public long getCacheMissCount() {
+		return cacheMissCount.get();
 	}
 
 	/**
@@ -137,6 +183,26 @@ public class GenericRichClientConversionService implements RichClientConversionS
 			throws ConversionExecutorNotFoundException {
 		Assert.notNull(sourceClass, "The source class to convert from is required");
 		Assert.notNull(targetClass, "The target class to convert to is required");
+		ConversionExecutor conversionExecutor = getCachedConversionExecutor(null, sourceClass, targetClass);
+		if (conversionExecutor != null) {
+			return conversionExecutor;
+		} else if (parent != null) {
+			return parent.getConversionExecutor(sourceClass, targetClass);
+		} else {
+			sourceClass = convertToWrapperClassIfNecessary(sourceClass);
+			targetClass = convertToWrapperClassIfNecessary(targetClass);
+			throw new ConversionExecutorNotFoundException(sourceClass, targetClass,
+					"No ConversionExecutor found for converting from sourceClass [" + sourceClass.getName()
+							+ "] to target class [" + targetClass.getName() + "]");
+		}
+	}
+
+	/**
+	 * Creates the conversion executor for the given classes using the delegate Spring ConversionService.
+	 * 
+	 * @return the conversion executor or <code>null</code> if this service cannot convert between the classes.
+	 */
+	protected ConversionExecutor createConversionExecutor(Class<?> sourceClass, Class<?> targetClass) {
 		sourceClass = convertToWrapperClassIfNecessary(sourceClass);
 		targetClass = convertToWrapperClassIfNecessary(targetClass);
 		if (targetClass.isAssignableFrom(sourceClass)) {
@@ -145,13 +211,8 @@ public class GenericRichClientConversionService implements RichClientConversionS
 		if (delegate.canConvert(sourceClass, targetClass)) {
 			return new StaticConversionExecutor(sourceClass, targetClass, new SpringConvertingConverterAdapter(
 					sourceClass, targetClass, delegate));
-		} else if (parent != null) {
-			return parent.getConversionExecutor(sourceClass, targetClass);
-		} else {
-			throw new ConversionExecutorNotFoundException(sourceClass, targetClass,
-					"No ConversionExecutor found for converting from sourceClass [" + sourceClass.getName()
-							+ "] to target class [" + targetClass.getName() + "]");
 		}
+		return null;
 	}
 
 	public ConversionExecutor getConversionExecutor(String id, Class<?> sourceClass, Class<?> targetClass)
@@ -159,15 +220,29 @@ public class GenericRichClientConversionService implements RichClientConversionS
 		Assert.hasText(id, "The id of the custom converter is required");
 		Assert.notNull(sourceClass, "The source class to convert from is required");
 		Assert.notNull(targetClass, "The target class to convert to is required");
+		ConversionExecutor conversionExecutor = getCachedConversionExecutor(id, sourceClass, targetClass);
+		if (conversionExecutor != null) {
+			return conversionExecutor;
+		} else if (parent != null) {
+			return parent.getConversionExecutor(id, sourceClass, targetClass);
+		} else {
+			throw new ConversionExecutorNotFoundException(sourceClass, targetClass,
+					"No custom ConversionExecutor found with id '" + id + "' for converting from sourceClass ["
+							+ sourceClass.getName() + "] to targetClass [" + targetClass.getName() + "]");
+		}
+	}
+
+	/**
+	 * Creates the conversion executor for the given classes using the custom converter with the given id.
+	 * 
+	 * @return the conversion executor or <code>null</code> if no custom converter with the given id is registered.
+	 * @throws ConversionExecutorNotFoundException if the custom converter cannot convert between the classes.
+	 */
+	protected ConversionExecutor createConversionExecutor(String id, Class<?> sourceClass, Class<?> targetClass)
+			throws ConversionExecutorNotFoundException {
 		Converter converter = customConverters.get(id);
 		if (converter == null) {
-			if (parent != null) {
-				return parent.getConversionExecutor(id, sourceClass, targetClass);
-			} else {
-				throw new ConversionExecutorNotFoundException(sourceClass, targetClass,
-						"No custom ConversionExecutor found with id '" + id + "' for converting from sourceClass ["
-								+ sourceClass.getName() + "] to targetClass [" + targetClass.getName() + "]");
-			}
+			return null;
 		}
 		sourceClass = convertToWrapperClassIfNecessary(sourceClass);
 		targetClass = convertToWrapperClassIfNecessary(targetClass);
@@ -326,6 +401,34 @@ public class GenericRichClientConversionService implements RichClientConversionS
 		}
 	}
 
+	/**
+	 * Returns the cached conversion executor for the given key, creating it on the first request.
+	 * 
+	 * @return the conversion executor or <code>null</code> if this service cannot handle the conversion itself.
+	 */
+	private ConversionExecutor getCachedConversionExecutor(String id, Class<?> sourceClass, Class<?> targetClass) {
+		ConversionExecutorKey key = new ConversionExecutorKey(id, sourceClass, targetClass);
+		Object cached = conversionExecutors.get(key);
+		if (cached == null) {
+			cacheMissCount.incrementAndGet();
+			try {
+				ConversionExecutor conversionExecutor = id == null ? createConversionExecutor(sourceClass,
+						targetClass) : createConversionExecutor(id, sourceClass, targetClass);
+				cached = conversionExecutor != null ? conversionExecutor : NOT_CONVERTIBLE;
+			} catch (ConversionExecutorNotFoundException e) {
+				cached = e;
+			}
+			conversionExecutors.put(key, cached);
+		} else {
+			cacheHitCount.incrementAndGet();
+		}
+		if (cached instanceof ConversionExecutorNotFoundException) {
+			ConversionExecutorNotFoundException e = (ConversionExecutorNotFoundException) cached;
+			throw new ConversionExecutorNotFoundException(e.getSourceClass(), e.getTargetClass(), e.getMessage());
+		}
+		return cached == NOT_CONVERTIBLE ? null : (ConversionExecutor) cached;
+	}
+
 	public Object executeConversion(Object source, Class<?> targetClass) throws ConversionException {
 		if (source != null) {
 			ConversionExecutor conversionExecutor = getConversionExecutor(source.getClass(), targetClass);
@@ -385,4 +488,33 @@ public class GenericRichClientConversionService implements RichClientConversionS
 		}
 	}
 
+	private static final class ConversionExecutorKey {
+
+		private final String id;
+
+		private final Class<?> sourceClass;
+
+		private final Class<?> targetClass;
+
+		private ConversionExecutorKey(String id, Class<?> sourceClass, Class<?> targetClass) {
+			this.id = id;
+			this.sourceClass = sourceClass;
+			this.targetClass = targetClass;
+		}
+
+		public boolean equals(Object o) {
+			if (!(o instanceof ConversionExecutorKey)) {
+				return false;
+			}
+			ConversionExecutorKey other = (ConversionExecutorKey) o;
+			return sourceClass == other.sourceClass && targetClass == other.targetClass
+					&& (id == null ? other.id == null : id.equals(other.id));
+		}
+
+		public int hashCode() {
+			int hash = 31 * sourceClass.hashCode() + targetClass.hashCode();
+			return id == null ? hash : 31 * hash + id.hashCode();
+		}
+	}
+
 }
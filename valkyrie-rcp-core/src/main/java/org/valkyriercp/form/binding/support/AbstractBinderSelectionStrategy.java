@@ -22,10 +22,11 @@ import org.springframework.util.Assert;
 import org.valkyriercp.binding.form.FormModel;
 import org.valkyriercp.form.binding.Binder;
 import org.valkyriercp.form.binding.BinderSelectionStrategy;
-import org.valkyriercp.util.ClassUtils;
+import org.valkyriercp.util.ClassHierarchyMap;
 
 import javax.annotation.PostConstruct;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Default implementation of <code>BinderSelectionStrategy</code>. Provides for
@@ -40,11 +41,11 @@ public abstract class AbstractBinderSelectionStrategy implements BinderSelection
 
     private final ClassEditor classEditor = new ClassEditor();
 
-    private final Map controlTypeBinders = new HashMap();
+    private final ClassHierarchyMap<Binder> controlTypeBinders = new ClassHierarchyMap<Binder>();
 
-    private final Map propertyTypeBinders = new HashMap();
+    private final ClassHierarchyMap<Binder> propertyTypeBinders = new ClassHierarchyMap<Binder>();
 
-    private final Map propertyNameBinders = new HashMap();
+    private final ClassHierarchyMap<Map<String, Binder>> propertyNameBinders = new ClassHierarchyMap<Map<String, Binder>>();
 
     private List bindersForPropertyNames = new ArrayList();
 
@@ -91,25 +92,13 @@ public abstract class AbstractBinderSelectionStrategy implements BinderSelection
      * objectType which also has the same propertyName.
      */
     protected Binder findBinderByPropertyName(Class parentObjectType, String propertyName) {
-        PropertyNameKey key = new PropertyNameKey(parentObjectType, propertyName);
-        Binder binder = (Binder)propertyNameBinders.get(key);
-        if (binder == null) {
-            // if no direct match was found try to find a match in any super classes
-            final Map potentialMatchingBinders = new HashMap();
-            for (Iterator i = propertyNameBinders.entrySet().iterator(); i.hasNext();) {
-                Map.Entry entry = (Map.Entry)i.next();
-                if (((PropertyNameKey)entry.getKey()).getPropertyName().equals(propertyName)) {
-                    potentialMatchingBinders.put(((PropertyNameKey)entry.getKey()).getParentObjectType(),
-                            entry.getValue());
-                }
-            }
-            binder = (Binder) ClassUtils.getValueFromMapForClass(parentObjectType, potentialMatchingBinders);
+        for (Map<String, Binder> binders : propertyNameBinders.getAll(parentObjectType)) {
+            Binder binder = binders.get(propertyName);
             if (binder != null) {
-                // remember the lookup so it doesn't have to be discovered again
-                registerBinderForPropertyName(parentObjectType, propertyName, binder);
+                return binder;
             }
         }
-        return binder;
+        return null;
     }
 
     /**
@@ -117,7 +106,7 @@ public abstract class AbstractBinderSelectionStrategy implements BinderSelection
      * try to find binder for closest superclass of the given control type.
      */
     protected Binder findBinderByPropertyType(Class propertyType) {
-        return (Binder)ClassUtils.getValueFromMapForClass(propertyType, propertyTypeBinders);
+        return propertyTypeBinders.get(propertyType);
     }
 
     /**
@@ -125,12 +114,21 @@ public abstract class AbstractBinderSelectionStrategy implements BinderSelection
      * try to find binder for closest superclass of the given control type.
      */
     protected Binder findBinderByControlType(Class controlType) {
-        return (Binder)ClassUtils.getValueFromMapForClass(controlType, controlTypeBinders);
+        return controlTypeBinders.get(controlType);
     }
 
     @Override
     public void registerBinderForPropertyName(Class parentObjectType, String propertyName, Binder binder) {
-        propertyNameBinders.put(new PropertyNameKey(parentObjectType, propertyName), binder);
+        Assert.notNull(parentObjectType, "parentObjectType must not be null.");
+        Assert.notNull(propertyName, "propertyName must not be null.");
+        synchronized (propertyNameBinders) {
+            Map<String, Binder> binders = propertyNameBinders.asMap().get(parentObjectType);
+            if (binders == null) {
+                binders = new ConcurrentHashMap<String, Binder>();
+                propertyNameBinders.put(parentObjectType, binders);
+            }
+            binders.put(propertyName, binder);
+        }
     }
 
     /**
@@ -269,43 +267,6 @@ public abstract class AbstractBinderSelectionStrategy implements BinderSelection
         return formModel.getFieldMetadata(formPropertyPath).getPropertyType();
     }
 
-    private static class PropertyNameKey {
-        private final Class parentObjectType;
-
-        private final String propertyName;
-
-        public PropertyNameKey(Class parentObjectType, String propertyName) {
-            Assert.notNull(parentObjectType, "parentObjectType must not be null.");
-            Assert.notNull(propertyName, "propertyName must not be null.");
-            this.parentObjectType = parentObjectType;
-            this.propertyName = propertyName;
-        }
-
-        public String getPropertyName() {
-            return propertyName;
-        }
-
-        public Class getParentObjectType() {
-            return parentObjectType;
-        }
-
-        public boolean equals(Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (!(o instanceof PropertyNameKey)) {
-                return false;
-            }
-            final PropertyNameKey propertyNameKey = (PropertyNameKey)o;
-            return propertyName.equals(propertyNameKey.propertyName)
-                    && parentObjectType.equals(propertyNameKey.parentObjectType);
-        }
-
-        public int hashCode() {
-            return (propertyName.hashCode() * 29) + parentObjectType.hashCode();
-        }
-    }
-
     public void setApplicationContext(ApplicationContext applicationContext)
     {
         this.applicationContext = applicationContext;
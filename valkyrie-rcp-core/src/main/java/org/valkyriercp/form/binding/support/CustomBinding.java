@@ -18,12 +18,16 @@ package org.valkyriercp.form.binding.support;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.valkyriercp.binding.form.FormModel;
+import org.valkyriercp.binding.form.FormObjectReplacedListener;
+import org.valkyriercp.util.ValkyrieRepository;
 
 import java.beans.PropertyChangeEvent;
-import java.beans.PropertyChangeListener;
 
 /**
- * A helper implementation for binding to custom controls.
+ * A helper implementation for binding to custom controls. If the form model
+ * coalesces form object changes, the control is updated once per form object
+ * replacement, and only if the value differs from the last value the control
+ * showed.
  *
  * @author Oliver Hutchison
  */
@@ -33,6 +37,11 @@ public abstract class CustomBinding extends AbstractBinding {
 
     private final ValueModelChangeHandler valueModelChangeHandler;
 
+    private static final Object UNKNOWN_VALUE = new Object();
+
+    /** The value last shown by or received from the control. */
+    private Object controlValue = UNKNOWN_VALUE;
+
     /** Possible forced read-only. */
     private boolean readOnly = false;
 
@@ -40,6 +49,7 @@ public abstract class CustomBinding extends AbstractBinding {
         super(formModel, formPropertyPath, requiredSourceClass);
         valueModelChangeHandler = new ValueModelChangeHandler();
         getValueModel().addValueChangeListener(valueModelChangeHandler);
+        formModel.addPropertyChangeListener(FormModel.FORM_OBJECT_REPLACED_PROPERTY, valueModelChangeHandler);
     }
 
     /**
@@ -51,15 +61,23 @@ public abstract class CustomBinding extends AbstractBinding {
      * Should be called when the bound component's value changes.
      */
     protected final void controlValueChanged(Object newValue) {
+        controlValue = newValue;
         getValueModel().setValueSilently(newValue, valueModelChangeHandler);
     }
 
-    private class ValueModelChangeHandler implements PropertyChangeListener {
+    private class ValueModelChangeHandler implements FormObjectReplacedListener {
         public void propertyChange(PropertyChangeEvent evt) {
+            Object value = getValue();
+            if (FormModel.FORM_OBJECT_REPLACED_PROPERTY.equals(evt.getPropertyName()) && controlValue != UNKNOWN_VALUE
+                    && !ValkyrieRepository.getInstance().getApplicationConfig().valueChangeDetector()
+                            .hasValueChanged(controlValue, value)) {
+                return;
+            }
             if (logger.isDebugEnabled()) {
                 logger.debug("Notifying binding of value model value changed");
             }
-            valueModelChanged(getValue());
+            controlValue = value;
+            valueModelChanged(value);
         }
     }
 
@@ -15,7 +15,7 @@
  */
 package org.valkyriercp.form.builder;
 
-import org.valkyriercp.util.OverlayHelper;
+import org.valkyriercp.util.OverlayLayer;
 
 import javax.swing.*;
 import java.beans.PropertyChangeEvent;
@@ -25,6 +25,8 @@ import java.beans.PropertyChangeListener;
  * Helper class to attach overlay components to form components. This is needed as some
  * form components are placed inside a scrollpane, and in that case the overlay should be
  * added to the scrollpane and not to the form component itself.
+ * <p>
+ * The overlays of a window are shown on its shared {@link OverlayLayer}.
  */
 public class InterceptorOverlayHelper {
     private InterceptorOverlayHelper() {
@@ -50,7 +52,7 @@ public class InterceptorOverlayHelper {
 
     private static void doAttachOverlay( JComponent overlay, JComponent component, int center, int xOffset, int yOffset ) {
         JComponent componentToOverlay = hasParentScrollPane( component ) ? getParentScrollPane( component ) : component;
-        OverlayHelper.attachOverlay(overlay, componentToOverlay, center, xOffset, yOffset);
+        OverlayLayer.attachOverlay(overlay, componentToOverlay, center, xOffset, yOffset);
     }
 
     private static JScrollPane getParentScrollPane( JComponent component ) {
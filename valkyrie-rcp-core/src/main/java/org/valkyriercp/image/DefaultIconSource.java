@@ -17,16 +17,14 @@ package org.valkyriercp.image;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.cache2k.Cache;
-import org.cache2k.Cache2kBuilder;
 
 import javax.swing.*;
 import java.awt.*;
 
 /**
  * The default implementation of ImageIconRegistry. This implementation caches
- * all icons using soft references (TODO it just lazy loads them, but it doesn't use SoftReference).
- * More specifically, cached icons will remain
+ * icons in an {@link ImageCache} bounded by the decoded size of the icons.
+ * Icons evicted from the cache are kept using soft references, so they remain
  * in memory unless there is a shortage of resources in the system.
  *
  * @author Keith Donald
@@ -35,16 +33,38 @@ public class DefaultIconSource implements IconSource {
     protected static final Log logger = LogFactory.getLog(DefaultIconSource.class);
 
     private final ImageSource imageSource;
-    private final Cache<String, ImageIcon> cache;
+    private final ImageCache<ImageIcon> cache;
 
     public DefaultIconSource(ImageSource imageSource) {
         this.imageSource = imageSource;
-        cache = new Cache2kBuilder<String, ImageIcon>() {}
-                .loader(key -> {
+        cache = new ImageCache<ImageIcon>(key -> {
                     Image image = imageSource.getImage(key);
                     return new ImageIcon(image);
-                })
-                .build();
+                }, ImageCache::iconWeight);
+    }
+
+    /**
+     * Set the maximum size in bytes of the decoded icons kept in the cache.
+     * Defaults to {@link ImageCache#DEFAULT_MAX_WEIGHT}.
+     */
+    public void setMaxCacheWeight(long maxCacheWeight) {
+        cache.setMaxWeight(maxCacheWeight);
+    }
+
+    /**
+     * Set whether icons evicted from the cache are kept softly referenced.
+     * Defaults to <code>true</code>.
+     */
+    public void setSoftReferenceCache(boolean softReferenceCache) {
+        cache.setSoftReferences(softReferenceCache);
+    }
+
+    /**
+     * Returns the cache of loaded icons, which also exposes its hit, miss and
+     * eviction statistics.
+     */
+    public ImageCache<ImageIcon> getIconCache() {
+        return cache;
     }
 
     public Icon getIcon(String key) {
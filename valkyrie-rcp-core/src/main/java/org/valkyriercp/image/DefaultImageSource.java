@@ -19,8 +19,6 @@ import jiconfont.DefaultIconCode;
 import jiconfont.swing.IconFontSwing;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.cache2k.Cache;
-import org.cache2k.Cache2kBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
@@ -32,17 +30,22 @@ import org.springframework.util.Assert;
 import javax.swing.*;
 import java.awt.*;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * A collection of image resources, each indexed by a common key alias.
  * <p>
  * For example, <code>action.edit.copy = /images/edit/copy.gif</code>
  * <p>
- * This class by default performs caching of all loaded image resources using
- * soft references (TODO it just lazy loads them, but it doesn't use
- * SoftReference).
+ * This class by default caches loaded image resources in an {@link ImageCache}
+ * bounded by the decoded size of the images. Images evicted from the cache are
+ * kept softly referenced. Use {@link #setMaxCacheWeight(long)} and
+ * {@link #setSoftReferenceCache(boolean)} to tune the cache and
+ * {@link #getImageCache()} to inspect its statistics.
  *
  * <p>Image resources can be set in the constructor or through the property <code>imageResources</code>.
  * The may should be a String-Resource or String-String where a string value will be converted to
@@ -78,9 +81,7 @@ public class DefaultImageSource implements ImageSource {
 
 	private Map<String, String> imageResources;
 
-	private final Cache<String, Image> imageCache = new Cache2kBuilder<String, Image>() {
-	}
-	.loader(key -> {
+	private final ImageCache<Image> imageCache = new ImageCache<Image>(key -> {
 		try {
 			ImageResource resource = getImageResource(key);
 			return resource.getImage();
@@ -88,7 +89,7 @@ public class DefaultImageSource implements ImageSource {
 		catch (IOException e) {
 			throw new NoSuchImageResourceException("No image found for key '" + key + '"', e);
 		}
-	}).build();
+	}, ImageCache::imageWeight);
 
 	private AwtImageResource brokenImageIndicatorResource;
 
@@ -138,6 +139,30 @@ public class DefaultImageSource implements ImageSource {
 		debugPrintResources();
 	}
 
+	/**
+	 * Set the maximum size in bytes of the decoded images kept in the cache.
+	 * Defaults to {@link ImageCache#DEFAULT_MAX_WEIGHT}.
+	 */
+	public void setMaxCacheWeight(long maxCacheWeight) {
+		imageCache.setMaxWeight(maxCacheWeight);
+	}
+
+	/**
+	 * Set whether images evicted from the cache are kept softly referenced.
+	 * Defaults to <code>true</code>.
+	 */
+	public void setSoftReferenceCache(boolean softReferenceCache) {
+		imageCache.setSoftReferences(softReferenceCache);
+	}
+
+	/**
+	 * Returns the cache of loaded images, which also exposes its hit, miss and
+	 * eviction statistics.
+	 */
+	public ImageCache<Image> getImageCache() {
+		return imageCache;
+	}
+
 	private void debugPrintResources() {
 		if (logger.isDebugEnabled()) {
 			logger.debug("Initialing image source with resources: " + StylerUtils.style(this.imageResources));
@@ -200,6 +225,23 @@ public class DefaultImageSource implements ImageSource {
 		}
 	}
 
+	/**
+	 * Returns the keys of the images loaded from resources, which are the
+	 * images kept in the cache. Icon font images are excluded as they are
+	 * built on each request.
+	 *
+	 * @see ImagePreloader
+	 */
+	public Set<String> getImageKeys() {
+		Set<String> keys = new LinkedHashSet<>();
+		for (Map.Entry<String, String> entry : imageResources.entrySet()) {
+			if (entry.getValue() != null && !entry.getValue().startsWith("iconfont:")) {
+				keys.add(entry.getKey());
+			}
+		}
+		return Collections.unmodifiableSet(keys);
+	}
+
 	@Override
 	public boolean hasImageFor(Object key) {
 		return imageResources.containsKey(key);
@@ -237,6 +279,7 @@ public class DefaultImageSource implements ImageSource {
 	}
 
 	public String toString() {
-		return new ToStringCreator(this).append("imageResources", imageResources).toString();
+		return new ToStringCreator(this).append("imageResources", imageResources).append("imageCache", imageCache)
+				.toString();
 	}
 }
\ No newline at end of file
@@ -0,0 +1,321 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.image;
+
+import org.springframework.core.style.ToStringCreator;
+import org.springframework.util.Assert;
+
+import javax.swing.*;
+import java.awt.*;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * A cache for loaded images or icons which is bounded by the decoded size of
+ * its values rather than by the number of entries.
+ * <p>
+ * Values are kept strongly referenced in least recently used order until the
+ * total weight exceeds the maximum weight. Evicted values are moved to a soft
+ * referenced tier, so they remain available until the garbage collector needs
+ * the memory. A value found in the soft tier is promoted back to the strong
+ * tier.
+ * <p>
+ * Hit, miss and eviction counts are kept to help tuning the maximum weight.
+ *
+ * @param <V> the type of the cached values.
+ */
+public class ImageCache<V> {
+
+    /**
+     * Default maximum weight of the strong tier: 32MB of decoded pixels.
+     */
+    public static final long DEFAULT_MAX_WEIGHT = 32L * 1024 * 1024;
+
+    /**
+     * Weight used for images of which the size is not known yet.
+     */
+    private static final int UNKNOWN_SIZE_WEIGHT = 16 * 16 * 4;
+
+    private final Function<String, V> loader;
+
+    private final ToIntFunction<V> weigher;
+
+    private final LinkedHashMap<String, Entry<V>> strongEntries = new LinkedHashMap<String, Entry<V>>(16, 0.75f, true);
+
+    private final Map<String, KeyedSoftReference<V>> softEntries = new HashMap<String, KeyedSoftReference<V>>();
+
+    private final ReferenceQueue<V> collectedValues = new ReferenceQueue<V>();
+
+    private long maxWeight = DEFAULT_MAX_WEIGHT;
+
+    private boolean softReferences = true;
+
+    private long weight;
+
+    private long hitCount;
+
+    private long softHitCount;
+
+    private long missCount;
+
+    private long evictionCount;
+
+    /**
+     * Create a cache.
+     *
+     * @param loader loads the value for a key on a cache miss, may return
+     * <code>null</code> which will not be cached.
+     * @param weigher returns the weight in bytes of a value.
+     */
+    public ImageCache(Function<String, V> loader, ToIntFunction<V> weigher) {
+        Assert.notNull(loader, "loader should not be null");
+        Assert.notNull(weigher, "weigher should not be null");
+        this.loader = loader;
+        this.weigher = weigher;
+    }
+
+    /**
+     * Returns the cached value for the given key, loading it if necessary.
+     * Loading happens outside of the cache lock, so the same value may be
+     * loaded concurrently by different threads, in which case the first one
+     * is kept.
+     */
+    public V get(String key) {
+        synchronized (this) {
+            V value = getIfPresent(key);
+            if (value != null) {
+                return value;
+            }
+            missCount++;
+        }
+        V value = loader.apply(key);
+        if (value != null) {
+            synchronized (this) {
+                Entry<V> entry = strongEntries.get(key);
+                if (entry != null) {
+                    return entry.value;
+                }
+                putStrong(key, value);
+            }
+        }
+        return value;
+    }
+
+    private V getIfPresent(String key) {
+        purgeCollectedValues();
+        Entry<V> entry = strongEntries.get(key);
+        if (entry != null) {
+            hitCount++;
+            return entry.value;
+        }
+        KeyedSoftReference<V> reference = softEntries.remove(key);
+        if (reference != null) {
+            V value = reference.get();
+            if (value != null) {
+                hitCount++;
+                softHitCount++;
+                putStrong(key, value);
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private void putStrong(String key, V value) {
+        int valueWeight = Math.max(weigher.applyAsInt(value), 1);
+        if (valueWeight > maxWeight) {
+            putSoft(key, value);
+            return;
+        }
+        strongEntries.put(key, new Entry<V>(value, valueWeight));
+        weight += valueWeight;
+        evictToMaxWeight();
+    }
+
+    private void putSoft(String key, V value) {
+        if (softReferences) {
+            softEntries.put(key, new KeyedSoftReference<V>(key, value, collectedValues));
+        }
+    }
+
+    private void evictToMaxWeight() {
+        Iterator<Map.Entry<String, Entry<V>>> it = strongEntries.entrySet().iterator();
+        while (weight > maxWeight && it.hasNext()) {
+            Map.Entry<String, Entry<V>> eldest = it.next();
+            it.remove();
+            weight -= eldest.getValue().weight;
+            evictionCount++;
+            putSoft(eldest.getKey(), eldest.getValue().value);
+        }
+    }
+
+    private void purgeCollectedValues() {
+        KeyedSoftReference<V> reference;
+        while ((reference = (KeyedSoftReference<V>) collectedValues.poll()) != null) {
+            if (softEntries.get(reference.key) == reference) {
+                softEntries.remove(reference.key);
+            }
+        }
+    }
+
+    /**
+     * Removes the value for the given key from both tiers.
+     */
+    public synchronized void remove(String key) {
+        Entry<V> entry = strongEntries.remove(key);
+        if (entry != null) {
+            weight -= entry.weight;
+        }
+        softEntries.remove(key);
+    }
+
+    /**
+     * Removes all values, the statistics are kept.
+     */
+    public synchronized void clear() {
+        strongEntries.clear();
+        softEntries.clear();
+        weight = 0;
+    }
+
+    public synchronized long getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Set the maximum total weight in bytes of the strongly referenced values.
+     * Lowering the maximum immediately evicts values to the soft tier.
+     */
+    public synchronized void setMaxWeight(long maxWeight) {
+        Assert.isTrue(maxWeight >= 0, "maxWeight must not be negative");
+        this.maxWeight = maxWeight;
+        evictToMaxWeight();
+    }
+
+    public synchronized boolean isSoftReferences() {
+        return softReferences;
+    }
+
+    /**
+     * Set whether evicted values are kept softly referenced. When disabled,
+     * evicted values are discarded immediately.
+     */
+    public synchronized void setSoftReferences(boolean softReferences) {
+        this.softReferences = softReferences;
+        if (!softReferences) {
+            softEntries.clear();
+        }
+    }
+
+    /**
+     * @return the total weight in bytes of the strongly referenced values.
+     */
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    /**
+     * @return the number of strongly referenced values.
+     */
+    public synchronized int getSize() {
+        return strongEntries.size();
+    }
+
+    /**
+     * @return the number of values kept in the soft tier, including values
+     * that have been garbage collected but not yet purged.
+     */
+    public synchronized int getSoftSize() {
+        return softEntries.size();
+    }
+
+    /**
+     * @return the number of requests served from either tier.
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of requests served from the soft tier.
+     */
+    public synchronized long getSoftHitCount() {
+        return softHitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the number of values evicted from the strong tier.
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the weight of an image: the size in bytes of its decoded pixels.
+     */
+    public static int imageWeight(Image image) {
+        int width = image.getWidth(null);
+        int height = image.getHeight(null);
+        if (width < 0 || height < 0) {
+            return UNKNOWN_SIZE_WEIGHT;
+        }
+        return width * height * 4;
+    }
+
+    /**
+     * Returns the weight of an icon: the size in bytes of its decoded pixels.
+     */
+    public static int iconWeight(Icon icon) {
+        return icon.getIconWidth() * icon.getIconHeight() * 4;
+    }
+
+    public synchronized String toString() {
+        return new ToStringCreator(this).append("size", strongEntries.size()).append("weight", weight)
+                .append("maxWeight", maxWeight).append("softSize", softEntries.size()).append("hits", hitCount)
+                .append("softHits", softHitCount).append("misses", missCount).append("evictions", evictionCount)
+                .toString();
+    }
+
+    private static class Entry<V> {
+        private final V value;
+
+        private final int weight;
+
+        Entry(V value, int weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private static class KeyedSoftReference<V> extends SoftReference<V> {
+        private final String key;
+
+        KeyedSoftReference(String key, V value, ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.image;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads and decodes a set of images in parallel on a bounded pool of daemon
+ * threads, so the cache of the {@link ImageSource} is filled before the first
+ * window is built and no image I/O happens on the EDT.
+ * <p>
+ * Preloading is started while the splash screen is shown; the
+ * {@link org.valkyriercp.application.support.ApplicationLauncher} waits for it
+ * to complete before starting the application. Images that fail to load are
+ * logged and skipped, they will be loaded (and fail) lazily as before.
+ */
+public class ImagePreloader {
+    private static final Log logger = LogFactory.getLog(ImagePreloader.class);
+
+    private static final AtomicInteger poolNumber = new AtomicInteger();
+
+    private final ImageSource imageSource;
+
+    private final List<String> imageKeys;
+
+    private int threadCount = Math.min(4, Runtime.getRuntime().availableProcessors());
+
+    private CountDownLatch remaining;
+
+    /**
+     * Create a preloader for the given image keys.
+     *
+     * @param imageSource the source whose cache should be filled.
+     * @param imageKeys keys of the images to preload.
+     */
+    public ImagePreloader(ImageSource imageSource, Collection<String> imageKeys) {
+        Assert.notNull(imageSource, "imageSource should not be null");
+        Assert.notNull(imageKeys, "imageKeys should not be null");
+        this.imageSource = imageSource;
+        this.imageKeys = new ArrayList<String>(imageKeys);
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    /**
+     * Set the maximum number of threads used to decode images.
+     */
+    public void setThreadCount(int threadCount) {
+        Assert.isTrue(threadCount > 0, "threadCount must be positive");
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * Start loading the images in the background. Calling this method more
+     * than once has no effect.
+     */
+    public synchronized void start() {
+        if (remaining != null) {
+            return;
+        }
+        remaining = new CountDownLatch(imageKeys.size());
+        if (imageKeys.isEmpty()) {
+            return;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Preloading " + imageKeys.size() + " images using " + threadCount + " threads");
+        }
+        final int pool = poolNumber.incrementAndGet();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threadCount, imageKeys.size()),
+                new ThreadFactory() {
+                    private final AtomicInteger threadNumber = new AtomicInteger();
+
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "image-preloader-" + pool + "-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        thread.setPriority(Thread.NORM_PRIORITY - 1);
+                        return thread;
+                    }
+                });
+        final CountDownLatch latch = remaining;
+        for (final String key : imageKeys) {
+            executor.execute(new Runnable() {
+                public void run() {
+                    try {
+                        imageSource.getImage(key);
+                    }
+                    catch (RuntimeException e) {
+                        logger.debug("Unable to preload image '" + key + "'", e);
+                    }
+                    finally {
+                        latch.countDown();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+    }
+
+    /**
+     * @return <code>true</code> if preloading has been started and all images
+     * have been processed.
+     */
+    public synchronized boolean isDone() {
+        return remaining != null && remaining.getCount() == 0;
+    }
+
+    /**
+     * Wait until all images have been processed, starting the preloading if
+     * this has not been done yet.
+     *
+     * @return <code>true</code> if all images have been processed,
+     * <code>false</code> if the timeout elapsed first.
+     */
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        CountDownLatch latch;
+        synchronized (this) {
+            start();
+            latch = remaining;
+        }
+        return latch.await(timeout, unit);
+    }
+}
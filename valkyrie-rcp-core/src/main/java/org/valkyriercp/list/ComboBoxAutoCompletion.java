@@ -28,13 +28,22 @@ import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Provides AutoCompletion to a combobox. Works with the editor of the JComboBox
  * to make the conversion between strings and the objects of the JComboBox
- * model. <br>
+ * model. The string of each item is computed once and kept up to date using the
+ * events of the model. For large models a sorted prefix index can be enabled
+ * with {@link #setPrefixIndexEnabled(boolean)}, which makes looking up the
+ * item for the typed text logarithmic instead of linear. The index is kept
+ * sorted as items are added, removed or changed. <br>
  * Based on code contributed to the public domain by Thomas Bierhance
  * (http://www.orbital-computer.de/JComboBox/)
  *
@@ -53,7 +62,16 @@ public class ComboBoxAutoCompletion extends PlainDocument {
 
     boolean hitBackspaceOnSelection;
 
-    private Map item2string = new HashMap();
+    /** The last registered string of each item, chained to those of equal items. */
+    private final Map<Object, ItemString> item2string = new HashMap<Object, ItemString>();
+
+    /** Strings of the model items, by index in the model. */
+    private final List<ItemString> itemStrings = new ArrayList<ItemString>();
+
+    private boolean prefixIndexEnabled;
+
+    /** The sorted item strings, <code>null</code> when the index is disabled. */
+    private PrefixIndex prefixIndex;
 
     private ComboBoxModel model;
 
@@ -90,27 +108,145 @@ public class ComboBoxAutoCompletion extends PlainDocument {
     }
 
     private void fillItem2StringMap() {
-        editor.setDocument(new PlainDocument());
-
+        itemStrings.clear();
         item2string.clear();
+        String[] strings = computeStrings(0, comboBox.getItemCount() - 1);
+        for (int i = 0; i < strings.length; i++) {
+            ItemString itemString = new ItemString(model.getElementAt(i), strings[i], i);
+            itemStrings.add(itemString);
+            register(itemString);
+        }
+        prefixIndex = prefixIndexEnabled ? new PrefixIndex(itemStrings) : null;
+    }
 
-        JTextComponent editor = (JTextComponent)comboBox.getEditor().getEditorComponent();
+    /**
+     * Converts the items in the given range of the model to strings using the
+     * editor of the combobox.
+     */
+    private String[] computeStrings(int index0, int index1) {
+        String[] strings = new String[Math.max(index1 - index0 + 1, 0)];
+        if (strings.length == 0) {
+            return strings;
+        }
+        editor.setDocument(new PlainDocument());
 
         // get current item of editor
         Object currentItem = comboBox.getEditor().getItem();
-        for (int i = 0; i < comboBox.getItemCount(); i++) {
-            Object item = comboBox.getItemAt(i);
-            comboBox.getEditor().setItem(item);
-            item2string.put(item, editor.getText());
+        for (int i = index0; i <= index1; i++) {
+            comboBox.getEditor().setItem(comboBox.getItemAt(i));
+            strings[i - index0] = editor.getText();
         }
         // reset item in editor
         comboBox.getEditor().setItem(currentItem);
 
         editor.setDocument(this);
+        return strings;
+    }
+
+    private void register(ItemString itemString) {
+        itemString.duplicate = item2string.put(itemString.item, itemString);
+    }
+
+    private void unregister(ItemString itemString) {
+        ItemString registered = item2string.get(itemString.item);
+        if (registered == itemString) {
+            if (itemString.duplicate == null) {
+                item2string.remove(itemString.item);
+            }
+            else {
+                item2string.put(itemString.item, itemString.duplicate);
+            }
+        }
+        else {
+            for (ItemString other = registered; other != null; other = other.duplicate) {
+                if (other.duplicate == itemString) {
+                    other.duplicate = itemString.duplicate;
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates the model indexes of the item strings from the given index on,
+     * after items have been added or removed before them.
+     */
+    private void updateIndexes(int index0) {
+        for (int i = index0, n = itemStrings.size(); i < n; i++) {
+            itemStrings.get(i).index = i;
+        }
+    }
+
+    private List<ItemString> createItemStrings(int index0, int index1) {
+        String[] strings = computeStrings(index0, index1);
+        List<ItemString> created = new ArrayList<ItemString>(strings.length);
+        for (int i = index0; i <= index1; i++) {
+            ItemString itemString = new ItemString(model.getElementAt(i), strings[i - index0], i);
+            created.add(itemString);
+            register(itemString);
+        }
+        return created;
+    }
+
+    private void itemsAdded(int index0, int index1) {
+        List<ItemString> added = createItemStrings(index0, index1);
+        itemStrings.addAll(index0, added);
+        updateIndexes(index1 + 1);
+        if (prefixIndex != null) {
+            prefixIndex.add(added);
+        }
+    }
+
+    private void itemsRemoved(int index0, int index1) {
+        List<ItemString> range = itemStrings.subList(index0, index1 + 1);
+        for (ItemString itemString : range) {
+            unregister(itemString);
+            itemString.removed = true;
+        }
+        range.clear();
+        updateIndexes(index0);
+        if (prefixIndex != null) {
+            prefixIndex.removeRemoved();
+        }
+    }
+
+    private void itemsChanged(int index0, int index1) {
+        for (int i = index0; i <= index1; i++) {
+            ItemString itemString = itemStrings.get(i);
+            unregister(itemString);
+            itemString.removed = true;
+        }
+        List<ItemString> changed = createItemStrings(index0, index1);
+        for (int i = index0; i <= index1; i++) {
+            itemStrings.set(i, changed.get(i - index0));
+        }
+        if (prefixIndex != null) {
+            prefixIndex.removeRemoved();
+            prefixIndex.add(changed);
+        }
+    }
+
+    /**
+     * Returns whether the sorted prefix index is used to look up items.
+     */
+    public boolean isPrefixIndexEnabled() {
+        return prefixIndexEnabled;
+    }
+
+    /**
+     * Enables a sorted index of the case folded item strings, so looking up
+     * the item matching the typed text is logarithmic. The index is sorted
+     * once when enabled and then updated for the items reported by the events
+     * of the model. Worthwhile for models with many items.
+     */
+    public void setPrefixIndexEnabled(boolean prefixIndexEnabled) {
+        this.prefixIndexEnabled = prefixIndexEnabled;
+        prefixIndex = prefixIndexEnabled ? new PrefixIndex(itemStrings) : null;
     }
 
     private String getStringFor(Object item) {
-        return (String)item2string.get(item);
+        ItemString itemString = item2string.get(item);
+        return itemString == null ? null : itemString.string;
     }
 
     private void highlightCompletedText(int start) {
@@ -182,7 +318,7 @@ public class ComboBoxAutoCompletion extends PlainDocument {
         }
     }
 
-    private Object lookupItem(String pattern) {
+    Object lookupItem(String pattern) {
         Object selectedItem = model.getSelectedItem();
         // only search for a different item if the currently selected does not
         // match
@@ -190,6 +326,11 @@ public class ComboBoxAutoCompletion extends PlainDocument {
             return selectedItem;
         }
 
+        if (prefixIndex != null && itemStrings.size() == model.getSize()) {
+            int index = prefixIndex.lookup(pattern);
+            return index < 0 ? null : model.getElementAt(index);
+        }
+
         // iterate over all items
         for (int i = 0, n = model.getSize(); i < n; i++) {
             Object currentItem = model.getElementAt(i);
@@ -289,16 +430,182 @@ public class ComboBoxAutoCompletion extends PlainDocument {
         }
 
         public void contentsChanged(ListDataEvent e) {
-            if(!selectingValue)
-                fillItem2StringMap();
+            if(!selectingValue) {
+                if (isValidRange(e) && itemStrings.size() == model.getSize()) {
+                    itemsChanged(Math.min(e.getIndex0(), e.getIndex1()), Math.max(e.getIndex0(), e.getIndex1()));
+                }
+                else {
+                    fillItem2StringMap();
+                }
+            }
         }
 
         public void intervalAdded(ListDataEvent e) {
-            fillItem2StringMap();
+            int count = Math.abs(e.getIndex1() - e.getIndex0()) + 1;
+            if (isValidRange(e) && itemStrings.size() + count == model.getSize()) {
+                itemsAdded(Math.min(e.getIndex0(), e.getIndex1()), Math.max(e.getIndex0(), e.getIndex1()));
+            }
+            else {
+                fillItem2StringMap();
+            }
         }
 
         public void intervalRemoved(ListDataEvent e) {
-            fillItem2StringMap();
+            int count = Math.abs(e.getIndex1() - e.getIndex0()) + 1;
+            if (isValidRange(e) && itemStrings.size() - count == model.getSize()) {
+                itemsRemoved(Math.min(e.getIndex0(), e.getIndex1()), Math.max(e.getIndex0(), e.getIndex1()));
+            }
+            else {
+                fillItem2StringMap();
+            }
+        }
+
+        private boolean isValidRange(ListDataEvent e) {
+            return e.getIndex0() >= 0 && e.getIndex1() >= 0;
+        }
+    }
+
+    /**
+     * The string of a model item, with the model index it was last seen at.
+     */
+    private static final class ItemString {
+
+        final Object item;
+
+        final String string;
+
+        /** Upper cased string, <code>null</code> if there is no string. */
+        final String key;
+
+        int index;
+
+        boolean removed;
+
+        /** String of an equal item registered before this one. */
+        ItemString duplicate;
+
+        ItemString(Object item, String string, int index) {
+            this.item = item;
+            this.string = string;
+            this.key = string == null ? null : string.toUpperCase();
+            this.index = index;
+        }
+    }
+
+    /**
+     * Sorted index of upper cased item strings. Items starting with a prefix
+     * form a contiguous range in the index; a segment tree holding the
+     * smallest model index per range returns the first matching item in
+     * model order, like the linear search does. The sorted strings are
+     * updated in place when items are added or removed; the segment tree only
+     * holds model indexes and is refilled on the first lookup after a change.
+     */
+    private static final class PrefixIndex {
+
+        private static final Comparator<ItemString> KEY_ORDER = new Comparator<ItemString>() {
+            public int compare(ItemString a, ItemString b) {
+                return a.key.compareTo(b.key);
+            }
+        };
+
+        private final List<ItemString> sorted = new ArrayList<ItemString>();
+
+        /** Smallest model indexes, <code>null</code> when outdated. */
+        private int[] minTree;
+
+        PrefixIndex(List<ItemString> itemStrings) {
+            add(itemStrings);
+        }
+
+        void add(List<ItemString> itemStrings) {
+            if (itemStrings.size() == 1) {
+                ItemString itemString = itemStrings.get(0);
+                if (itemString.key != null) {
+                    int index = Collections.binarySearch(sorted, itemString, KEY_ORDER);
+                    sorted.add(index < 0 ? -index - 1 : index, itemString);
+                }
+            }
+            else {
+                for (ItemString itemString : itemStrings) {
+                    if (itemString.key != null) {
+                        sorted.add(itemString);
+                    }
+                }
+                // merges the added run with the sorted keys
+                Collections.sort(sorted, KEY_ORDER);
+            }
+            minTree = null;
+        }
+
+        void removeRemoved() {
+            for (Iterator<ItemString> it = sorted.iterator(); it.hasNext();) {
+                if (it.next().removed) {
+                    it.remove();
+                }
+            }
+            minTree = null;
+        }
+
+        private int[] getMinTree() {
+            if (minTree == null) {
+                int count = sorted.size();
+                int[] tree = new int[2 * count];
+                for (int i = 0; i < count; i++) {
+                    tree[count + i] = sorted.get(i).index;
+                }
+                for (int i = count - 1; i > 0; i--) {
+                    tree[i] = Math.min(tree[2 * i], tree[2 * i + 1]);
+                }
+                minTree = tree;
+            }
+            return minTree;
+        }
+
+        /**
+         * @return the smallest model index of the items starting with the
+         * given pattern, ignoring case, or -1 if there are none.
+         */
+        int lookup(String pattern) {
+            String prefix = pattern.toUpperCase();
+            int size = sorted.size();
+            int from = 0;
+            int to = size;
+            // first key not smaller than the prefix
+            while (from < to) {
+                int mid = (from + to) >>> 1;
+                if (sorted.get(mid).key.compareTo(prefix) < 0) {
+                    from = mid + 1;
+                }
+                else {
+                    to = mid;
+                }
+            }
+            int end = size;
+            to = from;
+            // first key after the keys starting with the prefix
+            while (to < end) {
+                int mid = (to + end) >>> 1;
+                if (sorted.get(mid).key.startsWith(prefix)) {
+                    to = mid + 1;
+                }
+                else {
+                    end = mid;
+                }
+            }
+            if (from == to) {
+                return -1;
+            }
+            int[] tree = getMinTree();
+            int min = Integer.MAX_VALUE;
+            for (int l = from + size, r = to + size; l < r; l >>= 1, r >>= 1) {
+                if ((l & 1) == 1) {
+                    min = Math.min(min, tree[l++]);
+                }
+                if ((r & 1) == 1) {
+                    min = Math.min(min, tree[--r]);
+                }
+            }
+            return min;
         }
     }
-}
\ No newline at end of file
+}
@@ -22,10 +22,17 @@ import javax.swing.*;
 import javax.swing.event.ListDataEvent;
 import java.util.Observable;
 import java.util.Observer;
+import java.util.concurrent.Executor;
 
 /**
  * Decorates an existing {@link javax.swing.ListModel} by applying a constraint. The constraint can implement {@link java.util.Observable} to
  * notify a change of the filter condition.
+ * <p>
+ * Changes of the decorated list model are applied incrementally: only added and changed elements are tested against
+ * the constraint and the indexes of the other elements are shifted. The complete list is only filtered again when the
+ * constraint changes or the decorated model reports a change without a valid range. Setting a
+ * {@link #setFilterExecutor(Executor) filter executor} moves those complete refilters to a background thread, the
+ * result is swapped in on the EDT unless a newer refilter was requested in the meantime.
  *
  * @author Keith Donald
  * @author Mathias Broekelmann
@@ -34,10 +41,16 @@ public class DefaultFilteredListModel extends AbstractFilteredListModel implemen
 
     private Constraint constraint;
 
-    private int[] indexes;
+    private int[] indexes = new int[0];
 
     private int filteredSize;
 
+    private Executor filterExecutor;
+
+    private int refilterRequest;
+
+    private int appliedRefilterRequest;
+
     /**
      * Constructs a new instance
      *
@@ -54,11 +67,6 @@ public class DefaultFilteredListModel extends AbstractFilteredListModel implemen
         setConstraint(constraint);
     }
 
-    protected void fireContentsChanged(Object source, int index0, int index1) {
-        reallocateIndexes();
-        super.fireContentsChanged(source, index0, index1);
-    }
-
     /**
      * Defines the constraint which is applied to the list model elements
      *
@@ -72,13 +80,20 @@ public class DefaultFilteredListModel extends AbstractFilteredListModel implemen
         Assert.notNull(constraint, "constraint should not be null");
         if (!constraint.equals(this.constraint)) {
             if (this.constraint instanceof Observable) {
-                ((Observable) constraint).deleteObserver(this);
+                ((Observable) this.constraint).deleteObserver(this);
             }
+            boolean initial = this.constraint == null;
             this.constraint = constraint;
             if (constraint instanceof Observable) {
                 ((Observable) constraint).addObserver(this);
             }
-            fireContentsChanged(this, -1, -1);
+            if (initial) {
+                reallocateIndexes();
+                fireContentsChanged(this, -1, -1);
+            }
+            else {
+                refilter();
+            }
         }
     }
 
@@ -89,12 +104,31 @@ public class DefaultFilteredListModel extends AbstractFilteredListModel implemen
         return constraint;
     }
 
+    /**
+     * Set the executor used to filter the complete list when the constraint changes. Using <code>null</code>
+     * (default) filters synchronously.
+     */
+    public void setFilterExecutor(Executor filterExecutor) {
+        this.filterExecutor = filterExecutor;
+    }
+
+    public Executor getFilterExecutor() {
+        return filterExecutor;
+    }
+
+    /**
+     * @return <code>true</code> if a background refilter has been started and its result is not applied yet.
+     */
+    public boolean isRefilterPending() {
+        return appliedRefilterRequest != refilterRequest;
+    }
+
     /**
      * Internally called to reallocate the indexes. This method should be called when the filtered model changes its
      * element size
      */
     protected void reallocateIndexes() {
-        if (this.indexes == null || this.indexes.length != getFilteredModel().getSize()) {
+        if (this.indexes.length < getFilteredModel().getSize()) {
             this.indexes = new int[getFilteredModel().getSize()];
         }
         applyConstraint();
@@ -105,6 +139,55 @@ public class DefaultFilteredListModel extends AbstractFilteredListModel implemen
      * model elements
      */
     public void update(Observable changed, Object arg) {
+        refilter();
+    }
+
+    /**
+     * Filters the complete list again, in the background if a filter executor is set.
+     */
+    protected void refilter() {
+        if (filterExecutor == null) {
+            reallocateIndexes();
+            fireContentsChanged(this, -1, -1);
+            return;
+        }
+        final int request = ++refilterRequest;
+        ListModel filteredListModel = getFilteredModel();
+        final Object[] elements = new Object[filteredListModel.getSize()];
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = filteredListModel.getElementAt(i);
+        }
+        final Constraint constraint = this.constraint;
+        filterExecutor.execute(new Runnable() {
+            public void run() {
+                final int[] matches = new int[elements.length];
+                int matchCount = 0;
+                for (int i = 0; i < elements.length; i++) {
+                    if (constraint.test(elements[i])) {
+                        matches[matchCount++] = i;
+                    }
+                }
+                final int finalMatchCount = matchCount;
+                SwingUtilities.invokeLater(new Runnable() {
+                    public void run() {
+                        refilterDone(request, matches, finalMatchCount, elements);
+                    }
+                });
+            }
+        });
+    }
+
+    private void refilterDone(int request, int[] matches, int matchCount, Object[] elements) {
+        if (request != refilterRequest) {
+            return;
+        }
+        appliedRefilterRequest = request;
+        indexes = matches;
+        filteredSize = matchCount;
+        for (int i = 0; i < matchCount; i++) {
+            onMatchingElement(elements[matches[i]]);
+        }
+        postConstraintApplied();
         fireContentsChanged(this, -1, -1);
     }
 
@@ -122,7 +205,8 @@ public class DefaultFilteredListModel extends AbstractFilteredListModel implemen
     }
 
     /**
-     * Called to notify that an element has matched the filter constraint. This implementation does nothing.
+     * Called to notify that an element has matched the filter constraint. When the decorated model changes, only
+     * the added and changed elements that match are reported. This implementation does nothing.
      *
      * @param element
      *            the element which was accepted by the filter
@@ -132,7 +216,8 @@ public class DefaultFilteredListModel extends AbstractFilteredListModel implemen
     }
 
     /**
-     * Called to notify that the constraint was applied to all elements. This implementation does nothing.
+     * Called to notify that the constraint was applied to all elements, also after a change of the decorated model
+     * was applied incrementally. This implementation does nothing.
      */
     protected void postConstraintApplied() {
 
@@ -156,19 +241,135 @@ public class DefaultFilteredListModel extends AbstractFilteredListModel implemen
         return indexes[filteredIndex];
     }
 
+    /**
+     * Returns the first filtered position whose element index is not smaller than the given element index.
+     */
+    private int findPosition(int elementIndex) {
+        int low = 0;
+        int high = filteredSize;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (indexes[mid] < elementIndex) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Replaces the filtered positions <code>[from, to)</code> by the matching elements of the given range of the
+     * decorated model and shifts the element indexes of the following positions.
+     *
+     * @return the number of matching elements
+     */
+    private int replaceRange(int from, int to, int index0, int index1, int shift) {
+        ListModel filteredListModel = getFilteredModel();
+        int[] matches = new int[index1 - index0 + 1];
+        int matchCount = 0;
+        for (int i = index0; i <= index1; i++) {
+            Object element = filteredListModel.getElementAt(i);
+            if (constraint.test(element)) {
+                matches[matchCount++] = i;
+                onMatchingElement(element);
+            }
+        }
+        int newSize = filteredSize - (to - from) + matchCount;
+        int[] target = indexes.length >= newSize ? indexes : new int[Math.max(newSize, indexes.length * 2)];
+        if (target != indexes) {
+            System.arraycopy(indexes, 0, target, 0, from);
+        }
+        System.arraycopy(indexes, to, target, from + matchCount, filteredSize - to);
+        System.arraycopy(matches, 0, target, from, matchCount);
+        for (int i = from + matchCount; i < newSize; i++) {
+            target[i] += shift;
+        }
+        indexes = target;
+        filteredSize = newSize;
+        return matchCount;
+    }
+
+    private boolean isValidRange(ListDataEvent e) {
+        return e.getIndex0() >= 0 && e.getIndex1() >= 0;
+    }
+
     public void contentsChanged(ListDataEvent e) {
-        reallocateIndexes();
-        super.contentsChanged(e);
+        if (!isValidRange(e) || isRefilterPending()) {
+            refilterAfterChange();
+            return;
+        }
+        int index0 = Math.min(e.getIndex0(), e.getIndex1());
+        int index1 = Math.max(e.getIndex0(), e.getIndex1());
+        if (index1 >= getFilteredModel().getSize()) {
+            refilterAfterChange();
+            return;
+        }
+        int from = findPosition(index0);
+        int to = findPosition(index1 + 1);
+        int oldCount = to - from;
+        int newCount = replaceRange(from, to, index0, index1, 0);
+        postConstraintApplied();
+        int common = Math.min(oldCount, newCount);
+        if (common > 0) {
+            fireContentsChanged(this, from, from + common - 1);
+        }
+        if (newCount > oldCount) {
+            fireIntervalAdded(this, from + oldCount, from + newCount - 1);
+        }
+        else if (oldCount > newCount) {
+            fireIntervalRemoved(this, from + newCount, from + oldCount - 1);
+        }
     }
 
     public void intervalAdded(ListDataEvent e) {
-        reallocateIndexes();
-        super.intervalAdded(e);
+        if (!isValidRange(e) || isRefilterPending()) {
+            refilterAfterChange();
+            return;
+        }
+        int index0 = Math.min(e.getIndex0(), e.getIndex1());
+        int index1 = Math.max(e.getIndex0(), e.getIndex1());
+        int from = findPosition(index0);
+        int added = replaceRange(from, from, index0, index1, index1 - index0 + 1);
+        postConstraintApplied();
+        if (added > 0) {
+            fireIntervalAdded(this, from, from + added - 1);
+        }
     }
 
     public void intervalRemoved(ListDataEvent e) {
+        if (!isValidRange(e) || isRefilterPending()) {
+            refilterAfterChange();
+            return;
+        }
+        int index0 = Math.min(e.getIndex0(), e.getIndex1());
+        int index1 = Math.max(e.getIndex0(), e.getIndex1());
+        int from = findPosition(index0);
+        int to = findPosition(index1 + 1);
+        int count = index1 - index0 + 1;
+        System.arraycopy(indexes, to, indexes, from, filteredSize - to);
+        filteredSize -= to - from;
+        for (int i = from; i < filteredSize; i++) {
+            indexes[i] -= count;
+        }
+        postConstraintApplied();
+        if (to > from) {
+            fireIntervalRemoved(this, from, to - 1);
+        }
+    }
+
+    /**
+     * Filters the complete list synchronously after a change of the decorated model that cannot be applied
+     * incrementally. A pending background refilter is restarted as its snapshot is outdated.
+     */
+    private void refilterAfterChange() {
+        boolean pending = isRefilterPending();
         reallocateIndexes();
-        super.intervalRemoved(e);
+        fireContentsChanged(this, -1, -1);
+        if (pending) {
+            refilter();
+        }
     }
 
-}
\ No newline at end of file
+}
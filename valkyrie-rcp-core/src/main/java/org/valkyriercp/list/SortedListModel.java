@@ -15,19 +15,23 @@
  */
 package org.valkyriercp.list;
 
-import org.apache.commons.collections.Transformer;
-import org.apache.commons.collections.comparators.TransformingComparator;
 import org.springframework.util.Assert;
 import org.springframework.util.comparator.ComparableComparator;
 
 import javax.swing.*;
 import javax.swing.event.ListDataEvent;
-import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Observable;
 import java.util.Observer;
 
 /**
+ * List model which sorts the elements of another list model using a comparator.
+ * <p>
+ * The sorted order is kept as an array of element indexes which is updated incrementally: added elements are inserted
+ * using a binary search, removed elements are removed by index and changed elements are only moved to their new
+ * position. Only changes of the comparator, structural changes without a valid range and changes touching a large
+ * part of the list sort the complete list again.
+ *
  * @author Mathias Broekelmann
  */
 public class SortedListModel extends AbstractFilteredListModel {
@@ -36,7 +40,10 @@ public class SortedListModel extends AbstractFilteredListModel {
 
     private Comparator comparator;
 
-    private Integer[] indexes;
+    /** Element indexes of the filtered model in sorted order, only the first <code>size</code> are used. */
+    private int[] indexes = new int[0];
+
+    private int size;
 
     private final Observer comparatorObserver = new ComparatorObserver();
 
@@ -57,7 +64,7 @@ public class SortedListModel extends AbstractFilteredListModel {
     public void setComparator(Comparator comparator) {
         Assert.notNull(comparator, "comparator should not be null");
         if (this.comparator instanceof Observable) {
-            ((Observable) comparator).deleteObserver(comparatorObserver);
+            ((Observable) this.comparator).deleteObserver(comparatorObserver);
         }
         this.comparator = comparator;
         if (this.comparator instanceof Observable) {
@@ -71,13 +78,18 @@ public class SortedListModel extends AbstractFilteredListModel {
      * element size
      */
     protected void reallocateIndexes() {
-        indexes = new Integer[getFilteredModel().getSize()];
-        for (int i = 0; i < indexes.length; i++) {
-            indexes[i] = new Integer(i);
+        size = getFilteredModel().getSize();
+        indexes = new int[size];
+        for (int i = 0; i < size; i++) {
+            indexes[i] = i;
         }
         applyComparator();
     }
 
+    public int getSize() {
+        return size;
+    }
+
     /**
      * Returns the element index for a sorted index
      *
@@ -86,40 +98,198 @@ public class SortedListModel extends AbstractFilteredListModel {
      * @return the unsorted index of the filtered model
      */
     public int getElementIndex(int sortedIndex) {
-        return indexes[sortedIndex].intValue();
+        if (sortedIndex >= size) {
+            throw new ArrayIndexOutOfBoundsException(sortedIndex);
+        }
+        return indexes[sortedIndex];
     }
 
     protected void applyComparator() {
-        Integer[] indexes = new Integer[this.indexes.length];
-        System.arraycopy(this.indexes, 0, indexes, 0, indexes.length);
-        Arrays.sort(indexes, new TransformingComparator(new IndexToElementTransformer(getFilteredModel()), comparator));
-        this.indexes = indexes;
+        ListModel model = getFilteredModel();
+        Object[] elements = new Object[model.getSize()];
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = model.getElementAt(i);
+        }
+        int[] sorted = new int[size];
+        System.arraycopy(indexes, 0, sorted, 0, size);
+        mergeSort(sorted.clone(), sorted, 0, size, elements);
+        this.indexes = sorted;
         fireContentsChanged(this, -1, -1);
     }
 
-    public void contentsChanged(ListDataEvent e) {
-        reallocateIndexes();
+    /**
+     * Stable merge sort of the indexes in <code>dest[low, high)</code> comparing the elements they refer to.
+     * <code>src</code> must contain the same values as <code>dest</code> in the given range.
+     */
+    private void mergeSort(int[] src, int[] dest, int low, int high, Object[] elements) {
+        if (high - low < 7) {
+            for (int i = low + 1; i < high; i++) {
+                int index = dest[i];
+                int j = i;
+                while (j > low && comparator.compare(elements[dest[j - 1]], elements[index]) > 0) {
+                    dest[j] = dest[j - 1];
+                    j--;
+                }
+                dest[j] = index;
+            }
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        mergeSort(dest, src, low, mid, elements);
+        mergeSort(dest, src, mid, high, elements);
+        if (comparator.compare(elements[src[mid - 1]], elements[src[mid]]) <= 0) {
+            System.arraycopy(src, low, dest, low, high - low);
+            return;
+        }
+        for (int i = low, p = low, q = mid; i < high; i++) {
+            if (q >= high || (p < mid && comparator.compare(elements[src[p]], elements[src[q]]) <= 0)) {
+                dest[i] = src[p++];
+            }
+            else {
+                dest[i] = src[q++];
+            }
+        }
     }
 
-    public void intervalAdded(ListDataEvent e) {
-        reallocateIndexes();
+    /**
+     * Returns the sorted position after all elements comparing equal to the element with the given index.
+     */
+    private int findInsertPosition(int elementIndex) {
+        ListModel model = getFilteredModel();
+        Object element = model.getElementAt(elementIndex);
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(model.getElementAt(indexes[mid]), element) > 0) {
+                high = mid;
+            }
+            else {
+                low = mid + 1;
+            }
+        }
+        return low;
     }
 
-    public void intervalRemoved(ListDataEvent e) {
-        reallocateIndexes();
+    private int findPosition(int elementIndex) {
+        for (int i = 0; i < size; i++) {
+            if (indexes[i] == elementIndex) {
+                return i;
+            }
+        }
+        return -1;
     }
 
-    private static class IndexToElementTransformer implements Transformer {
-        private final ListModel model;
+    private void insertAt(int position, int elementIndex) {
+        if (size == indexes.length) {
+            int[] grown = new int[Math.max(16, size * 2)];
+            System.arraycopy(indexes, 0, grown, 0, size);
+            indexes = grown;
+        }
+        System.arraycopy(indexes, position, indexes, position + 1, size - position);
+        indexes[position] = elementIndex;
+        size++;
+    }
+
+    private void removeAt(int position) {
+        System.arraycopy(indexes, position + 1, indexes, position, size - position - 1);
+        size--;
+    }
 
-        public IndexToElementTransformer(ListModel model) {
-            this.model = model;
+    /**
+     * Returns whether a change of the given range can be handled incrementally.
+     */
+    private boolean isIncremental(ListDataEvent e) {
+        int index0 = Math.min(e.getIndex0(), e.getIndex1());
+        return index0 >= 0 && Math.abs(e.getIndex1() - e.getIndex0()) + 1 <= Math.max(size / 2, 1);
+    }
+
+    public void contentsChanged(ListDataEvent e) {
+        int index0 = Math.min(e.getIndex0(), e.getIndex1());
+        int index1 = Math.max(e.getIndex0(), e.getIndex1());
+        if (!isIncremental(e) || size != getFilteredModel().getSize() || index1 >= size) {
+            reallocateIndexes();
+            return;
+        }
+        if (index0 == index1) {
+            int oldPosition = findPosition(index0);
+            if (oldPosition < 0) {
+                reallocateIndexes();
+                return;
+            }
+            removeAt(oldPosition);
+            int newPosition = findInsertPosition(index0);
+            insertAt(newPosition, index0);
+            fireContentsChanged(this, Math.min(oldPosition, newPosition), Math.max(oldPosition, newPosition));
+            return;
+        }
+        // take all changed elements out first so the remaining indexes stay sorted while inserting
+        int retained = 0;
+        for (int i = 0; i < size; i++) {
+            if (indexes[i] < index0 || indexes[i] > index1) {
+                indexes[retained++] = indexes[i];
+            }
+        }
+        size = retained;
+        for (int elementIndex = index0; elementIndex <= index1; elementIndex++) {
+            insertAt(findInsertPosition(elementIndex), elementIndex);
         }
+        fireContentsChanged(this, -1, -1);
+    }
 
-        public Object transform(Object input) {
-            return model.getElementAt(((Integer) input).intValue());
+    public void intervalAdded(ListDataEvent e) {
+        int index0 = Math.min(e.getIndex0(), e.getIndex1());
+        int index1 = Math.max(e.getIndex0(), e.getIndex1());
+        int count = index1 - index0 + 1;
+        if (!isIncremental(e) || size + count != getFilteredModel().getSize()) {
+            reallocateIndexes();
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            if (indexes[i] >= index0) {
+                indexes[i] += count;
+            }
+        }
+        for (int elementIndex = index0; elementIndex <= index1; elementIndex++) {
+            int position = findInsertPosition(elementIndex);
+            insertAt(position, elementIndex);
+            fireIntervalAdded(this, position, position);
         }
+    }
 
+    public void intervalRemoved(ListDataEvent e) {
+        int index0 = Math.min(e.getIndex0(), e.getIndex1());
+        int index1 = Math.max(e.getIndex0(), e.getIndex1());
+        int count = index1 - index0 + 1;
+        if (!isIncremental(e) || size - count != getFilteredModel().getSize()) {
+            reallocateIndexes();
+            return;
+        }
+        int[] removedPositions = new int[count];
+        int removed = 0;
+        int retained = 0;
+        for (int position = 0; position < size; position++) {
+            int elementIndex = indexes[position];
+            if (elementIndex < index0) {
+                indexes[retained++] = elementIndex;
+            }
+            else if (elementIndex > index1) {
+                indexes[retained++] = elementIndex - count;
+            }
+            else {
+                removedPositions[removed++] = position;
+            }
+        }
+        size = retained;
+        // fire from the last position to the first so each event refers to the positions before it
+        for (int i = removed - 1; i >= 0; ) {
+            int last = removedPositions[i];
+            int first = last;
+            while (--i >= 0 && removedPositions[i] == first - 1) {
+                first--;
+            }
+            fireIntervalRemoved(this, first, last);
+        }
     }
 
     private class ComparatorObserver implements Observer {
@@ -28,6 +28,7 @@ import org.valkyriercp.rules.constraint.property.PropertyConstraint;
 import org.valkyriercp.rules.constraint.property.PropertyValueConstraint;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A factory for creating rules.
@@ -48,6 +49,9 @@ public class Rules extends ConstraintsAccessor implements Constraint, PropertyCo
      */
     private List orderedConstraints = new ArrayList();
 
+    /** Constraints depending on a property keyed by property name, cleared whenever a constraint is added. */
+    private final Map<String, List<PropertyConstraint>> dependentConstraints = new ConcurrentHashMap<String, List<PropertyConstraint>>();
+
 	public Rules() {
 
 	}
@@ -144,9 +148,37 @@ public class Rules extends ConstraintsAccessor implements Constraint, PropertyCo
 		else {
 			and.add(constraint);
 		}
+		dependentConstraints.clear();
 		return this;
 	}
 
+	/**
+	 * Returns the constraints that depend on the given property, in the order
+	 * they were added. The result is computed once per property and discarded
+	 * when a constraint is added to these rules.
+	 *
+	 * @param propertyName the property that has changed
+	 * @return an unmodifiable list, empty if no constraint depends on the
+	 * property.
+	 * @see PropertyConstraint#isDependentOn(String)
+	 */
+	public List<PropertyConstraint> getDependentPropertyConstraints(String propertyName) {
+		List<PropertyConstraint> dependents = dependentConstraints.get(propertyName);
+		if (dependents == null) {
+			dependents = new ArrayList<PropertyConstraint>();
+			for (Iterator i = iterator(); i.hasNext();) {
+				PropertyConstraint constraint = (PropertyConstraint)i.next();
+				if (constraint.isDependentOn(propertyName)) {
+					dependents.add(constraint);
+				}
+			}
+			dependents = dependents.isEmpty() ? Collections.<PropertyConstraint>emptyList() : Collections
+					.unmodifiableList(dependents);
+			dependentConstraints.put(propertyName, dependents);
+		}
+		return dependents;
+	}
+
 	/**
 	 * Adds a value constraint for the specified property.
 	 *
@@ -26,15 +26,17 @@ import org.valkyriercp.rules.Rules;
 import org.valkyriercp.rules.RulesSource;
 import org.valkyriercp.rules.constraint.ConstraintsAccessor;
 import org.valkyriercp.rules.constraint.property.PropertyConstraint;
-import org.valkyriercp.util.ClassUtils;
+import org.valkyriercp.util.ClassHierarchyMap;
 
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 
 /**
  * A default rules source implementation which is simply a in-memory registry for bean validation rules backed by a map.
+ * <p>
+ * Rules can be looked up from any thread, e.g. by a {@link org.valkyriercp.binding.validation.SnapshotValidator}
+ * validating in the background while the EDT validates the same bean types.
  *
  * @author Keith Donald
  */
@@ -43,9 +45,9 @@ public class DefaultRulesSource extends ConstraintsAccessor implements RulesSour
 
     private static final String DEFAULT_CONTEXT_ID = "default";
 
-    private Cache<String, Map> ruleContexts = new Cache2kBuilder<String, Map>() {
+    private Cache<String, ClassHierarchyMap<Rules>> ruleContexts = new Cache2kBuilder<String, ClassHierarchyMap<Rules>>() {
     }
-            .loader(key -> new HashMap())
+            .loader(key -> new ClassHierarchyMap<Rules>())
             .build();
 
     /**
@@ -64,11 +66,10 @@ public class DefaultRulesSource extends ConstraintsAccessor implements RulesSour
     public void addRules(String contextId, Rules rules) {
         Assert.notNull(contextId, "contextId should not be null");
         Assert.notNull(rules, "rules should not be null");
-        Map context = getRuleContext(contextId);
-        context.put(rules.getDomainObjectType(), rules);
+        getRuleContext(contextId).put(rules.getDomainObjectType(), rules);
     }
 
-    private Map getRuleContext(String contextId) {
+    private ClassHierarchyMap<Rules> getRuleContext(String contextId) {
         return ruleContexts.get(contextId);
     }
 
@@ -84,7 +85,7 @@ public class DefaultRulesSource extends ConstraintsAccessor implements RulesSour
         if (logger.isDebugEnabled()) {
             logger.debug("Configuring rules in source...");
         }
-        getRuleContext(DEFAULT_CONTEXT_ID).clear();
+        ruleContexts.remove(DEFAULT_CONTEXT_ID);
         for (Iterator i = rules.iterator(); i.hasNext(); ) {
             addRules((Rules) i.next());
         }
@@ -99,7 +100,7 @@ public class DefaultRulesSource extends ConstraintsAccessor implements RulesSour
         if (!StringUtils.hasText(contextId)) {
             contextId = DEFAULT_CONTEXT_ID;
         }
-        return (Rules) ClassUtils.getValueFromMapForClass(beanType, getRuleContext(contextId));
+        return getRuleContext(contextId).get(beanType);
     }
 
     public PropertyConstraint getPropertyConstraint(Class bean, String propertyName) {
@@ -118,6 +119,29 @@ public class DefaultRulesSource extends ConstraintsAccessor implements RulesSour
         return null;
     }
 
+    /**
+     * Return the constraints of the rules for the given bean type and context that depend on the given property, in
+     * the order they were added to the rules.
+     *
+     * @param beanType
+     *            the bean class
+     * @param propertyName
+     *            the property that has changed
+     * @param contextId
+     *            the rules context id, <code>null</code> for the default context
+     * @return the dependent constraints, or an empty list if no rules exist.
+     * @see Rules#getDependentPropertyConstraints(String)
+     */
+    public List<PropertyConstraint> getDependentPropertyConstraints(Class beanType, String propertyName,
+            String contextId) {
+        Assert.notNull(propertyName, "propertyName should not be null");
+        Rules rules = getRules(beanType, contextId);
+        if (rules == null) {
+            return Collections.emptyList();
+        }
+        return rules.getDependentPropertyConstraints(propertyName);
+    }
+
     public static RulesSource create(Rules... rules) {
         DefaultRulesSource rulesSource = new DefaultRulesSource();
         for (Rules rule : rules) {
@@ -27,13 +27,17 @@ import org.springframework.util.StringUtils;
 import org.valkyriercp.core.Authorizable;
 import org.valkyriercp.security.SecurityController;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Abstract implementation of a security controller. Derived classes are responsible for
@@ -41,7 +45,12 @@ import java.util.List;
  * used by the decision manager to make the decision to authorize the controlled objects.
  * <p>
  * This class uses weak references to track the the controlled objects, so they can be
- * GCed as needed.
+ * GCed as needed. References to collected objects are purged using a reference queue.
+ * <p>
+ * When the authentication changes, the decision is made once and installed on each
+ * live controlled object through {@link #updateControlledObject(Authorizable, boolean)}.
+ * Subclasses can customize how the decision is installed on the whole set using
+ * {@link #updateControlledObjects(List, boolean)}.
  * <p>
  * If a subclass provides a new post-processor action, then it needs to call
  * {@link #registerPostProcessorAction(String)} during construction and it must override
@@ -66,8 +75,11 @@ public abstract class AbstractSecurityController implements SecurityController,
 
     private final Log logger = LogFactory.getLog(getClass());
 
-    /** The list of objects that we are controlling. */
-    private List controlledObjects = new ArrayList();
+    /** Weak references to the objects that we are controlling, in registration order. */
+    private Set<Reference<Authorizable>> controlledObjects = new LinkedHashSet<Reference<Authorizable>>();
+
+    /** Receives the references of controlled objects that have been GCed. */
+    private final ReferenceQueue<Authorizable> collectedObjects = new ReferenceQueue<Authorizable>();
 
     /** The AccessDecisionManager used to make the "authorize" decision. */
     private AccessDecisionManager accessDecisionManager;
@@ -75,12 +87,29 @@ public abstract class AbstractSecurityController implements SecurityController,
     /** Last known authentication token. */
     private Authentication lastAuthentication = null;
 
+    /** Decisions made for the last known authentication token. */
+    private final AccessDecisionCache decisionCache = new AccessDecisionCache();
+
     /** All registered post-processor action ids. */
     private HashSet postProcessorActionIds = new HashSet();
 
     /** Comma-separated list of post-processor actions to run. */
     private String postProcessorActionsToRun = "";
 
+    /** The post-processor actions to run, parsed from postProcessorActionsToRun. */
+    private String[] postProcessorActionIdsToRun = new String[0];
+
+    /** The setVisible(boolean) method of controlled object classes, null if absent. */
+    private static final ClassValue<Method> setVisibleMethods = new ClassValue<Method>() {
+        protected Method computeValue(Class<?> type) {
+            try {
+                return type.getMethod( "setVisible", new Class[] { boolean.class } );
+            } catch( NoSuchMethodException e ) {
+                return null;
+            }
+        }
+    };
+
     public static final String VISIBLE_TRACKS_AUTHORIZED_ACTION = "visibleTracksAuthorized";
 
     /**
@@ -113,6 +142,7 @@ public abstract class AbstractSecurityController implements SecurityController,
      */
     public void setPostProcessorActionsToRun(String actions) {
         postProcessorActionsToRun = actions;
+        postProcessorActionIdsToRun = StringUtils.commaDelimitedListToStringArray( actions );
     }
 
     /**
@@ -153,17 +183,49 @@ public abstract class AbstractSecurityController implements SecurityController,
         boolean authorize = shouldAuthorize( getLastAuthentication() );
 
         // Install the decision
-        for( Iterator iter = controlledObjects.iterator(); iter.hasNext(); ) {
-            WeakReference ref = (WeakReference) iter.next();
+        updateControlledObjects( getControlledObjects(), authorize );
+    }
 
-            Authorizable controlledObject = (Authorizable) ref.get();
+    /**
+     * Get the controlled objects that have not been GCed.
+     * @return the live controlled objects, in registration order
+     */
+    protected List<Authorizable> getControlledObjects() {
+        purgeCollectedObjects();
+        List<Authorizable> objects = new ArrayList<Authorizable>( controlledObjects.size() );
+        for( Iterator<Reference<Authorizable>> iter = controlledObjects.iterator(); iter.hasNext(); ) {
+            Authorizable controlledObject = iter.next().get();
             if( controlledObject == null ) {
-                // Has been GCed, remove from our list
+                // Has been GCed but not enqueued yet
                 iter.remove();
             } else {
-                updateControlledObject( controlledObject, authorize );
+                objects.add( controlledObject );
             }
         }
+        return objects;
+    }
+
+    /**
+     * Remove the references of GCed controlled objects.
+     */
+    private void purgeCollectedObjects() {
+        Reference<? extends Authorizable> ref;
+        while( (ref = collectedObjects.poll()) != null ) {
+            controlledObjects.remove( ref );
+        }
+    }
+
+    /**
+     * Update all controlled objects based on the same authorization state. By default
+     * the state is installed on each object using
+     * {@link #updateControlledObject(Authorizable, boolean)}.
+     * @param controlledObjects Objects being controlled
+     * @param authorized state to install on the controlled objects
+     */
+    protected void updateControlledObjects(List<Authorizable> controlledObjects, boolean authorized) {
+        for( Authorizable controlledObject : controlledObjects ) {
+            updateControlledObject( controlledObject, authorized );
+        }
     }
 
     /**
@@ -185,12 +247,11 @@ public abstract class AbstractSecurityController implements SecurityController,
      * @param authorized state that has been installed on controlledObject
      */
     protected void runPostProcessorActions(Object controlledObject, boolean authorized) {
-        String actions = getPostProcessorActionsToRun();
         if( logger.isDebugEnabled() ) {
-            logger.debug( "Run post-processors actions: " + actions );
+            logger.debug( "Run post-processors actions: " + getPostProcessorActionsToRun() );
         }
 
-        String[] actionIds = StringUtils.commaDelimitedListToStringArray(actions);
+        String[] actionIds = postProcessorActionIdsToRun;
         for( int i = 0; i < actionIds.length; i++ ) {
             doPostProcessorAction( actionIds[i], controlledObject, authorized );
         }
@@ -216,12 +277,14 @@ public abstract class AbstractSecurityController implements SecurityController,
      * authorization.
      */
     private void setVisibilityOnControlledObject(Object controlledObject, boolean authorized) {
-        try {
-            Method method = controlledObject.getClass().getMethod( "setVisible", new Class[] { boolean.class } );
-            method.invoke( controlledObject, new Object[] { new Boolean( authorized ) } );
-        } catch( NoSuchMethodException ignored ) {
+        Method method = setVisibleMethods.get( controlledObject.getClass() );
+        if( method == null ) {
             System.out.println( "NO setVisible method on object: " + controlledObject );
             // No method to call, so nothing to do
+            return;
+        }
+        try {
+            method.invoke( controlledObject, new Object[] { Boolean.valueOf( authorized ) } );
         } catch( IllegalAccessException ignored ) {
             logger.error( "Could not call setVisible", ignored );
         } catch( InvocationTargetException ignored ) {
@@ -242,6 +305,10 @@ public abstract class AbstractSecurityController implements SecurityController,
             if( authentication != null ) {
                 Object securedObject = getSecuredObject();
                 List<ConfigAttribute> cad = getConfigAttributeDefinition( securedObject );
+                if( securedObject == null && cad != null ) {
+                    // The decision only depends on the authentication and the attributes
+                    return decisionCache.decide( getAccessDecisionManager(), authentication, cad );
+                }
                 getAccessDecisionManager().decide( authentication, getSecuredObject(), cad );
                 authorize = true;
             }
@@ -257,6 +324,7 @@ public abstract class AbstractSecurityController implements SecurityController,
      */
     public void setAccessDecisionManager(AccessDecisionManager accessDecisionManager) {
         this.accessDecisionManager = accessDecisionManager;
+        clearDecisionCache();
     }
 
     /**
@@ -272,7 +340,7 @@ public abstract class AbstractSecurityController implements SecurityController,
      * @param secured List of objects to control
      */
     public void setControlledObjects(List secured) {
-        controlledObjects = new ArrayList( secured.size() );
+        controlledObjects = new LinkedHashSet<Reference<Authorizable>>( secured.size() * 2 );
 
         // Convert to weak references and validate the object types
         for( Iterator iter = secured.iterator(); iter.hasNext(); ) {
@@ -302,7 +370,8 @@ public abstract class AbstractSecurityController implements SecurityController,
      * @param controlledObject to add
      */
     private void addAndPrepareControlledObject(Authorizable controlledObject) {
-        controlledObjects.add( new WeakReference( controlledObject ) );
+        purgeCollectedObjects();
+        controlledObjects.add( new WeakReference<Authorizable>( controlledObject, collectedObjects ) );
 
         // Properly configure the new object
         boolean authorize = shouldAuthorize( getLastAuthentication() );
@@ -317,10 +386,9 @@ public abstract class AbstractSecurityController implements SecurityController,
     public Object removeControlledObject(Authorizable object) {
         Object removed = null;
 
-        for( Iterator iter = controlledObjects.iterator(); iter.hasNext(); ) {
-            WeakReference ref = (WeakReference) iter.next();
-
-            Authorizable controlledObject = (Authorizable) ref.get();
+        purgeCollectedObjects();
+        for( Iterator<Reference<Authorizable>> iter = controlledObjects.iterator(); iter.hasNext(); ) {
+            Authorizable controlledObject = iter.next().get();
             if( controlledObject == null ) {
                 // Has been GCed, remove from our list
                 iter.remove();
@@ -334,6 +402,16 @@ public abstract class AbstractSecurityController implements SecurityController,
 
     protected void setLastAuthentication(Authentication authentication) {
         lastAuthentication = authentication;
+        clearDecisionCache();
+    }
+
+    /**
+     * Discard the access decisions remembered for the last known authentication
+     * token. Subclasses must call this when the outcome of a decision changes for
+     * another reason than a new authentication token or decision manager.
+     */
+    protected void clearDecisionCache() {
+        decisionCache.clear();
     }
 
     protected Authentication getLastAuthentication() {
@@ -346,7 +424,7 @@ public abstract class AbstractSecurityController implements SecurityController,
      */
     public void afterPropertiesSet() throws Exception {
         // Ensure that all post-processors requested are registered
-        String[] actions = StringUtils.commaDelimitedListToStringArray( getPostProcessorActionsToRun() );
+        String[] actions = postProcessorActionIdsToRun;
         for( int i = 0; i < actions.length; i++ ) {
             if( !postProcessorActionIds.contains( actions[i] ) ) {
                 throw new IllegalArgumentException( "Requested post-processor action '" + actions[i]
@@ -0,0 +1,90 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.security.support;
+
+import org.springframework.security.access.AccessDecisionManager;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.ConfigAttribute;
+import org.springframework.security.core.Authentication;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Remembers the decisions of an {@link AccessDecisionManager} for one
+ * authentication, keyed by the config attributes that were checked. Only
+ * decisions without a secured object can be cached, as those depend on nothing
+ * but the authentication and the attributes.
+ * <p>
+ * The cache holds the decisions of a single authentication: asking for a
+ * decision with another authentication instance discards the decisions made
+ * so far. Security controllers also clear it when the authentication token or
+ * the decision manager is replaced.
+ */
+class AccessDecisionCache {
+
+    private Authentication authentication;
+
+    private final Map<List<ConfigAttribute>, Boolean> decisions = new HashMap<List<ConfigAttribute>, Boolean>();
+
+    /**
+     * Returns whether the given authentication is granted access for the given
+     * attributes, asking the decision manager only the first time a set of
+     * attributes is seen for this authentication.
+     *
+     * @param accessDecisionManager the manager making the decision.
+     * @param authentication the authentication, not <code>null</code>.
+     * @param attributes the attributes to check, not <code>null</code>.
+     * @return <code>true</code> if the decision manager did not deny access.
+     */
+    public synchronized boolean decide(AccessDecisionManager accessDecisionManager, Authentication authentication,
+            List<ConfigAttribute> attributes) {
+        if (this.authentication != authentication) {
+            decisions.clear();
+            this.authentication = authentication;
+        }
+        Boolean decision = decisions.get(attributes);
+        if (decision == null) {
+            try {
+                accessDecisionManager.decide(authentication, null, attributes);
+                decision = Boolean.TRUE;
+            }
+            catch (AccessDeniedException e) {
+                decision = Boolean.FALSE;
+            }
+            // copy the key, the attributes list may be changed by its owner
+            decisions.put(new ArrayList<ConfigAttribute>(attributes), decision);
+        }
+        return decision.booleanValue();
+    }
+
+    /**
+     * Discards all cached decisions.
+     */
+    public synchronized void clear() {
+        decisions.clear();
+        authentication = null;
+    }
+
+    /**
+     * @return the number of cached decisions.
+     */
+    public synchronized int size() {
+        return decisions.size();
+    }
+}
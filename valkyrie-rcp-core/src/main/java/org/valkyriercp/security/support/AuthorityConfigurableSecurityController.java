@@ -18,7 +18,6 @@ package org.valkyriercp.security.support;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.security.access.AccessDecisionManager;
-import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.ConfigAttribute;
 import org.springframework.security.access.SecurityConfig;
 import org.springframework.security.core.Authentication;
@@ -59,6 +58,9 @@ public class AuthorityConfigurableSecurityController implements SecurityControll
     /** Last known authentication token. */
     private Authentication lastAuthentication = null;
 
+    /** Decisions made for the last known authentication token. */
+    private final AccessDecisionCache decisionCache = new AccessDecisionCache();
+
     /** Specific configAttributeDefinition overriding others. */
     private  List<ConfigAttribute> configAttributeDefinition;
 
@@ -71,6 +73,18 @@ public class AuthorityConfigurableSecurityController implements SecurityControll
     protected void setLastAuthentication(Authentication authentication)
     {
         lastAuthentication = authentication;
+        clearDecisionCache();
+    }
+
+    /**
+     * Discard the access decisions remembered for the last authentication
+     * token. Decisions are cached per distinct set of config attributes, so
+     * this must be called when the outcome of a decision changes for another
+     * reason than a new authentication token or decision manager.
+     */
+    protected void clearDecisionCache()
+    {
+        decisionCache.clear();
     }
 
     /**
@@ -155,28 +169,17 @@ public class AuthorityConfigurableSecurityController implements SecurityControll
     protected boolean shouldAuthorize(Authentication authentication, Authorizable controlledObject)
     {
         Assert.state(getAccessDecisionManager() != null, "The AccessDecisionManager can not be null!");
-        boolean authorize = false;
-        try
+        if (authentication != null)
         {
-            if (authentication != null)
+            List<ConfigAttribute> cad = getConfigAttributeDefinition(controlledObject);
+            if (cad != null)
             {
-                List<ConfigAttribute> cad = getConfigAttributeDefinition(controlledObject);
-                if (cad != null)
-                {
-                    getAccessDecisionManager().decide(authentication, null, cad);
-                }
-                authorize = true;
-            } else {
-                // authentication must be disabled, going through
-                authorize = true;
+                // Objects sharing the same attributes get the same decision
+                return decisionCache.decide(getAccessDecisionManager(), authentication, cad);
             }
         }
-        catch (AccessDeniedException e)
-        {
-            authorize = false;
-            // This means the secured objects should not be authorized
-        }
-        return authorize;
+        // no attributes to check or authentication must be disabled, going through
+        return true;
     }
 
     /**
@@ -240,6 +243,7 @@ public class AuthorityConfigurableSecurityController implements SecurityControll
     public void setAccessDecisionManager(AccessDecisionManager accessDecisionManager)
     {
         this.accessDecisionManager = accessDecisionManager;
+        clearDecisionCache();
     }
 
     /**
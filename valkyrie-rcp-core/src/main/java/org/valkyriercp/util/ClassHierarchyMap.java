@@ -0,0 +1,201 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A thread-safe map with {@link Class} keys that returns the value registered
+ * for the closest match in the type hierarchy of the requested class.
+ * <p>
+ * The search order is the one of
+ * {@link ClassUtils#getValueFromMapForClass(Class, Map)}: the class itself,
+ * then its interfaces and their super interfaces, then each superclass
+ * followed by its interfaces. The outcome of a search, including the absence
+ * of a match, is remembered per class using a {@link ClassValue}, so the
+ * hierarchy of a class is walked once. Registering or removing a value
+ * discards the remembered outcomes. {@link #getAll(Class)} returns every
+ * match in the same order, for lookups that need to fall back to farther
+ * matches.
+ *
+ * @param <V> the type of the values.
+ */
+public class ClassHierarchyMap<V> {
+
+    private final Map<Class<?>, V> values = new ConcurrentHashMap<Class<?>, V>();
+
+    private volatile int version;
+
+    private final ClassValue<Resolution<V>> resolutions = new ClassValue<Resolution<V>>() {
+        protected Resolution<V> computeValue(Class<?> type) {
+            // read the version first, a concurrent change makes the result stale
+            int resolvedVersion = version;
+            return new Resolution<V>(resolvedVersion, resolve(type));
+        }
+    };
+
+    private final ClassValue<Resolution<List<V>>> allResolutions = new ClassValue<Resolution<List<V>>>() {
+        protected Resolution<List<V>> computeValue(Class<?> type) {
+            int resolvedVersion = version;
+            return new Resolution<List<V>>(resolvedVersion, resolveAll(type));
+        }
+    };
+
+    /**
+     * Register a value for the given class and, unless overridden, its
+     * subclasses and implementations.
+     */
+    public synchronized void put(Class<?> type, V value) {
+        values.put(type, value);
+        version++;
+    }
+
+    /**
+     * Remove the value registered for exactly the given class.
+     */
+    public synchronized V remove(Class<?> type) {
+        V removed = values.remove(type);
+        version++;
+        return removed;
+    }
+
+    /**
+     * Returns the value registered for the given class or the closest match
+     * in its type hierarchy.
+     *
+     * @return <code>null</code> if the type is <code>null</code> or no match
+     * exists.
+     */
+    public V get(Class<?> type) {
+        if (type == null) {
+            return null;
+        }
+        Resolution<V> resolution = resolutions.get(type);
+        if (resolution.version != version) {
+            resolutions.remove(type);
+            resolution = resolutions.get(type);
+        }
+        return resolution.value;
+    }
+
+    /**
+     * Returns the values registered for the given class and its type
+     * hierarchy, closest match first.
+     *
+     * @return an unmodifiable list, empty if the type is <code>null</code> or
+     * no match exists.
+     */
+    public List<V> getAll(Class<?> type) {
+        if (type == null) {
+            return Collections.emptyList();
+        }
+        Resolution<List<V>> resolution = allResolutions.get(type);
+        if (resolution.version != version) {
+            allResolutions.remove(type);
+            resolution = allResolutions.get(type);
+        }
+        return resolution.value;
+    }
+
+    /**
+     * @return an unmodifiable view of the registered values.
+     */
+    public Map<Class<?>, V> asMap() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    private V resolve(Class<?> type) {
+        V value = values.get(type);
+        if (value == null) {
+            value = resolveInterfaces(type);
+        }
+        for (Class<?> superClass = type.getSuperclass(); value == null && superClass != null; superClass = superClass
+                .getSuperclass()) {
+            value = values.get(superClass);
+            if (value == null) {
+                value = resolveInterfaces(superClass);
+            }
+        }
+        return value;
+    }
+
+    private V resolveInterfaces(Class<?> type) {
+        Class<?>[] interfaces = type.getInterfaces();
+        for (int i = 0; i < interfaces.length; i++) {
+            V value = values.get(interfaces[i]);
+            if (value != null) {
+                return value;
+            }
+        }
+        // not found, but now check the parent interfaces
+        for (int i = 0; i < interfaces.length; i++) {
+            V value = resolveInterfaces(interfaces[i]);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private List<V> resolveAll(Class<?> type) {
+        Set<Class<?>> matches = new LinkedHashSet<Class<?>>();
+        for (Class<?> superClass = type; superClass != null; superClass = superClass.getSuperclass()) {
+            addMatch(superClass, matches);
+            addInterfaceMatches(superClass, matches);
+        }
+        List<V> all = new ArrayList<V>(matches.size());
+        for (Class<?> match : matches) {
+            V value = values.get(match);
+            if (value != null) {
+                all.add(value);
+            }
+        }
+        return Collections.unmodifiableList(all);
+    }
+
+    private void addInterfaceMatches(Class<?> type, Set<Class<?>> matches) {
+        Class<?>[] interfaces = type.getInterfaces();
+        for (int i = 0; i < interfaces.length; i++) {
+            addMatch(interfaces[i], matches);
+        }
+        for (int i = 0; i < interfaces.length; i++) {
+            addInterfaceMatches(interfaces[i], matches);
+        }
+    }
+
+    private void addMatch(Class<?> type, Set<Class<?>> matches) {
+        if (values.containsKey(type)) {
+            matches.add(type);
+        }
+    }
+
+    private static final class Resolution<V> {
+        private final int version;
+
+        private final V value;
+
+        Resolution(int version, V value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+}
@@ -248,11 +248,13 @@ public class ClassUtils {
 	 * When doing the search, it looks for the most exact match it can, giving
 	 * preference to interfaces over class inheritance. As a performance
 	 * optimiziation, if it finds a match it stores the derived match in the map
-	 * so it does not have to be derived again.
+	 * so it does not have to be derived again. Misses are searched again on
+	 * every call; {@link ClassHierarchyMap} remembers both.
 	 *
 	 * @param typeClass the kind of class to search for
 	 * @param classMap the map where the keys are of type Class
 	 * @return null only if it can't find any match
+	 * @see ClassHierarchyMap
 	 */
 	public static Object getValueFromMapForClass(final Class typeClass, final Map classMap) {
 		Object val = classMap.get(typeClass);
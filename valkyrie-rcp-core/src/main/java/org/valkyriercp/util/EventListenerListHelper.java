@@ -22,8 +22,10 @@ import org.springframework.core.style.ToStringCreator;
 import org.springframework.util.Assert;
 
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
@@ -55,6 +57,10 @@ import java.util.NoSuchElementException;
  * 	fooListeners.fire(&quot;fooYYY&quot;);
  * }
  * </pre>
+ * <p>
+ * Listener methods are invoked through {@link MethodHandle}s. Each helper
+ * instance keeps the handles it has used, so firing an event with up to two
+ * arguments does not allocate nor look up the listener method again.
  *
  * @author Oliver Hutchison
  * @author Keith Donald
@@ -91,7 +97,9 @@ public class EventListenerListHelper implements Serializable {
         }
     };
 
-    private static final Cache<MethodCacheKey, Method> methodCache = new Cache2kBuilder<MethodCacheKey, Method>() {
+    private static final Dispatcher[] NO_DISPATCHERS = new Dispatcher[0];
+
+    private static final Cache<MethodCacheKey, MethodHandle> methodCache = new Cache2kBuilder<MethodCacheKey, MethodHandle>() {
     }
             .loader(key -> {
                 Method fireMethod = null;
@@ -114,13 +122,19 @@ public class EventListenerListHelper implements Serializable {
                             + "] does not implement method [" + key.methodName + "] with [" + key.numParams
                             + "] parameters.");
                 }
-                return fireMethod;
+                return createInvoker(fireMethod);
             }).build();
 
     private final Class listenerClass;
 
     private volatile Object[] listeners = EMPTY_OBJECT_ARRAY;
 
+    /**
+     * The handles resolved by this instance, copy on write. Not serialized,
+     * may be <code>null</code> after deserialization.
+     */
+    private transient volatile Dispatcher[] dispatchers = NO_DISPATCHERS;
+
     /**
      * Create new <code>EventListenerListHelper</code> instance that will maintain
      * a list of event listeners of the given class.
@@ -200,8 +214,16 @@ public class EventListenerListHelper implements Serializable {
      * list exists on the listener class maintained by this list helper.
      */
     public void fire(String methodName) {
-        if (listeners != EMPTY_OBJECT_ARRAY) {
-            fireEventByReflection(methodName, EMPTY_OBJECT_ARRAY);
+        Object[] listenersCopy = listeners;
+        if (listenersCopy != EMPTY_OBJECT_ARRAY) {
+            MethodHandle invoker = getDispatcher(methodName, 0).invoker;
+            for (int i = 0; i < listenersCopy.length; i++) {
+                try {
+                    invoker.invokeExact(listenersCopy[i]);
+                } catch (Throwable t) {
+                    throw new EventBroadcastException("Exception thrown by listener", t);
+                }
+            }
         }
     }
 
@@ -216,8 +238,16 @@ public class EventListenerListHelper implements Serializable {
      * parameter exists on the listener class managed by this list helper.
      */
     public void fire(String methodName, Object arg) {
-        if (listeners != EMPTY_OBJECT_ARRAY) {
-            fireEventByReflection(methodName, new Object[]{arg});
+        Object[] listenersCopy = listeners;
+        if (listenersCopy != EMPTY_OBJECT_ARRAY) {
+            MethodHandle invoker = getDispatcher(methodName, 1).invoker;
+            for (int i = 0; i < listenersCopy.length; i++) {
+                try {
+                    invoker.invokeExact(listenersCopy[i], arg);
+                } catch (Throwable t) {
+                    throw new EventBroadcastException("Exception thrown by listener", t);
+                }
+            }
         }
     }
 
@@ -233,8 +263,16 @@ public class EventListenerListHelper implements Serializable {
      * exists on the listener class managed by this list helper.
      */
     public void fire(String methodName, Object arg1, Object arg2) {
-        if (listeners != EMPTY_OBJECT_ARRAY) {
-            fireEventByReflection(methodName, new Object[]{arg1, arg2});
+        Object[] listenersCopy = listeners;
+        if (listenersCopy != EMPTY_OBJECT_ARRAY) {
+            MethodHandle invoker = getDispatcher(methodName, 2).invoker;
+            for (int i = 0; i < listenersCopy.length; i++) {
+                try {
+                    invoker.invokeExact(listenersCopy[i], arg1, arg2);
+                } catch (Throwable t) {
+                    throw new EventBroadcastException("Exception thrown by listener", t);
+                }
+            }
         }
     }
 
@@ -249,8 +287,28 @@ public class EventListenerListHelper implements Serializable {
      * parameters exists on the listener class managed by this list helper.
      */
     public void fire(String methodName, Object[] args) {
-        if (listeners != EMPTY_OBJECT_ARRAY) {
-            fireEventByReflection(methodName, args);
+        switch (args.length) {
+            case 0:
+                fire(methodName);
+                break;
+            case 1:
+                fire(methodName, args[0]);
+                break;
+            case 2:
+                fire(methodName, args[0], args[1]);
+                break;
+            default:
+                Object[] listenersCopy = listeners;
+                if (listenersCopy != EMPTY_OBJECT_ARRAY) {
+                    MethodHandle spreader = getDispatcher(methodName, args.length).getSpreader();
+                    for (int i = 0; i < listenersCopy.length; i++) {
+                        try {
+                            spreader.invokeExact(listenersCopy[i], args);
+                        } catch (Throwable t) {
+                            throw new EventBroadcastException("Exception thrown by listener", t);
+                        }
+                    }
+                }
         }
     }
 
@@ -365,27 +423,79 @@ public class EventListenerListHelper implements Serializable {
     }
 
     /**
-     * Invokes the method with the given name on each of the listeners registered with this list
-     * helper. The given arguments are passed to each method invocation.
+     * Returns the dispatcher for the given listener method, resolving its
+     * handle on first use by this instance.
      *
      * @param methodName The name of the method to be invoked on the listeners.
-     * @param eventArgs The arguments that will be passed to each method invocation. The number
-     * of arguments is also used to determine the method to be invoked.
-     *
-     * @throws EventBroadcastException if an error occurs invoking the event method on any of the
-     * listeners.
+     * @param numParams The number of arguments of the method.
      */
-    private void fireEventByReflection(String methodName, Object[] eventArgs) {
-        Method eventMethod = methodCache.get(new MethodCacheKey(listenerClass, methodName, eventArgs.length));
-        Object[] listenersCopy = listeners;
-        for (int i = 0; i < listenersCopy.length; i++) {
-            try {
-                eventMethod.invoke(listenersCopy[i], eventArgs);
-            } catch (InvocationTargetException e) {
-                throw new EventBroadcastException("Exception thrown by listener", e.getCause());
-            } catch (IllegalAccessException e) {
-                throw new EventBroadcastException("Unable to invoke listener", e);
+    private Dispatcher getDispatcher(String methodName, int numParams) {
+        Dispatcher[] current = dispatchers;
+        if (current == null) {
+            current = NO_DISPATCHERS;
+        }
+        for (int i = 0; i < current.length; i++) {
+            Dispatcher dispatcher = current[i];
+            if (dispatcher.numParams == numParams
+                    && (dispatcher.methodName == methodName || dispatcher.methodName.equals(methodName))) {
+                return dispatcher;
+            }
+        }
+
+        Dispatcher dispatcher = new Dispatcher(methodName, numParams,
+                methodCache.get(new MethodCacheKey(listenerClass, methodName, numParams)));
+        // a concurrent registration may be lost, it will simply be resolved again
+        Dispatcher[] tmp = new Dispatcher[current.length + 1];
+        System.arraycopy(current, 0, tmp, 0, current.length);
+        tmp[current.length] = dispatcher;
+        dispatchers = tmp;
+        return dispatcher;
+    }
+
+    /**
+     * Creates a handle invoking the given listener method with the generic
+     * type <code>(Object listener, Object... args)void</code>.
+     */
+    private static MethodHandle createInvoker(Method method) throws IllegalAccessException {
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.publicLookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            // non-public listener interface, reflection needs the same
+            method.setAccessible(true);
+            handle = MethodHandles.lookup().unreflect(method);
+        }
+        return handle.asType(MethodType.genericMethodType(method.getParameterTypes().length + 1).changeReturnType(
+                void.class));
+    }
+
+    /**
+     * A resolved listener method.
+     */
+    private static final class Dispatcher {
+        private final String methodName;
+
+        private final int numParams;
+
+        private final MethodHandle invoker;
+
+        private volatile MethodHandle spreader;
+
+        private Dispatcher(String methodName, int numParams, MethodHandle invoker) {
+            this.methodName = methodName;
+            this.numParams = numParams;
+            this.invoker = invoker;
+        }
+
+        /**
+         * Returns the invoker taking its arguments as an array:
+         * <code>(Object listener, Object[] args)void</code>.
+         */
+        private MethodHandle getSpreader() {
+            if (spreader == null) {
+                spreader = invoker.asSpreader(Object[].class, numParams);
             }
+            return spreader;
         }
     }
 
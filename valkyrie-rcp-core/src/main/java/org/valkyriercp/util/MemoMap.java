@@ -0,0 +1,103 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.util;
+
+import org.springframework.util.Assert;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * An unbounded memo table which creates its values on first access using a
+ * loader. Meant for the small per-instance tables of commands, form models and
+ * validation results, where a full cache with eviction, expiry and statistics
+ * costs far more to construct and keep than the few entries it holds.
+ * <p>
+ * The loader is called without holding a lock, so it may access this map
+ * recursively, e.g. to obtain the value of a parent key. If two threads load
+ * the same key concurrently, the first value stored is returned to both.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ */
+public class MemoMap<K, V> {
+
+    private final ConcurrentMap<K, V> values = new ConcurrentHashMap<K, V>(4);
+
+    private final Function<? super K, ? extends V> loader;
+
+    /**
+     * Create a memo map.
+     *
+     * @param loader creates the value for a key, may return <code>null</code>
+     * which is returned but not stored.
+     */
+    public MemoMap(Function<? super K, ? extends V> loader) {
+        Assert.notNull(loader, "loader should not be null");
+        this.loader = loader;
+    }
+
+    /**
+     * Returns the value for the given key, creating it if necessary.
+     */
+    public V get(K key) {
+        V value = values.get(key);
+        if (value == null) {
+            value = loader.apply(key);
+            if (value != null) {
+                V existing = values.putIfAbsent(key, value);
+                if (existing != null) {
+                    value = existing;
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Returns the value for the given key if it has been created, without
+     * calling the loader.
+     */
+    public V peek(K key) {
+        return values.get(key);
+    }
+
+    public boolean containsKey(K key) {
+        return values.containsKey(key);
+    }
+
+    public V remove(K key) {
+        return values.remove(key);
+    }
+
+    public void clear() {
+        values.clear();
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * @return an unmodifiable live view of the created values.
+     */
+    public Map<K, V> asMap() {
+        return Collections.unmodifiableMap(values);
+    }
+}
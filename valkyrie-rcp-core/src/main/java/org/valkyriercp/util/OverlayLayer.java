@@ -0,0 +1,566 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.util;
+
+import org.valkyriercp.component.MayHaveMessagableTab;
+import org.valkyriercp.component.MessagableTabbedPane;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.*;
+import java.util.*;
+import java.util.List;
+
+/**
+ * A single component in the {@link JLayeredPane} of a window which holds and
+ * paints all overlays attached to components of that window.
+ * <p>
+ * Unlike {@link OverlayHelper}, which adds a clipping panel to the layered pane
+ * for every overlay and repositions each overlay separately, the overlays of a
+ * window share this layer. Changes to the bounds or the hierarchy of a target
+ * component only revalidate the layer, so all overlays are positioned in one
+ * layout pass however many targets changed. Painting looks up the overlays in
+ * a grid index of their bounds, so only the overlays intersecting the repainted
+ * area are painted, each clipped to the visible part of its target.
+ * <p>
+ * The layer only covers the union of the visible parts of its overlays and is
+ * hidden when no overlay is visible. A layer covering the whole window would
+ * make Swing consider every component partially obscured, so every repaint
+ * would start from the layered pane and scrolling by blitting would be
+ * disabled.
+ *
+ * @see #attachOverlay(JComponent, JComponent, int, int, int)
+ */
+public class OverlayLayer extends JComponent implements SwingConstants
+{
+    private static final String LAYER_PROPERTY = OverlayLayer.class.getName() + ".layer";
+
+    private static final String OVERLAYS_PROPERTY = OverlayLayer.class.getName() + ".overlays";
+
+    private static final int CELL_SIZE = 128;
+
+    private static final TargetChangeHandler targetChangeHandler = new TargetChangeHandler();
+
+    private final List<AttachedOverlay> overlays = new ArrayList<AttachedOverlay>();
+
+    /**
+     * Grid index of the visible overlays, in the coordinates of the layered
+     * pane.
+     */
+    private final Map<Long, List<AttachedOverlay>> cells = new HashMap<Long, List<AttachedOverlay>>();
+
+    private final JLayeredPane layeredPane;
+
+    /**
+     * Attaches an overlay to the specified component. The overlay is shown on
+     * the shared layer of the window containing <code>overlayTarget</code>
+     * from the moment the target is added to a window.
+     *
+     * @param overlay       the overlay component
+     * @param overlayTarget the component over which <code>overlay</code> will be
+     *                      attached
+     * @param center        position relative to <code>overlayTarget</code> that overlay
+     *                      should be centered. May be one of the
+     *                      <code>SwingConstants</code> compass positions or
+     *                      <code>SwingConstants.CENTER</code>.
+     * @param xOffset       x offset from center
+     * @param yOffset       y offset from center
+     * @see SwingConstants
+     */
+    public static void attachOverlay(JComponent overlay, JComponent overlayTarget, int center, int xOffset, int yOffset)
+    {
+        switch (center)
+        {
+            case SwingConstants.CENTER:
+            case SwingConstants.NORTH:
+            case SwingConstants.NORTH_EAST:
+            case SwingConstants.EAST:
+            case SwingConstants.SOUTH_EAST:
+            case SwingConstants.SOUTH:
+            case SwingConstants.SOUTH_WEST:
+            case SwingConstants.WEST:
+            case SwingConstants.NORTH_WEST:
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown value for center [" + center + "]");
+        }
+        List<AttachedOverlay> targetOverlays = getAttachedOverlays(overlayTarget);
+        if (targetOverlays == null)
+        {
+            targetOverlays = new ArrayList<AttachedOverlay>(2);
+            overlayTarget.putClientProperty(OVERLAYS_PROPERTY, targetOverlays);
+            overlayTarget.addHierarchyListener(targetChangeHandler);
+            overlayTarget.addHierarchyBoundsListener(targetChangeHandler);
+            overlayTarget.addComponentListener(targetChangeHandler);
+        }
+        targetOverlays.add(new AttachedOverlay(overlay, overlayTarget, center, xOffset, yOffset));
+        updateTarget(overlayTarget);
+    }
+
+    /**
+     * Returns the overlay layer of the given layered pane, adding one to the
+     * layered pane if it has none yet.
+     */
+    public static OverlayLayer getOverlayLayer(JLayeredPane layeredPane)
+    {
+        OverlayLayer layer = (OverlayLayer) layeredPane.getClientProperty(LAYER_PROPERTY);
+        if (layer == null)
+        {
+            layer = new OverlayLayer(layeredPane);
+            layeredPane.putClientProperty(LAYER_PROPERTY, layer);
+            layeredPane.add(layer, JLayeredPane.PALETTE_LAYER);
+        }
+        return layer;
+    }
+
+    private static List<AttachedOverlay> getAttachedOverlays(JComponent overlayTarget)
+    {
+        return (List<AttachedOverlay>) overlayTarget.getClientProperty(OVERLAYS_PROPERTY);
+    }
+
+    /**
+     * Moves the overlays of the given target to the layer of its current
+     * window and schedules a layout of that layer.
+     */
+    static void updateTarget(JComponent overlayTarget)
+    {
+        List<AttachedOverlay> targetOverlays = getAttachedOverlays(overlayTarget);
+        if (targetOverlays == null)
+        {
+            return;
+        }
+        JRootPane rootPane = SwingUtilities.getRootPane(overlayTarget);
+        OverlayLayer layer = rootPane != null ? getOverlayLayer(rootPane.getLayeredPane()) : null;
+        for (AttachedOverlay attachedOverlay : targetOverlays)
+        {
+            if (attachedOverlay.layer != layer)
+            {
+                if (attachedOverlay.layer != null)
+                {
+                    attachedOverlay.layer.removeOverlay(attachedOverlay);
+                }
+                if (layer != null)
+                {
+                    layer.addOverlay(attachedOverlay);
+                }
+            }
+        }
+        if (layer != null)
+        {
+            layer.revalidate();
+        }
+    }
+
+    protected OverlayLayer(JLayeredPane layeredPane)
+    {
+        this.layeredPane = layeredPane;
+        setLayout(null);
+        setOpaque(false);
+        // shown by the first layout with a visible overlay
+        setVisible(false);
+    }
+
+    void addOverlay(AttachedOverlay attachedOverlay)
+    {
+        JComponent overlay = attachedOverlay.overlay;
+        if (overlay.getParent() != null)
+        {
+            overlay.getParent().remove(overlay);
+        }
+        if (overlay instanceof MayHaveMessagableTab)
+        {
+            linkMessagableTabs(attachedOverlay);
+        }
+        attachedOverlay.layer = this;
+        overlays.add(attachedOverlay);
+        add(overlay);
+    }
+
+    void removeOverlay(AttachedOverlay attachedOverlay)
+    {
+        overlays.remove(attachedOverlay);
+        attachedOverlay.layer = null;
+        if (attachedOverlay.overlay.getParent() == this)
+        {
+            remove(attachedOverlay.overlay);
+        }
+        if (!attachedOverlay.clip.isEmpty())
+        {
+            layeredPane.repaint(attachedOverlay.clip);
+        }
+        attachedOverlay.clip.setBounds(0, 0, 0, 0);
+        revalidate();
+    }
+
+    private void linkMessagableTabs(AttachedOverlay attachedOverlay)
+    {
+        Component overlayChild = attachedOverlay.target;
+        Container parent = overlayChild.getParent();
+        while (parent != null && !(parent instanceof JRootPane))
+        {
+            if (parent instanceof MessagableTabbedPane)
+            {
+                MessagableTabbedPane tabbedPane = (MessagableTabbedPane) parent;
+                ((MayHaveMessagableTab) attachedOverlay.overlay).setMessagableTab(tabbedPane,
+                        tabbedPane.indexOfComponent(overlayChild));
+            }
+            overlayChild = parent;
+            parent = parent.getParent();
+        }
+    }
+
+    /**
+     * Positions all overlays of this layer, rebuilds the index used for
+     * painting and shrinks the layer to the union of the visible parts of the
+     * overlays. Hides the layer when no overlay is visible.
+     */
+    public void doLayout()
+    {
+        cells.clear();
+        Rectangle union = null;
+        for (AttachedOverlay attachedOverlay : overlays)
+        {
+            Rectangle oldClip = new Rectangle(attachedOverlay.clip);
+            attachedOverlay.position(layeredPane);
+            if (!oldClip.equals(attachedOverlay.clip))
+            {
+                // the layer itself may move, so repaint through the layered pane
+                if (!oldClip.isEmpty())
+                {
+                    layeredPane.repaint(oldClip);
+                }
+                if (!attachedOverlay.clip.isEmpty())
+                {
+                    layeredPane.repaint(attachedOverlay.clip);
+                }
+            }
+            if (!attachedOverlay.clip.isEmpty())
+            {
+                index(attachedOverlay);
+                union = union == null ? new Rectangle(attachedOverlay.clip) : union.union(attachedOverlay.clip);
+            }
+        }
+        if (union == null)
+        {
+            setVisible(false);
+            return;
+        }
+        if (!union.equals(getBounds()))
+        {
+            setBounds(union);
+        }
+        for (AttachedOverlay attachedOverlay : overlays)
+        {
+            // hidden overlays get an empty size so they can't receive events
+            Rectangle bounds = attachedOverlay.clip.isEmpty() ? new Rectangle() : new Rectangle(
+                    attachedOverlay.bounds);
+            if (!bounds.isEmpty())
+            {
+                bounds.translate(-union.x, -union.y);
+            }
+            if (!bounds.equals(attachedOverlay.overlay.getBounds()))
+            {
+                attachedOverlay.overlay.setBounds(bounds);
+            }
+        }
+        setVisible(true);
+    }
+
+    private void index(AttachedOverlay attachedOverlay)
+    {
+        Rectangle clip = attachedOverlay.clip;
+        int lastColumn = cellOf(clip.x + clip.width - 1);
+        int lastRow = cellOf(clip.y + clip.height - 1);
+        for (int column = cellOf(clip.x); column <= lastColumn; column++)
+        {
+            for (int row = cellOf(clip.y); row <= lastRow; row++)
+            {
+                Long key = cellKey(column, row);
+                List<AttachedOverlay> cell = cells.get(key);
+                if (cell == null)
+                {
+                    cell = new ArrayList<AttachedOverlay>(4);
+                    cells.put(key, cell);
+                }
+                cell.add(attachedOverlay);
+            }
+        }
+    }
+
+    private static int cellOf(int coordinate)
+    {
+        return Math.floorDiv(coordinate, CELL_SIZE);
+    }
+
+    private static Long cellKey(int column, int row)
+    {
+        return Long.valueOf(((long) column << 32) | (row & 0xffffffffL));
+    }
+
+    /**
+     * Returns the overlays whose visible part intersects the given area, in
+     * the order they were added to this layer.
+     *
+     * @param area the area in the coordinates of the layered pane.
+     */
+    protected Collection<AttachedOverlay> getOverlaysIn(Rectangle area)
+    {
+        Set<AttachedOverlay> found = new LinkedHashSet<AttachedOverlay>();
+        int lastColumn = cellOf(area.x + area.width - 1);
+        int lastRow = cellOf(area.y + area.height - 1);
+        for (int column = cellOf(area.x); column <= lastColumn; column++)
+        {
+            for (int row = cellOf(area.y); row <= lastRow; row++)
+            {
+                List<AttachedOverlay> cell = cells.get(cellKey(column, row));
+                if (cell != null)
+                {
+                    for (AttachedOverlay attachedOverlay : cell)
+                    {
+                        if (attachedOverlay.clip.intersects(area))
+                        {
+                            found.add(attachedOverlay);
+                        }
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * The overlays may overlap each other, so Swing has to paint them through
+     * this layer.
+     */
+    public boolean isOptimizedDrawingEnabled()
+    {
+        return false;
+    }
+
+    protected void paintChildren(Graphics g)
+    {
+        Rectangle area = g.getClipBounds();
+        if (area == null)
+        {
+            area = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        if (area.isEmpty())
+        {
+            return;
+        }
+        area.translate(getX(), getY());
+        for (AttachedOverlay attachedOverlay : getOverlaysIn(area))
+        {
+            JComponent overlay = attachedOverlay.overlay;
+            if (overlay.isVisible())
+            {
+                Graphics overlayGraphics = g.create();
+                try
+                {
+                    overlayGraphics.clipRect(attachedOverlay.clip.x - getX(), attachedOverlay.clip.y - getY(),
+                            attachedOverlay.clip.width, attachedOverlay.clip.height);
+                    overlayGraphics.translate(overlay.getX(), overlay.getY());
+                    overlay.paint(overlayGraphics);
+                }
+                finally
+                {
+                    overlayGraphics.dispose();
+                }
+            }
+        }
+    }
+
+    /**
+     * An overlay attached to a target component.
+     */
+    static final class AttachedOverlay
+    {
+        final JComponent overlay;
+
+        final JComponent target;
+
+        private final int center;
+
+        private final int xOffset;
+
+        private final int yOffset;
+
+        /**
+         * The bounds of the overlay in the coordinates of the layered pane.
+         */
+        final Rectangle bounds = new Rectangle();
+
+        /**
+         * The visible part of the overlay in the coordinates of the layered
+         * pane.
+         */
+        final Rectangle clip = new Rectangle();
+
+        OverlayLayer layer;
+
+        AttachedOverlay(JComponent overlay, JComponent target, int center, int xOffset, int yOffset)
+        {
+            this.overlay = overlay;
+            this.target = target;
+            this.center = center;
+            this.xOffset = xOffset;
+            this.yOffset = yOffset;
+        }
+
+        /**
+         * Computes the bounds and the visible part of the overlay in the
+         * coordinates of the given layered pane.
+         */
+        void position(JLayeredPane layeredPane)
+        {
+            if (!target.isShowing() || !overlay.isVisible())
+            {
+                bounds.setBounds(0, 0, 0, 0);
+                clip.setBounds(0, 0, 0, 0);
+                return;
+            }
+            int centerX = xOffset;
+            int centerY = yOffset;
+            switch (center)
+            {
+                case SwingConstants.CENTER:
+                case SwingConstants.EAST:
+                case SwingConstants.WEST:
+                    centerY += target.getHeight() / 2;
+                    break;
+                case SwingConstants.SOUTH:
+                case SwingConstants.SOUTH_EAST:
+                case SwingConstants.SOUTH_WEST:
+                    centerY += target.getHeight();
+                    break;
+            }
+            switch (center)
+            {
+                case SwingConstants.CENTER:
+                case SwingConstants.NORTH:
+                case SwingConstants.SOUTH:
+                    centerX += target.getWidth() / 2;
+                    break;
+                case SwingConstants.EAST:
+                case SwingConstants.NORTH_EAST:
+                case SwingConstants.SOUTH_EAST:
+                    centerX += target.getWidth();
+                    break;
+            }
+            Dimension size = overlay.getPreferredSize();
+            bounds.setBounds(centerX - (size.width / 2), centerY - (size.height / 2), size.width, size.height);
+            Rectangle visibleRect = findLargestVisibleRectFor(bounds);
+            Point origin = SwingUtilities.convertPoint(target, 0, 0, layeredPane);
+            bounds.translate(origin.x, origin.y);
+            if (visibleRect != null)
+            {
+                visibleRect.translate(origin.x, origin.y);
+                clip.setBounds(bounds.intersection(visibleRect));
+                if (clip.isEmpty())
+                {
+                    clip.setBounds(0, 0, 0, 0);
+                }
+            }
+            else
+            {
+                clip.setBounds(0, 0, 0, 0);
+            }
+        }
+
+        /**
+         * Searches up the component hierarchy to find the largest possible
+         * visible rect that can enclose the entire rectangle.
+         */
+        private Rectangle findLargestVisibleRectFor(Rectangle overlayRect)
+        {
+            Rectangle visibleRect = null;
+            int curxoffset = 0;
+            int curyoffset = 0;
+            JComponent comp = target;
+            do
+            {
+                visibleRect = comp.getVisibleRect();
+                visibleRect.x -= curxoffset;
+                visibleRect.y -= curyoffset;
+                if (visibleRect.contains(overlayRect))
+                {
+                    return visibleRect;
+                }
+                curxoffset += comp.getX();
+                curyoffset += comp.getY();
+
+                comp = comp.getParent() instanceof JComponent ? (JComponent) comp.getParent() : null;
+            }
+            while (comp != null && !(comp instanceof JViewport) && !(comp instanceof JScrollPane));
+            return visibleRect;
+        }
+    }
+
+    /**
+     * Listens to the targets of all overlays, so a single listener instance is
+     * shared by every target.
+     */
+    static final class TargetChangeHandler implements HierarchyListener, HierarchyBoundsListener, ComponentListener
+    {
+        public void hierarchyChanged(HierarchyEvent e)
+        {
+            if ((e.getChangeFlags() & (HierarchyEvent.PARENT_CHANGED | HierarchyEvent.SHOWING_CHANGED)) != 0)
+            {
+                updateTarget((JComponent) e.getComponent());
+            }
+        }
+
+        public void ancestorMoved(HierarchyEvent e)
+        {
+            revalidateLayerOf(e.getComponent());
+        }
+
+        public void ancestorResized(HierarchyEvent e)
+        {
+            revalidateLayerOf(e.getComponent());
+        }
+
+        public void componentHidden(ComponentEvent e)
+        {
+            revalidateLayerOf(e.getComponent());
+        }
+
+        public void componentMoved(ComponentEvent e)
+        {
+            revalidateLayerOf(e.getComponent());
+        }
+
+        public void componentResized(ComponentEvent e)
+        {
+            revalidateLayerOf(e.getComponent());
+        }
+
+        public void componentShown(ComponentEvent e)
+        {
+            revalidateLayerOf(e.getComponent());
+        }
+
+        private void revalidateLayerOf(Component target)
+        {
+            List<AttachedOverlay> targetOverlays = getAttachedOverlays((JComponent) target);
+            if (targetOverlays != null && !targetOverlays.isEmpty() && targetOverlays.get(0).layer != null)
+            {
+                // the layout of the layer is coalesced by the RepaintManager
+                targetOverlays.get(0).layer.revalidate();
+            }
+        }
+    }
+}
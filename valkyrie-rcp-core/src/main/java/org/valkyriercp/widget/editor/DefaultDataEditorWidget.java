@@ -36,9 +36,13 @@ import org.valkyriercp.widget.editor.provider.DataProvider;
 import org.valkyriercp.widget.editor.provider.DataProviderEvent;
 import org.valkyriercp.widget.editor.provider.DataProviderListener;
 import org.valkyriercp.widget.editor.provider.MaximumRowsExceededException;
+import org.valkyriercp.widget.editor.provider.PagedDataProvider;
+import org.valkyriercp.widget.editor.provider.PagedList;
+import org.valkyriercp.widget.editor.provider.StreamingDataProvider;
 import org.valkyriercp.widget.table.TableDescription;
 import org.valkyriercp.widget.table.TableWidget;
 import org.valkyriercp.widget.table.glazedlists.GlazedListTableWidget;
+import org.valkyriercp.widget.table.paged.PagedTableWidget;
 
 import javax.swing.*;
 import java.beans.PropertyChangeEvent;
@@ -100,6 +104,8 @@ public class DefaultDataEditorWidget extends AbstractDataEditorWidget implements
 
 	private ListRetrievingWorker listWorker;
 
+	private final RowChunkStream rowChunkStream = new RowChunkStream();
+
 	private final MaximumRowsExceededMessage maximumRowsExceededMessage = new MaximumRowsExceededMessage();
 
 	protected static class MaximumRowsExceededMessage extends
@@ -127,10 +133,16 @@ public class DefaultDataEditorWidget extends AbstractDataEditorWidget implements
 	 * {@link SwingWorker} which retrieves list from
 	 * back-end and fills table with result.
 	 * <p/>
+	 * When the {@link DataProvider} is a {@link StreamingDataProvider}, the
+	 * chunks are published as they arrive and added to the table in batches by
+	 * {@link #process(List)}. The worker stays the active one until its
+	 * {@link RowChunkStream#END_OF_STREAM} chunk has been processed.
+	 * <p/>
 	 * Remember to set criteria and launch this class in a synchronised block.
 	 */
 	private class ListRetrievingWorker extends
-			SwingWorker<List<Object>, String> {
+			SwingWorker<List<Object>, List<Object>> implements
+			RowChunkStream.Target {
 
 		/**
 		 * The filter criteria to use.
@@ -142,9 +154,68 @@ public class DefaultDataEditorWidget extends AbstractDataEditorWidget implements
 		 */
 		protected Map<String, Object> parameters;
 
+		private final boolean streaming = getDataProvider() instanceof StreamingDataProvider;
+
+		/**
+		 * Generation of the chunks of this worker.
+		 */
+		private final int generation;
+
+		/**
+		 * @param generation
+		 *            the generation returned by {@link RowChunkStream#start()},
+		 *            which must be called on the EDT.
+		 */
+		ListRetrievingWorker(int generation) {
+			this.generation = generation;
+		}
+
 		@Override
 		protected List<Object> doInBackground() throws Exception {
-			return getDataProvider().getList(filterCriteria);
+			DataProvider provider = getDataProvider();
+			if (streaming) {
+				Iterator<List> chunks = ((StreamingDataProvider) provider)
+						.getListChunks(filterCriteria);
+				while (chunks.hasNext() && !isCancelled()) {
+					publish((List<Object>) chunks.next());
+				}
+				if (!isCancelled()) {
+					publish(RowChunkStream.END_OF_STREAM);
+				}
+				return null;
+			}
+			if (provider instanceof PagedDataProvider) {
+				// only count the rows, pages are fetched when shown
+				PagedDataProvider pagedProvider = (PagedDataProvider) provider;
+				return new PagedList(pagedProvider, filterCriteria,
+						pagedProvider.getRowCount(filterCriteria));
+			}
+			return provider.getList(filterCriteria);
+		}
+
+		/**
+		 * Add the published chunks to the table. Chunks published since the
+		 * last call arrive together, so the table receives one batch per call.
+		 */
+		@Override
+		protected void process(List<List<Object>> chunks) {
+			rowChunkStream.process(generation, chunks, this);
+		}
+
+		public void firstRowsReceived(List<Object> rows) {
+			setRows(rows);
+		}
+
+		public void moreRowsReceived(List<Object> rows) {
+			getTableWidget().addRows(rows);
+		}
+
+		public void streamEnded(boolean rowsReceived) {
+			try {
+				streamingListWorkerDone(rowsReceived, parameters);
+			} finally {
+				listWorkerFinished(this);
+			}
 		}
 
 		/**
@@ -152,8 +223,16 @@ public class DefaultDataEditorWidget extends AbstractDataEditorWidget implements
 		 */
 		@Override
 		protected void done() {
+			boolean awaitStreamEnd = false;
 			try {
-				listWorkerDone(get(), parameters);
+				List<Object> rows = get();
+				if (streaming) {
+					// the last chunks may still be queued, the stream ends
+					// with the END_OF_STREAM chunk
+					awaitStreamEnd = true;
+				} else {
+					listWorkerDone(rows, parameters);
+				}
 			} catch (InterruptedException e) {
 				// someone cancelled the retrieval?
 			} catch (ExecutionException e) {
@@ -177,15 +256,23 @@ public class DefaultDataEditorWidget extends AbstractDataEditorWidget implements
 					throw new RuntimeException(e);
 				}
 			} finally {
-				getApplicationConfig().windowManager().getActiveWindow()
-						.getStatusBar().getProgressMonitor().done();
-				// getFilterForm().getCommitCommand().setEnabled(true);
-				// getRefreshCommand().setEnabled(true);
-				listWorker = null;
+				if (!awaitStreamEnd) {
+					listWorkerFinished(this);
+				}
 			}
 		}
 	}
 
+	private void listWorkerFinished(ListRetrievingWorker worker) {
+		getApplicationConfig().windowManager().getActiveWindow()
+				.getStatusBar().getProgressMonitor().done();
+		// getFilterForm().getCommitCommand().setEnabled(true);
+		// getRefreshCommand().setEnabled(true);
+		if (listWorker == worker) {
+			listWorker = null;
+		}
+	}
+
 	/**
 	 * This method is called on the gui-thread when the worker ends. As default
 	 * it will check for the PARAMETER_DEFAULT_SELECTED_OBJECT parameter in the
@@ -218,6 +305,36 @@ public class DefaultDataEditorWidget extends AbstractDataEditorWidget implements
 		}
 	}
 
+	/**
+	 * This method is called on the gui-thread when a worker streaming from a
+	 * {@link StreamingDataProvider} ends. The rows are already in the table, so
+	 * only the default selection is applied, unless the user already selected
+	 * a row while the rows were coming in.
+	 * 
+	 * @param rowsReceived
+	 *            <code>false</code> if the provider returned no rows at all.
+	 * @param parameters
+	 *            a map of parameters specific to this listWorker instance.
+	 */
+	protected void streamingListWorkerDone(boolean rowsReceived,
+			Map<String, Object> parameters) {
+		if (!rowsReceived) {
+			setRows(Collections.EMPTY_LIST);
+		}
+		validationResultsModel.removeMessage(maximumRowsExceededMessage);
+		if (getTableWidget().isEmpty() || getTableWidget().hasSelection()) {
+			return;
+		}
+
+		Object defaultSelectedObject = parameters
+				.get(PARAMETER_DEFAULT_SELECTED_OBJECT);
+		if (defaultSelectedObject == null) {
+			getTableWidget().selectRowObject(0, null);
+		} else {
+			getTableWidget().selectRowObject(defaultSelectedObject, null);
+		}
+	}
+
 	/**
 	 * Default constructor. Add id, {@link DataProvider},
 	 * {@link org.valkyriercp.form.Form}s and listView later.
@@ -369,7 +486,10 @@ public class DefaultDataEditorWidget extends AbstractDataEditorWidget implements
 
 	/**
 	 * Create a {@link GlazedListTableWidget} based on the given
-	 * {@link TableDescription} to be used as listView.
+	 * {@link TableDescription} to be used as listView. When the
+	 * {@link DataProvider} is a {@link PagedDataProvider}, a
+	 * {@link PagedTableWidget} is created instead so rows are fetched page by
+	 * page.
 	 * 
 	 * @param tableDescription
 	 *            description of columns used to create the table.
@@ -379,8 +499,13 @@ public class DefaultDataEditorWidget extends AbstractDataEditorWidget implements
 		tableWidget = new CachedCallable<TableWidget>() {
 			@Override
 			protected TableWidget doCall() {
-				TableWidget tableWidget = new GlazedListTableWidget(null,
-						tableDescription);
+				TableWidget tableWidget;
+				if (getDataProvider() instanceof PagedDataProvider) {
+					tableWidget = new PagedTableWidget(tableDescription);
+				} else {
+					tableWidget = new GlazedListTableWidget(null,
+							tableDescription);
+				}
 				tableWidget.addSelectionObserver(tableSelectionObserver);
 				return tableWidget;
 			}
@@ -472,6 +597,8 @@ public class DefaultDataEditorWidget extends AbstractDataEditorWidget implements
 	 * <li>when done, set list and execute additional code taking the parameters
 	 * into account</li>
 	 * </ul>
+	 * Must be called on the EDT, like the status bar and filter form it
+	 * updates, as the worker starts a new chunk stream generation here.
 	 * 
 	 * @param parameters
 	 *            a number of parameters that can influence this run. Should be
@@ -493,7 +620,7 @@ public class DefaultDataEditorWidget extends AbstractDataEditorWidget implements
 			// getFilterForm().getCommitCommand().setEnabled(false);
 			// getRefreshCommand().setEnabled(false);
 
-			listWorker = new ListRetrievingWorker();
+			listWorker = new ListRetrievingWorker(rowChunkStream.start());
 			if (dataProvider.supportsFiltering()) {
 				if (parameters.containsKey(PARAMETER_FILTER)) {
 					setFilterModel(parameters.get(PARAMETER_FILTER));
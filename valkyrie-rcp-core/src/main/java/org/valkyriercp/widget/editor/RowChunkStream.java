@@ -0,0 +1,110 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.widget.editor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Hands the chunks of rows published by the list workers of a
+ * {@link DefaultDataEditorWidget} to their target, on the EDT.
+ * <p/>
+ * A {@link javax.swing.SwingWorker} may deliver published chunks after
+ * <code>done()</code> has been called, so a worker publishes
+ * {@link #END_OF_STREAM} as its last chunk and the stream ends when that
+ * chunk is processed. Every worker starts a new generation, chunks of an
+ * older generation that arrive after a newer worker started are dropped.
+ * <p/>
+ * WARNING: not threadsafe, use on the EDT only.
+ */
+class RowChunkStream {
+
+	/**
+	 * Marks the end of a stream, compared by identity.
+	 */
+	static final List<Object> END_OF_STREAM = Collections.unmodifiableList(new ArrayList<Object>());
+
+	/**
+	 * Receives the rows of one stream.
+	 */
+	interface Target {
+
+		/**
+		 * Called with the rows of the first non-empty batch.
+		 */
+		void firstRowsReceived(List<Object> rows);
+
+		/**
+		 * Called with the rows of every following batch.
+		 */
+		void moreRowsReceived(List<Object> rows);
+
+		/**
+		 * Called once when {@link #END_OF_STREAM} is processed.
+		 *
+		 * @param rowsReceived
+		 *            <code>false</code> if the stream had no rows at all.
+		 */
+		void streamEnded(boolean rowsReceived);
+	}
+
+	private int generation;
+
+	private boolean rowsReceived;
+
+	/**
+	 * Start a new stream, chunks of older streams are dropped from now on.
+	 *
+	 * @return the generation to pass along with the chunks of the new stream.
+	 */
+	int start() {
+		rowsReceived = false;
+		return ++generation;
+	}
+
+	/**
+	 * Hand the chunks delivered by one <code>process()</code> call to the
+	 * target as a single batch.
+	 */
+	void process(int chunkGeneration, List<List<Object>> chunks, Target target) {
+		if (chunkGeneration != generation) {
+			return;
+		}
+		List<Object> batch = new ArrayList<Object>();
+		boolean ended = false;
+		for (List<Object> chunk : chunks) {
+			if (chunk == END_OF_STREAM) {
+				ended = true;
+				break;
+			}
+			batch.addAll(chunk);
+		}
+		if (!batch.isEmpty()) {
+			if (!rowsReceived) {
+				rowsReceived = true;
+				target.firstRowsReceived(batch);
+			} else {
+				target.moreRowsReceived(batch);
+			}
+		}
+		if (ended) {
+			// nothing of this generation may follow the end of the stream
+			generation++;
+			target.streamEnded(rowsReceived);
+		}
+	}
+}
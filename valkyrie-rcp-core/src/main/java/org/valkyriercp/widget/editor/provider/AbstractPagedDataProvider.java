@@ -0,0 +1,60 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.widget.editor.provider;
+
+import java.util.List;
+
+/**
+ * Base implementation for {@link PagedDataProvider}s.
+ */
+public abstract class AbstractPagedDataProvider extends AbstractDataProvider implements PagedDataProvider
+{
+
+    public static final int DEFAULT_PAGE_SIZE = 200;
+
+    private int pageSize = DEFAULT_PAGE_SIZE;
+
+    public AbstractPagedDataProvider()
+    {
+        super("abstractPagedDataProvider");
+    }
+
+    public AbstractPagedDataProvider(String id)
+    {
+        super(id);
+    }
+
+    public int getPageSize()
+    {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize)
+    {
+        if (pageSize < 1)
+            throw new IllegalArgumentException("pageSize must be positive, got " + pageSize);
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Returns a {@link PagedList} that only loads the pages that are accessed. Only the row count is
+     * fetched from the back-end when calling this method.
+     */
+    public List getList(Object criteria)
+    {
+        return new PagedList(this, criteria, getRowCount(criteria));
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.widget.editor.provider;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Base implementation for {@link StreamingDataProvider}s.
+ */
+public abstract class AbstractStreamingDataProvider extends AbstractDataProvider implements StreamingDataProvider
+{
+
+    public AbstractStreamingDataProvider()
+    {
+        super("abstractStreamingDataProvider");
+    }
+
+    public AbstractStreamingDataProvider(String id)
+    {
+        super(id);
+    }
+
+    /**
+     * Collects all chunks returned by {@link #getListChunks(Object)} in one list.
+     */
+    public List getList(Object criteria)
+    {
+        List<Object> rows = new ArrayList<Object>();
+        Iterator<List> chunks = getListChunks(criteria);
+        while (chunks.hasNext())
+        {
+            rows.addAll(chunks.next());
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.widget.editor.provider;
+
+import java.util.List;
+
+/**
+ * <p>
+ * A {@link DataProvider} that can deliver its result set in pages. Instead of fetching the complete list
+ * with {@link #getList(Object)}, a consumer first asks for the total number of rows matching the criteria
+ * and then fetches only the pages it actually needs to show.
+ * </p>
+ *
+ * <p>
+ * A {@link org.valkyriercp.widget.editor.DefaultDataEditorWidget} using a PagedDataProvider will not load
+ * the whole list, so the {@link MaximumRowsExceededException} guard is not needed for such providers.
+ * </p>
+ *
+ * @see PagedList
+ */
+public interface PagedDataProvider extends DataProvider
+{
+
+    /**
+     * Count the rows matching the given criteria.
+     *
+     * @param criteria
+     *            the filter criteria, may be <code>null</code>.
+     * @return the total number of rows available.
+     */
+    public int getRowCount(Object criteria);
+
+    /**
+     * Fetch one page of rows. The order of the rows must be stable between calls with the same criteria.
+     *
+     * @param criteria
+     *            the filter criteria, may be <code>null</code>.
+     * @param offset
+     *            index of the first row to return.
+     * @param pageSize
+     *            maximum number of rows to return.
+     * @return the rows from <code>offset</code> up to <code>offset + pageSize</code>.
+     */
+    public List getPage(Object criteria, int offset, int pageSize);
+
+    /**
+     * @return the number of rows to fetch in one call to {@link #getPage(Object, int, int)}.
+     */
+    public int getPageSize();
+
+}
@@ -0,0 +1,245 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.widget.editor.provider;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <p>
+ * Read-only list view on the result of a {@link PagedDataProvider}. Its size is the row count reported by
+ * the provider, but rows are only fetched page by page when they are accessed. At most
+ * {@link #getMaxCachedPages()} pages are kept in memory, the least recently used page is dropped first.
+ * </p>
+ *
+ * <p>
+ * {@link #get(int)} loads a missing page synchronously. Code running on the EDT should use
+ * {@link #isLoaded(int)} and {@link #getIfLoaded(int)} and fetch missing pages with
+ * {@link #loadPage(int)} on a background thread instead.
+ * </p>
+ */
+public class PagedList extends AbstractList<Object>
+{
+    public static final int DEFAULT_MAX_CACHED_PAGES = 10;
+
+    private final PagedDataProvider dataProvider;
+
+    private final Object criteria;
+
+    private final int size;
+
+    private final int pageSize;
+
+    private final int maxCachedPages;
+
+    private final Map<Integer, List> pages;
+
+    public PagedList(PagedDataProvider dataProvider, Object criteria, int size)
+    {
+        this(dataProvider, criteria, size, DEFAULT_MAX_CACHED_PAGES);
+    }
+
+    public PagedList(PagedDataProvider dataProvider, Object criteria, int size, final int maxCachedPages)
+    {
+        this.dataProvider = dataProvider;
+        this.criteria = criteria;
+        this.size = size;
+        this.pageSize = Math.max(1, dataProvider.getPageSize());
+        this.maxCachedPages = maxCachedPages;
+        this.pages = new LinkedHashMap<Integer, List>(maxCachedPages + 1, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List> eldest)
+            {
+                return size() > maxCachedPages;
+            }
+        };
+    }
+
+    public PagedDataProvider getDataProvider()
+    {
+        return dataProvider;
+    }
+
+    public Object getCriteria()
+    {
+        return criteria;
+    }
+
+    public int getPageSize()
+    {
+        return pageSize;
+    }
+
+    public int getMaxCachedPages()
+    {
+        return maxCachedPages;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * @return the page index that holds the given row.
+     */
+    public int getPageIndex(int rowIndex)
+    {
+        return rowIndex / pageSize;
+    }
+
+    public boolean isLoaded(int rowIndex)
+    {
+        synchronized (pages)
+        {
+            return pages.containsKey(getPageIndex(rowIndex));
+        }
+    }
+
+    /**
+     * Returns the row if its page is in memory, <code>null</code> otherwise. Never goes to the back-end.
+     */
+    public Object getIfLoaded(int rowIndex)
+    {
+        rangeCheck(rowIndex);
+        List page;
+        synchronized (pages)
+        {
+            page = pages.get(getPageIndex(rowIndex));
+        }
+        return page == null ? null : getFromPage(page, rowIndex);
+    }
+
+    public Object get(int rowIndex)
+    {
+        rangeCheck(rowIndex);
+        List page;
+        synchronized (pages)
+        {
+            page = pages.get(getPageIndex(rowIndex));
+        }
+        if (page == null)
+            page = loadPage(getPageIndex(rowIndex));
+        return getFromPage(page, rowIndex);
+    }
+
+    /**
+     * Fetch the given page from the {@link PagedDataProvider} and keep it in the page cache. This method
+     * calls the back-end and may be used from any thread.
+     *
+     * @return the rows of the page.
+     */
+    public List loadPage(int pageIndex)
+    {
+        List fetched = dataProvider.getPage(criteria, pageIndex * pageSize, pageSize);
+        List page = fetched == null ? new ArrayList() : new ArrayList(fetched);
+        synchronized (pages)
+        {
+            pages.put(pageIndex, page);
+        }
+        return page;
+    }
+
+    /**
+     * Replace a row in a loaded page, used when the provider reports an update of an entity.
+     *
+     * @return <code>true</code> if the old object was found in one of the loaded pages.
+     */
+    public boolean replaceLoaded(Object oldObject, Object newObject)
+    {
+        synchronized (pages)
+        {
+            for (List page : pages.values())
+            {
+                int index = page.indexOf(oldObject);
+                if (index != -1)
+                {
+                    page.set(index, newObject);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Searches the loaded pages only.
+     *
+     * @return the row index of the given object or -1 if it is not in memory.
+     */
+    public int indexOfLoaded(Object o)
+    {
+        synchronized (pages)
+        {
+            for (Map.Entry<Integer, List> entry : pages.entrySet())
+            {
+                int index = entry.getValue().indexOf(o);
+                if (index != -1)
+                    return entry.getKey() * pageSize + index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Never goes to the back-end.
+     *
+     * @return a copy of the rows of the loaded pages, in row order.
+     */
+    public List<Object> getLoadedRows()
+    {
+        Map<Integer, List> loaded;
+        synchronized (pages)
+        {
+            // a TreeMap orders by page index without touching the LRU order
+            loaded = new TreeMap<Integer, List>(pages);
+        }
+        List<Object> rows = new ArrayList<Object>();
+        for (List page : loaded.values())
+        {
+            rows.addAll(page);
+        }
+        return rows;
+    }
+
+    /**
+     * Drop all loaded pages.
+     */
+    public void clearPages()
+    {
+        synchronized (pages)
+        {
+            pages.clear();
+        }
+    }
+
+    private Object getFromPage(List page, int rowIndex)
+    {
+        int offset = rowIndex % pageSize;
+        return offset < page.size() ? page.get(offset) : null;
+    }
+
+    private void rangeCheck(int rowIndex)
+    {
+        if (rowIndex < 0 || rowIndex >= size)
+            throw new IndexOutOfBoundsException("Index: " + rowIndex + ", Size: " + size);
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.widget.editor.provider;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * <p>
+ * A {@link DataProvider} that delivers its result set incrementally. Each call to {@link Iterator#next()}
+ * returns the next chunk of rows as soon as the back-end has produced it, so a consumer can show the first
+ * rows while the rest of the query is still running.
+ * </p>
+ *
+ * <p>
+ * The iterator is consumed on a background thread by
+ * {@link org.valkyriercp.widget.editor.DefaultDataEditorWidget}, which adds the chunks to its table in
+ * batches on the EDT.
+ * </p>
+ */
+public interface StreamingDataProvider extends DataProvider
+{
+
+    /**
+     * Start retrieving the rows matching the given criteria.
+     *
+     * @param criteria
+     *            the filter criteria, may be <code>null</code>.
+     * @return an iterator over consecutive chunks of rows. Blocking in {@link Iterator#hasNext()} or
+     *         {@link Iterator#next()} while waiting for the back-end is allowed.
+     */
+    public Iterator<List> getListChunks(Object criteria);
+
+}
@@ -127,8 +127,24 @@ public class ClassUtils
         return new String(chars);
     }
 
+    /**
+     * Create an {@link Accessor} for the given getter. A {@link MethodHandleAccessor} is used if the getter
+     * is accessible through method handles, otherwise a reflection based {@link SimpleAccessor}.
+     * 
+     * @param readMethod
+     *            the getter of the property.
+     * @return an Accessor calling the getter.
+     */
+    public static Accessor getAccessorForReadMethod(Method readMethod)
+    {
+        Accessor accessor = MethodHandleAccessor.forReadMethod(readMethod);
+        return accessor != null ? accessor : new SimpleAccessor(readMethod);
+    }
+
     /**
      * Create an {@link Accessor} for the given property. A property may be nested using the dot character.
+     * Getters are called through method handles when possible, see
+     * {@link #getAccessorForReadMethod(Method)}.
      * 
      * @param clazz
      *            the type containing the property.
@@ -145,7 +161,7 @@ public class ClassUtils
             String secondPart = propertyName.substring(splitPoint + 1);
             return new NestedAccessor(clazz, firstPart, secondPart);
         }
-        return new SimpleAccessor(clazz, propertyName);
+        return getAccessorForReadMethod(getReadMethod(clazz, propertyName));
     }
 
     /**
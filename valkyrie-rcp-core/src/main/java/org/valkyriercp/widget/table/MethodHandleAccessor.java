@@ -0,0 +1,157 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.widget.table;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
+/**
+ * {@link Accessor} that avoids {@link Method#invoke(Object, Object...)} for each call. Where possible the
+ * getter is bound to a {@link Function} generated by the {@link LambdaMetafactory}, which the JIT can
+ * inline like a direct call. Otherwise a {@link MethodHandle} is used.
+ *
+ * Instances are created through {@link #forReadMethod(Method)}, which returns <code>null</code> when the
+ * getter cannot be accessed through a {@link MethodHandles.Lookup}. Use
+ * {@link ClassUtils#getAccessorForReadMethod(Method)} to get the reflective fallback in that case.
+ *
+ * @see SimpleAccessor
+ */
+public final class MethodHandleAccessor implements Accessor
+{
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodType FUNCTION_FACTORY_TYPE = MethodType.methodType(Function.class);
+
+    private static final MethodType FUNCTION_APPLY_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /** Generated getter, <code>null</code> if only the handle could be created. */
+    private final Function<Object, Object> function;
+
+    /** Getter handle adapted to (Object)Object. */
+    private final MethodHandle handle;
+
+    private final Class<?> propertyType;
+
+    private MethodHandleAccessor(Function<Object, Object> function, MethodHandle handle, Class<?> propertyType)
+    {
+        this.function = function;
+        this.handle = handle;
+        this.propertyType = propertyType;
+    }
+
+    /**
+     * Create an accessor for the given getter.
+     *
+     * @param readMethod
+     *            getter without arguments.
+     * @return the accessor or <code>null</code> if the getter is not accessible through method handles.
+     */
+    public static MethodHandleAccessor forReadMethod(Method readMethod)
+    {
+        Class<?> propertyType = ClassUtils.getTypeForProperty(readMethod);
+        MethodHandle handle;
+        try
+        {
+            handle = LOOKUP.unreflect(readMethod);
+        }
+        catch (IllegalAccessException e)
+        {
+            return null;
+        }
+
+        MethodHandle genericHandle = handle.asType(FUNCTION_APPLY_TYPE);
+        Function<Object, Object> function = null;
+        // the generated class resolves the getter through our class loader, so only generate it when the
+        // bean classes are visible from here
+        if (isVisible(readMethod.getDeclaringClass()) && isVisible(readMethod.getReturnType()))
+        {
+            try
+            {
+                CallSite site = LambdaMetafactory.metafactory(LOOKUP, "apply", FUNCTION_FACTORY_TYPE,
+                        FUNCTION_APPLY_TYPE, handle,
+                        MethodType.methodType(propertyType, readMethod.getDeclaringClass()));
+                function = (Function<Object, Object>) site.getTarget().invoke();
+            }
+            catch (Throwable t)
+            {
+                function = null;
+            }
+        }
+        return new MethodHandleAccessor(function, genericHandle, propertyType);
+    }
+
+    private static boolean isVisible(Class<?> clazz)
+    {
+        if (clazz.isPrimitive())
+            return true;
+        while (clazz.isArray())
+            clazz = clazz.getComponentType();
+        try
+        {
+            return Class.forName(clazz.getName(), false, MethodHandleAccessor.class.getClassLoader()) == clazz;
+        }
+        catch (ClassNotFoundException e)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Exceptions thrown by the getter are wrapped in an {@link InvocationTargetException}, as would be done
+     * by reflection.
+     */
+    public Object getValue(Object fromEntity) throws IllegalAccessException, InvocationTargetException
+    {
+        if (fromEntity == null)
+            throw new NullPointerException("Cannot read a property from a null entity");
+        try
+        {
+            if (function != null)
+                return function.apply(fromEntity);
+            return handle.invokeExact(fromEntity);
+        }
+        catch (Throwable t)
+        {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the getter is called through a generated class instead of a
+     *         {@link MethodHandle}.
+     */
+    public boolean isGenerated()
+    {
+        return function != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Class<?> getPropertyType()
+    {
+        return propertyType;
+    }
+}
@@ -39,6 +39,9 @@ public class NestedAccessor implements Accessor
     /** Getter method to access the top level property object. */
     final private Method getter;
 
+    /** Accessor calling the getter. */
+    final private Accessor getterAccessor;
+
     /**
      * Convenience constructor. Creates a getter method for the given class and property and reroutes to
      * {@link NestedAccessor#NestedAccessor(Method, String)}.
@@ -71,6 +74,7 @@ public class NestedAccessor implements Accessor
     {
         this.nestedProperty = nestedProperty;
         this.getter = getter;
+        this.getterAccessor = ClassUtils.getAccessorForReadMethod(getter);
     }
 
     /**
@@ -84,7 +88,7 @@ public class NestedAccessor implements Accessor
      */
     public Object getValue(Object fromEntity) throws IllegalAccessException, InvocationTargetException
     {
-        Object propertyValue = getter.invoke(fromEntity);
+        Object propertyValue = getterAccessor.getValue(fromEntity);
         return propertyValue == null ? null : getWrappedAccessor(propertyValue.getClass()).getValue(
                 propertyValue);
     }
@@ -76,6 +76,9 @@ public class PropertyColumn
     /** Is the column initially visible? */
     private boolean visible = true;
 
+    /** Are the values of this column cached per row for sorting and filtering? */
+    private boolean valueCached = false;
+
     /** Header title fetched from header keys or manually set. */
     private String header = null;
 
@@ -301,6 +304,35 @@ public class PropertyColumn
         return isFilterColumn;
     }
 
+    /**
+     * Chaining method to cache the values of this column.
+     * 
+     * @param valueCached
+     *            <code>true</code> to read the property only once per row when sorting and filtering.
+     * @return <code>this</code>
+     * @see org.valkyriercp.widget.table.glazedlists.CachingTableFormat
+     */
+    public PropertyColumn withValueCached(boolean valueCached)
+    {
+        setValueCached(valueCached);
+        return this;
+    }
+
+    /**
+     * Set whether the values of this column are cached per row. Only useful for properties that are read
+     * often, eg when sorting or filtering large tables. The cache is cleared when rows are replaced, added or
+     * removed through the table widget, so properties changed in any other way will show stale values.
+     */
+    public void setValueCached(boolean valueCached)
+    {
+        this.valueCached = valueCached;
+    }
+
+    public boolean isValueCached()
+    {
+        return valueCached;
+    }
+
     public TableCellRenderer getRenderer()
     {
         return renderer;
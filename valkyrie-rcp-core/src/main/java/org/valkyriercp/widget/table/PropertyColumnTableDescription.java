@@ -559,6 +559,37 @@ public class PropertyColumnTableDescription implements TableDescription
         return filterProperties.toArray(new String[filterProperties.size()]);
     }
 
+    /**
+     * Returns the name of the property shown in the given column.
+     */
+    public String getPropertyName(int propertyIndex)
+    {
+        return getPropertyColumn(propertyIndex).getPropertyName();
+    }
+
+    /**
+     * Returns <code>true</code> if the values of the column should be cached per row.
+     *
+     * @see PropertyColumn#setValueCached(boolean)
+     */
+    public boolean isValueCached(int propertyIndex)
+    {
+        return getPropertyColumn(propertyIndex).isValueCached();
+    }
+
+    /**
+     * Returns <code>true</code> if at least one column caches its values.
+     */
+    public boolean hasValueCachedColumns()
+    {
+        for (PropertyColumn column : columns)
+        {
+            if (column.isValueCached())
+                return true;
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -46,6 +46,19 @@ public class SimpleAccessor implements Accessor
                     + " does not represent a readable property.");
     }
 
+    /**
+     * Constructor using the given getter.
+     * 
+     * @param readMethod
+     *            the getter of the property.
+     */
+    public SimpleAccessor(Method readMethod)
+    {
+        if (readMethod == null)
+            throw new IllegalArgumentException("readMethod cannot be null.");
+        this.accessor = readMethod;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -19,6 +19,7 @@ import org.apache.commons.beanutils.NestedNullException;
 import org.apache.commons.beanutils.PropertyUtils;
 import org.jdesktop.swingx.renderer.DefaultTableRenderer;
 import org.jdesktop.swingx.renderer.FormatStringValue;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.valkyriercp.util.ValkyrieRepository;
 
 import javax.swing.*;
@@ -30,9 +31,15 @@ import javax.swing.table.TableCellRenderer;
 import java.awt.*;
 import java.math.BigDecimal;
 import java.text.*;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Voorziet een paar eenvoudige renderers voor gebruiksgemak.
@@ -226,9 +233,28 @@ public class TableCellRenderers
         }
     }
 
+    /**
+     * Renders enum values using the message and icon registered under
+     * <code>enumClassName.CONSTANT_NAME</code>. Resolved labels and icons are
+     * kept per enum class and locale in a {@link ClassValue}, so rendering a
+     * cell is a lookup by ordinal and the renderer doesn't keep enum classes
+     * or their class loaders reachable.
+     */
     public static class EnumTableCellRenderer extends DefaultTableCellRenderer
     {
 
+        private static final AtomicInteger cacheGeneration = new AtomicInteger();
+
+        private final ClassValue<EnumLabels> enumLabels = new ClassValue<EnumLabels>()
+        {
+            protected EnumLabels computeValue(Class<?> type)
+            {
+                // read the generation first, a concurrent clear makes the labels stale
+                int generation = cacheGeneration.get();
+                return createEnumLabels((Class<? extends Enum>) type, LocaleContextHolder.getLocale(), generation);
+            }
+        };
+
         public EnumTableCellRenderer()
         {
             super();
@@ -251,9 +277,9 @@ public class TableCellRenderers
                 if (value instanceof Enum)
                 {
                     Enum valueEnum = (Enum) value;
-                    Class<? extends Enum> valueClass = valueEnum.getClass();
-                    setValue(ValkyrieRepository.getInstance().getApplicationConfig().messageResolver().getMessage(valueClass.getName() + "." + valueEnum.name()));
-                    setIcon(ValkyrieRepository.getInstance().getApplicationConfig().iconSource().getIcon(valueClass.getName() + "." + valueEnum.name()));
+                    EnumLabels labels = getEnumLabels(valueEnum.getDeclaringClass());
+                    setValue(labels.labels[valueEnum.ordinal()]);
+                    setIcon(labels.icons[valueEnum.ordinal()]);
                 }
                 else
                 {
@@ -262,6 +288,76 @@ public class TableCellRenderers
             }
             return this;
         }
+
+        private EnumLabels getEnumLabels(Class<? extends Enum> enumClass)
+        {
+            EnumLabels labels = enumLabels.get(enumClass);
+            if (!labels.locale.equals(LocaleContextHolder.getLocale()) || labels.generation != cacheGeneration.get())
+            {
+                enumLabels.remove(enumClass);
+                labels = enumLabels.get(enumClass);
+            }
+            return labels;
+        }
+
+        private EnumLabels createEnumLabels(Class<? extends Enum> enumClass, Locale locale, int generation)
+        {
+            Enum[] constants = enumClass.getEnumConstants();
+            String[] labels = new String[constants.length];
+            Icon[] icons = new Icon[constants.length];
+            for (int i = 0; i < constants.length; i++)
+            {
+                String key = enumClass.getName() + "." + constants[i].name();
+                labels[i] = getEnumMessage(key);
+                icons[i] = getEnumIcon(key);
+            }
+            return new EnumLabels(locale, generation, labels, icons);
+        }
+
+        /**
+         * Returns the label of the enum constant with the given key.
+         */
+        protected String getEnumMessage(String key)
+        {
+            return ValkyrieRepository.getInstance().getApplicationConfig().messageResolver().getMessage(key);
+        }
+
+        /**
+         * Returns the icon of the enum constant with the given key.
+         */
+        protected Icon getEnumIcon(String key)
+        {
+            return ValkyrieRepository.getInstance().getApplicationConfig().iconSource().getIcon(key);
+        }
+
+        /**
+         * Discards the resolved labels and icons of all enum renderers, eg
+         * after the messages or icons have been reloaded. A change of locale
+         * is detected automatically.
+         */
+        public static void clearCache()
+        {
+            cacheGeneration.incrementAndGet();
+        }
+
+        private static class EnumLabels
+        {
+            private final Locale locale;
+
+            private final int generation;
+
+            private final String[] labels;
+
+            private final Icon[] icons;
+
+            EnumLabels(Locale locale, int generation, String[] labels, Icon[] icons)
+            {
+                this.locale = locale;
+                this.generation = generation;
+                this.labels = labels;
+                this.icons = icons;
+            }
+        }
     }
 
     public static class ListPropertyCellRenderer extends JPanel implements TableCellRenderer
@@ -432,5 +528,292 @@ public class TableCellRenderers
         }
 
     }
-}
 
+    /**
+     * Variant of {@link ListPropertyCellRenderer} that avoids allocating and
+     * laying out components on every paint. Line labels are kept in a pool
+     * that only grows to the largest collection rendered, they are positioned
+     * directly using the font height and the preferred height is computed
+     * from the number of lines. Formatted strings are cached by identity of
+     * the formatted value.
+     */
+    public static class PooledListPropertyCellRenderer extends ListPropertyCellRenderer
+    {
+
+        /** Maximum number of cached formatted strings. */
+        private static final int MAX_CACHED_STRINGS = 512;
+
+        private final List<JLabel> labelPool = new ArrayList<JLabel>();
+
+        private final Map<Object, String> formattedStrings = new IdentityHashMap<Object, String>();
+
+        private int lineCount;
+
+        private int lineHeight;
+
+        private Font lineHeightFont;
+
+        public PooledListPropertyCellRenderer(String property)
+        {
+            this(property, SwingConstants.LEFT, SwingConstants.CENTER);
+        }
+
+        public PooledListPropertyCellRenderer(String property, int horizontalAlignment, int verticalAlignment)
+        {
+            this(property, horizontalAlignment, verticalAlignment, null);
+        }
+
+        public PooledListPropertyCellRenderer(String property, int horizontalAlignment, int verticalAlignment,
+                Format format)
+        {
+            super(property, horizontalAlignment, verticalAlignment, format);
+            setLayout(null);
+        }
+
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                boolean hasFocus, int row, int column)
+        {
+            Color fg = table.getForeground();
+            Color bg = table.getBackground();
+            if (isSelected)
+            {
+                fg = table.getSelectionForeground();
+                bg = table.getSelectionBackground();
+            }
+            Font font = table.getFont();
+            setFont(font);
+            if (hasFocus)
+            {
+                Border border = null;
+                if (isSelected)
+                {
+                    border = UIManager.getBorder("Table.focusSelectedCellHighlightBorder");
+                }
+                if (border == null)
+                {
+                    border = UIManager.getBorder("Table.focusCellHighlightBorder");
+                }
+                setBorder(border);
+                if (!isSelected && table.isCellEditable(row, column))
+                {
+                    Color col = UIManager.getColor("Table.focusCellForeground");
+                    if (col != null)
+                    {
+                        fg = col;
+                    }
+                    col = UIManager.getColor("Table.focusCellBackground");
+                    if (col != null)
+                    {
+                        bg = col;
+                    }
+                }
+            }
+            else
+            {
+                setBorder(ListPropertyCellRenderer.border);
+            }
+            super.setForeground(fg);
+            super.setBackground(bg);
+
+            if (!(value instanceof Collection))
+                throw new IllegalArgumentException("Value must be an instance of Collection.");
+
+            Collection values = (Collection) value;
+            int i = 0;
+            for (Iterator it = values.iterator(); it.hasNext(); i++)
+            {
+                Object o = it.next();
+                Object line;
+                try
+                {
+                    line = PropertyUtils.getProperty(o, property);
+                }
+                catch (NestedNullException e)
+                {
+                    line = null;
+                }
+                catch (Exception e)
+                {
+                    throw new RuntimeException("Error reading property " + property + " from object " + o, e);
+                }
+                JLabel lineLabel = getLineLabel(i);
+                lineLabel.setForeground(fg);
+                lineLabel.setFont(font);
+                lineLabel.setVisible(true);
+                setValue(lineLabel, line, i);
+            }
+            lineCount = i;
+            for (int j = lineCount; j < labelPool.size(); j++)
+            {
+                labelPool.get(j).setVisible(false);
+            }
+
+            int height_wanted = getPreferredSize().height;
+            if (height_wanted > table.getRowHeight(row))
+                table.setRowHeight(row, height_wanted);
+            return this;
+        }
+
+        private JLabel getLineLabel(int index)
+        {
+            if (index < labelPool.size())
+            {
+                return labelPool.get(index);
+            }
+            JLabel label = new LineLabel();
+            labelPool.add(label);
+            add(label);
+            return label;
+        }
+
+        protected void setValue(JLabel l, Object value, int lineNumber)
+        {
+            String text;
+            if (value == null)
+            {
+                text = " ";
+            }
+            else if (format != null)
+            {
+                text = formattedStrings.get(value);
+                if (text == null)
+                {
+                    if (formattedStrings.size() >= MAX_CACHED_STRINGS)
+                    {
+                        formattedStrings.clear();
+                    }
+                    text = format.format(value);
+                    formattedStrings.put(value, text);
+                }
+            }
+            else
+            {
+                text = value.toString();
+            }
+            l.setText(text);
+            l.setHorizontalAlignment(horizontalAlignment);
+            l.setOpaque(false);
+        }
+
+        private int getLineHeight()
+        {
+            Font font = getFont();
+            if (lineHeight == 0 || font != lineHeightFont)
+            {
+                lineHeight = getFontMetrics(font).getHeight();
+                lineHeightFont = font;
+            }
+            return lineHeight;
+        }
+
+        public Dimension getPreferredSize()
+        {
+            Insets insets = getInsets();
+            int width = 0;
+            for (int i = 0; i < lineCount; i++)
+            {
+                width = Math.max(width, labelPool.get(i).getPreferredSize().width);
+            }
+            return new Dimension(width + insets.left + insets.right, lineCount * getLineHeight() + insets.top
+                    + insets.bottom);
+        }
+
+        public void doLayout()
+        {
+            Insets insets = getInsets();
+            int height = getLineHeight();
+            int width = getWidth() - insets.left - insets.right;
+            int free = getHeight() - insets.top - insets.bottom - lineCount * height;
+            int y = insets.top;
+            if (verticalAlignment == SwingConstants.CENTER)
+            {
+                y += Math.max(free / 2, 0);
+            }
+            else if (verticalAlignment == SwingConstants.BOTTOM)
+            {
+                y += Math.max(free, 0);
+            }
+            for (int i = 0; i < lineCount; i++)
+            {
+                labelPool.get(i).setBounds(insets.left, y, width, height);
+                y += height;
+            }
+        }
+
+        /**
+         * Overridden for performance reasons, laying out is done explicitly
+         * when the renderer pane validates this component.
+         */
+        public void invalidate()
+        {
+        }
+
+        public void validate()
+        {
+            doLayout();
+        }
+
+        public void revalidate()
+        {
+        }
+
+        /**
+         * Overridden for performance reasons, the renderer is painted by the
+         * table through its renderer pane.
+         */
+        public void repaint(long tm, int x, int y, int width, int height)
+        {
+        }
+
+        public void repaint(Rectangle r)
+        {
+        }
+
+        public void repaint()
+        {
+        }
+
+        /**
+         * Overridden for performance reasons, nobody listens to the properties
+         * of a renderer.
+         */
+        protected void firePropertyChange(String propertyName, Object oldValue, Object newValue)
+        {
+        }
+
+        public void firePropertyChange(String propertyName, boolean oldValue, boolean newValue)
+        {
+        }
+
+        /**
+         * Label which skips revalidation and repaints, like
+         * {@link DefaultTableCellRenderer}.
+         */
+        private static class LineLabel extends JLabel
+        {
+            public void invalidate()
+            {
+            }
+
+            public void validate()
+            {
+            }
+
+            public void revalidate()
+            {
+            }
+
+            public void repaint(long tm, int x, int y, int width, int height)
+            {
+            }
+
+            public void repaint(Rectangle r)
+            {
+            }
+
+            public void repaint()
+            {
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.widget.table.glazedlists;
+
+import ca.odell.glazedlists.GlazedLists;
+import ca.odell.glazedlists.TextFilterator;
+import org.valkyriercp.widget.table.PropertyColumnTableDescription;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * TableFormat that keeps the values of the cached columns of a {@link PropertyColumnTableDescription} per
+ * row. Sorting a column reads the value of each row once instead of on every comparison, and the
+ * {@link TextFilterator} from {@link #getTextFilterator(String[])} builds the filter strings of the cached
+ * columns of a row only once instead of on every keystroke. Columns that aren't cached are always read from
+ * the row, so they never show stale values.
+ * </p>
+ *
+ * <p>
+ * Rows are kept by identity. The {@link GlazedListTableWidget} invalidates rows when they are replaced, added
+ * or removed and clears the cache when the rows are set or {@link GlazedListTableWidget#updateTable()} is
+ * called.
+ * </p>
+ *
+ * @see org.valkyriercp.widget.table.PropertyColumn#setValueCached(boolean)
+ */
+public class CachingTableFormat extends GlazedListsSupport.TableDescriptionFormat
+{
+    /** Marks a column value that hasn't been read yet. */
+    private static final Object NOT_LOADED = new Object();
+
+    private final boolean[] cachedColumns;
+
+    private final Map<Object, Object[]> values = new IdentityHashMap<Object, Object[]>();
+
+    /**
+     * Filter strings of the cached columns per row, indexed by column.
+     */
+    private final Map<Object, Object[]> filterStrings = new IdentityHashMap<Object, Object[]>();
+
+    public CachingTableFormat(PropertyColumnTableDescription desc)
+    {
+        super(desc);
+        int columnCount = desc.getColumnCount();
+        this.cachedColumns = new boolean[columnCount];
+        for (int i = 0; i < columnCount; ++i)
+        {
+            cachedColumns[i] = desc.isValueCached(i);
+        }
+    }
+
+    @Override
+    public Object getColumnValue(Object obj, int i)
+    {
+        if (!cachedColumns[i])
+            return super.getColumnValue(obj, i);
+
+        synchronized (this)
+        {
+            Object[] rowValues = values.get(obj);
+            if (rowValues == null)
+            {
+                rowValues = new Object[cachedColumns.length];
+                Arrays.fill(rowValues, NOT_LOADED);
+                values.put(obj, rowValues);
+            }
+            if (rowValues[i] == NOT_LOADED)
+                rowValues[i] = super.getColumnValue(obj, i);
+            return rowValues[i];
+        }
+    }
+
+    @Override
+    public Object setColumnValue(Object baseObject, Object editedValue, int column)
+    {
+        Object result = super.setColumnValue(baseObject, editedValue, column);
+        invalidate(baseObject);
+        return result;
+    }
+
+    /**
+     * Forget the cached values of the given row.
+     */
+    public synchronized void invalidate(Object row)
+    {
+        values.remove(row);
+        filterStrings.remove(row);
+    }
+
+    /**
+     * Forget the cached values of all rows.
+     */
+    public synchronized void clear()
+    {
+        values.clear();
+        filterStrings.clear();
+    }
+
+    /**
+     * Returns a {@link TextFilterator} for the given properties. The filter strings of the cached columns are
+     * built once per row and interned, as text columns often repeat the same values. Other columns are read
+     * from the row every time and properties without a column are read as bean properties.
+     *
+     * @param filterProperties the properties to filter on, usually
+     *            {@link PropertyColumnTableDescription#getPropertiesInTextFilter()}.
+     */
+    public TextFilterator<Object> getTextFilterator(String[] filterProperties)
+    {
+        PropertyColumnTableDescription columnDesc = (PropertyColumnTableDescription) desc;
+        List<Integer> cached = new ArrayList<Integer>();
+        List<Integer> live = new ArrayList<Integer>();
+        List<String> beanProperties = new ArrayList<String>();
+        for (String filterProperty : filterProperties)
+        {
+            int column = getColumn(columnDesc, filterProperty);
+            if (column == -1)
+                beanProperties.add(filterProperty);
+            else if (cachedColumns[column])
+                cached.add(column);
+            else
+                live.add(column);
+        }
+        final int[] cachedFilterColumns = toArray(cached);
+        final int[] liveFilterColumns = toArray(live);
+        final TextFilterator<Object> beanFilterator = beanProperties.isEmpty() ? null : GlazedLists
+                .textFilterator(desc.getDataType(), beanProperties.toArray(new String[beanProperties.size()]));
+        return new TextFilterator<Object>()
+        {
+            public void getFilterStrings(List<String> baseList, Object element)
+            {
+                Object[] rowStrings = getCachedFilterStrings(element, cachedFilterColumns);
+                for (int column : cachedFilterColumns)
+                {
+                    if (rowStrings[column] != null)
+                        baseList.add((String) rowStrings[column]);
+                }
+                for (int column : liveFilterColumns)
+                {
+                    Object value = getColumnValue(element, column);
+                    if (value != null)
+                        baseList.add(value.toString());
+                }
+                if (beanFilterator != null)
+                    beanFilterator.getFilterStrings(baseList, element);
+            }
+        };
+    }
+
+    private static int getColumn(PropertyColumnTableDescription columnDesc, String propertyName)
+    {
+        for (int i = 0; i < columnDesc.getColumnCount(); ++i)
+        {
+            if (propertyName.equals(columnDesc.getPropertyName(i)))
+                return i;
+        }
+        return -1;
+    }
+
+    private static int[] toArray(List<Integer> columns)
+    {
+        int[] result = new int[columns.size()];
+        for (int i = 0; i < result.length; ++i)
+        {
+            result[i] = columns.get(i);
+        }
+        return result;
+    }
+
+    private synchronized Object[] getCachedFilterStrings(Object row, int[] columns)
+    {
+        Object[] rowStrings = filterStrings.get(row);
+        if (rowStrings == null)
+        {
+            rowStrings = new Object[cachedColumns.length];
+            Arrays.fill(rowStrings, NOT_LOADED);
+            filterStrings.put(row, rowStrings);
+        }
+        for (int column : columns)
+        {
+            if (rowStrings[column] == NOT_LOADED)
+            {
+                Object value = getColumnValue(row, column);
+                rowStrings[column] = value == null ? null : value.toString().intern();
+            }
+        }
+        return rowStrings;
+    }
+}
@@ -131,6 +131,12 @@ public final class GlazedListTableWidget extends AbstractWidget implements
 	private boolean mAddHighlightSelectColumn;
 	private TableDescription mTableDesc;
 
+	/**
+	 * Format caching column values per row, <code>null</code> if no column is
+	 * cached.
+	 */
+	private CachingTableFormat valueCache;
+
 	public GlazedListTableWidget(List<? extends Object> rows,
 			TableDescription tableDesc) {
 		this(rows, tableDesc, tableDesc.getDefaultComparator());
@@ -193,6 +199,8 @@ public final class GlazedListTableWidget extends AbstractWidget implements
 		mFilterProperties = filterProperties;
 		mComparator = comparator;
 		mAddHighlightSelectColumn = addHighlightSelectColumn;
+		valueCache = format instanceof CachingTableFormat ? (CachingTableFormat) format
+				: null;
         postConstruct();
 	}
 
@@ -214,10 +222,11 @@ public final class GlazedListTableWidget extends AbstractWidget implements
 					textFilterField.selectAll();
 				}
 			});
+			TextFilterator filterator = valueCache != null ? valueCache
+					.getTextFilterator(mFilterProperties) : GlazedLists
+					.textFilterator(mDataType, mFilterProperties);
 			shownList = new FilterList<Object>(shownList,
-					new TextComponentMatcherEditor(textFilterField,
-							GlazedLists.textFilterator(mDataType,
-									mFilterProperties)));
+					new TextComponentMatcherEditor(textFilterField, filterator));
 		}
 
 		selectionModel = new EventSelectionModel<Object>(shownList);
@@ -522,6 +531,9 @@ public final class GlazedListTableWidget extends AbstractWidget implements
 		try {
 			this.dirtyRows.clear();
 			theTable.clearSelection();
+			if (valueCache != null) {
+				valueCache.clear();
+			}
 			this.dataList.clear();
 			this.dataList.addAll(newRows);
 
@@ -542,6 +554,7 @@ public final class GlazedListTableWidget extends AbstractWidget implements
 	public void addRowObject(Object newObject) {
 		this.dataList.getReadWriteLock().writeLock().lock();
 		try {
+			invalidateCachedValues(newObject);
 			this.dataList.add(newObject);
 		} finally {
 			this.dataList.getReadWriteLock().writeLock().unlock();
@@ -551,6 +564,9 @@ public final class GlazedListTableWidget extends AbstractWidget implements
 	public void addRows(Collection rows) {
 		this.dataList.getReadWriteLock().writeLock().lock();
 		try {
+			for (Object row : rows) {
+				invalidateCachedValues(row);
+			}
 			this.dataList.addAll(rows);
 		} finally {
 			this.dataList.getReadWriteLock().writeLock().unlock();
@@ -561,6 +577,7 @@ public final class GlazedListTableWidget extends AbstractWidget implements
 		this.dataList.getReadWriteLock().writeLock().lock();
 		try {
 			dirtyRows.remove(objectToRemove);
+			invalidateCachedValues(objectToRemove);
 			this.dataList.remove(objectToRemove);
 		} finally {
 			this.dataList.getReadWriteLock().writeLock().unlock();
@@ -679,6 +696,8 @@ public final class GlazedListTableWidget extends AbstractWidget implements
 					this.selectionMonitor.deleteObserver(originatingObserver);
 				}
 
+				invalidateCachedValues(oldObject);
+				invalidateCachedValues(newObject);
 				this.dataList.set(index, newObject);
 
 				if (wasSelected) {
@@ -702,6 +721,12 @@ public final class GlazedListTableWidget extends AbstractWidget implements
 				dataList.getReadWriteLock().writeLock().lock();
 				try {
 					dirtyRows.clear();
+					for (Object row : oldObject) {
+						invalidateCachedValues(row);
+					}
+					for (Object row : newObject) {
+						invalidateCachedValues(row);
+					}
 					dataList.removeAll(oldObject);
 					dataList.addAll(newObject);
 				} finally {
@@ -758,9 +783,18 @@ public final class GlazedListTableWidget extends AbstractWidget implements
 	}
 
 	public void updateTable() {
+		if (valueCache != null) {
+			valueCache.clear();
+		}
 		this.tableModel.fireTableDataChanged();
 	}
 
+	private void invalidateCachedValues(Object row) {
+		if (valueCache != null) {
+			valueCache.invalidate(row);
+		}
+	}
+
 	public JTextField getTextFilterField() {
 		return textFilterField;
 	}
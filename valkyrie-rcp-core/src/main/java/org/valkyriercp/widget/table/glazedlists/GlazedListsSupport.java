@@ -19,6 +19,7 @@ import ca.odell.glazedlists.GlazedLists;
 import ca.odell.glazedlists.gui.AdvancedTableFormat;
 import ca.odell.glazedlists.gui.TableFormat;
 import ca.odell.glazedlists.gui.WritableTableFormat;
+import org.valkyriercp.widget.table.PropertyColumnTableDescription;
 import org.valkyriercp.widget.table.TableDescription;
 
 import java.util.Comparator;
@@ -40,63 +41,79 @@ public class GlazedListsSupport
     }
 
     /**
-     * Conversion of RCP TableDescription to GlazedLists TableFormat
+     * Conversion of RCP TableDescription to GlazedLists TableFormat. When the description is a
+     * {@link PropertyColumnTableDescription} with cached columns, a {@link CachingTableFormat} is returned.
      *
      * @param desc
      * @return AdvancedWritableTableFormat
      */
     public static TableFormat makeTableFormat(final TableDescription desc)
     {
-        return new AdvancedWritableTableFormat()
+        if (desc instanceof PropertyColumnTableDescription
+                && ((PropertyColumnTableDescription) desc).hasValueCachedColumns())
+            return new CachingTableFormat((PropertyColumnTableDescription) desc);
+        return new TableDescriptionFormat(desc);
+    }
+
+    /**
+     * AdvancedWritableTableFormat delegating to a {@link TableDescription}.
+     */
+    static class TableDescriptionFormat implements AdvancedWritableTableFormat
+    {
+        protected final TableDescription desc;
+
+        TableDescriptionFormat(TableDescription desc)
         {
-            public Class getColumnClass(int i)
-            {
-                return desc.getType(i);
-            }
+            this.desc = desc;
+        }
 
-            public Comparator getColumnComparator(int i)
-            {
-                Comparator comp = desc.getColumnComparator(i);
-                if (comp != null)
-                    return comp;
-
-                Class type = getColumnClass(i);
-                if (Boolean.class.isAssignableFrom(type) || Boolean.TYPE.isAssignableFrom(type))
-                    return GlazedLists.booleanComparator();
-                else if (String.class.isAssignableFrom(type))
-                    return getLowerCaseStringComparator();
-                else if(Comparable.class.isAssignableFrom(type))
-                    return GlazedLists.comparableComparator();
-                else
-                    return null;
-            }
+        public Class getColumnClass(int i)
+        {
+            return desc.getType(i);
+        }
 
-            public int getColumnCount()
-            {
-                return desc.getColumnCount();
-            }
+        public Comparator getColumnComparator(int i)
+        {
+            Comparator comp = desc.getColumnComparator(i);
+            if (comp != null)
+                return comp;
+
+            Class type = getColumnClass(i);
+            if (Boolean.class.isAssignableFrom(type) || Boolean.TYPE.isAssignableFrom(type))
+                return GlazedLists.booleanComparator();
+            else if (String.class.isAssignableFrom(type))
+                return getLowerCaseStringComparator();
+            else if(Comparable.class.isAssignableFrom(type))
+                return GlazedLists.comparableComparator();
+            else
+                return null;
+        }
+
+        public int getColumnCount()
+        {
+            return desc.getColumnCount();
+        }
 
-            public String getColumnName(int i)
-            {
-                return desc.getHeader(i);
-            }
+        public String getColumnName(int i)
+        {
+            return desc.getHeader(i);
+        }
 
-            public Object getColumnValue(Object obj, int i)
-            {
-                return desc.getValue(obj, i);
-            }
+        public Object getColumnValue(Object obj, int i)
+        {
+            return desc.getValue(obj, i);
+        }
 
-            public boolean isEditable(Object baseObject, int column)
-            {
-                return desc.getColumnEditor(column) != null;
-            }
+        public boolean isEditable(Object baseObject, int column)
+        {
+            return desc.getColumnEditor(column) != null;
+        }
 
-            public Object setColumnValue(Object baseObject, Object editedValue, int column)
-            {
-                desc.setValue(baseObject, column, editedValue);
-                return baseObject;
-            }
-        };
+        public Object setColumnValue(Object baseObject, Object editedValue, int column)
+        {
+            desc.setValue(baseObject, column, editedValue);
+            return baseObject;
+        }
     }
 
     public static Comparator getLowerCaseStringComparator()
@@ -0,0 +1,183 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.widget.table.paged;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.valkyriercp.widget.editor.provider.PagedList;
+import org.valkyriercp.widget.table.TableDescription;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * TableModel on top of a {@link TableDescription}. When the rows are a {@link PagedList}, rows that are
+ * not in memory are shown empty while their page is fetched by a {@link SwingWorker}. Once the page
+ * arrives the affected rows are repainted.
+ * <p/>
+ * WARNING: not threadsafe, use on the EDT only.
+ */
+public class PagedTableModel extends AbstractTableModel
+{
+    private static final Logger logger = LoggerFactory.getLogger(PagedTableModel.class);
+
+    private final TableDescription tableDescription;
+
+    private List rows = Collections.EMPTY_LIST;
+
+    /**
+     * Page indexes currently being fetched, to avoid launching a second worker for the same page.
+     */
+    private final Set<Integer> pendingPages = new HashSet<Integer>();
+
+    public PagedTableModel(TableDescription tableDescription)
+    {
+        this.tableDescription = tableDescription;
+    }
+
+    public void setRows(List rows)
+    {
+        this.rows = rows == null ? Collections.EMPTY_LIST : rows;
+        pendingPages.clear();
+        fireTableDataChanged();
+    }
+
+    public List getRows()
+    {
+        return rows;
+    }
+
+    public boolean isPaged()
+    {
+        return rows instanceof PagedList;
+    }
+
+    /**
+     * Returns the row object, or <code>null</code> if it is part of a page that is still being loaded.
+     */
+    public Object getRowObject(int rowIndex)
+    {
+        if (!isPaged())
+            return rows.get(rowIndex);
+
+        PagedList pagedList = (PagedList) rows;
+        if (pagedList.isLoaded(rowIndex))
+            return pagedList.getIfLoaded(rowIndex);
+
+        requestPage(pagedList, pagedList.getPageIndex(rowIndex));
+        return null;
+    }
+
+    /**
+     * @return index of the given row object, for a {@link PagedList} only the loaded pages are searched.
+     */
+    public int indexOf(Object rowObject)
+    {
+        if (isPaged())
+            return ((PagedList) rows).indexOfLoaded(rowObject);
+        return rows.indexOf(rowObject);
+    }
+
+    private void requestPage(final PagedList pagedList, final int pageIndex)
+    {
+        if (!pendingPages.add(pageIndex))
+            return;
+
+        new SwingWorker<List, Object>()
+        {
+            @Override
+            protected List doInBackground() throws Exception
+            {
+                return pagedList.loadPage(pageIndex);
+            }
+
+            @Override
+            protected void done()
+            {
+                if (rows != pagedList)
+                    return;
+
+                pendingPages.remove(pageIndex);
+                try
+                {
+                    get();
+                    int first = pageIndex * pagedList.getPageSize();
+                    int last = Math.min(first + pagedList.getPageSize(), pagedList.size()) - 1;
+                    if (first <= last)
+                        fireTableRowsUpdated(first, last);
+                }
+                catch (InterruptedException e)
+                {
+                    // someone cancelled the retrieval?
+                }
+                catch (ExecutionException e)
+                {
+                    logger.error("Could not load page " + pageIndex, e.getCause());
+                }
+            }
+        }.execute();
+    }
+
+    public int getRowCount()
+    {
+        return rows.size();
+    }
+
+    public int getColumnCount()
+    {
+        return tableDescription.getColumnCount();
+    }
+
+    @Override
+    public String getColumnName(int columnIndex)
+    {
+        return tableDescription.getHeader(columnIndex);
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columnIndex)
+    {
+        return tableDescription.getType(columnIndex);
+    }
+
+    @Override
+    public boolean isCellEditable(int rowIndex, int columnIndex)
+    {
+        return tableDescription.getColumnEditor(columnIndex) != null && getRowObject(rowIndex) != null;
+    }
+
+    public Object getValueAt(int rowIndex, int columnIndex)
+    {
+        Object rowObject = getRowObject(rowIndex);
+        return rowObject == null ? null : tableDescription.getValue(rowObject, columnIndex);
+    }
+
+    @Override
+    public void setValueAt(Object value, int rowIndex, int columnIndex)
+    {
+        Object rowObject = getRowObject(rowIndex);
+        if (rowObject != null)
+        {
+            tableDescription.setValue(rowObject, columnIndex, value);
+            fireTableCellUpdated(rowIndex, columnIndex);
+        }
+    }
+}
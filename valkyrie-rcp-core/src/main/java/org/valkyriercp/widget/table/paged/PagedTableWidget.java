@@ -0,0 +1,746 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.widget.table.paged;
+
+import com.jgoodies.forms.layout.Sizes;
+import org.jdesktop.swingx.JXTable;
+import org.jdesktop.swingx.decorator.HighlighterFactory;
+import org.jdesktop.swingx.table.TableColumnExt;
+import org.valkyriercp.command.support.AbstractCommand;
+import org.valkyriercp.command.support.ActionCommand;
+import org.valkyriercp.command.support.CommandGroup;
+import org.valkyriercp.util.ValueMonitor;
+import org.valkyriercp.widget.AbstractWidget;
+import org.valkyriercp.widget.editor.provider.PagedList;
+import org.valkyriercp.widget.table.TableDescription;
+import org.valkyriercp.widget.table.TableWidget;
+
+import javax.swing.*;
+import javax.swing.event.ListSelectionEvent;
+import javax.swing.event.ListSelectionListener;
+import javax.swing.event.TableModelEvent;
+import javax.swing.event.TableModelListener;
+import javax.swing.table.TableCellEditor;
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * <p>
+ * {@link TableWidget} for large result sets delivered as a {@link PagedList}. Opening the table only needs
+ * the row count, the rows themselves are fetched page by page while the user scrolls and only a bounded
+ * number of pages is kept in memory.
+ * </p>
+ *
+ * <p>
+ * Sorting and text filtering happen in the back-end, so this widget has no sortable columns and no text
+ * filter field. Adding or removing rows on a paged list triggers a {@link #refresh()}.
+ * </p>
+ *
+ * <p>
+ * Selecting a row that isn't loaded yet keeps the selection pending: the selected row objects are published
+ * once its page has been fetched. The same goes for {@link #selectRowObject(Object, Observer)} with an
+ * object that isn't in a loaded page, it is selected as soon as a page containing it arrives, unless the
+ * selection is changed in the meantime.
+ * </p>
+ *
+ * <p>
+ * Plain collections passed to {@link #setRows(Collection)} are shown as-is, so the widget can also be used
+ * as a simple unsorted table.
+ * </p>
+ */
+public class PagedTableWidget extends AbstractWidget implements TableWidget
+{
+    private final JXTable theTable = new JXTable();
+
+    private final JScrollPane tableScroller;
+
+    private final PagedTableModel tableModel;
+
+    private final ValueMonitor selectionMonitor = new ValueMonitor();
+
+    private final TableDescription tableDescription;
+
+    private List<AbstractCommand> navigationCommands;
+
+    private CommandGroup navigationCommandGroup;
+
+    private JLabel countLabel;
+
+    /**
+     * Set when the selection contains rows that weren't loaded when it was published.
+     */
+    private boolean selectionIncomplete;
+
+    /**
+     * Row object to select once a page containing it is loaded.
+     */
+    private Object pendingSelection;
+
+    private Observer pendingSelectionObserver;
+
+    public PagedTableWidget(TableDescription tableDescription)
+    {
+        this.tableDescription = tableDescription;
+        this.tableModel = new PagedTableModel(tableDescription);
+        theTable.setModel(tableModel);
+        theTable.setSortable(false);
+        theTable.setColumnControlVisible(true);
+        theTable.setHighlighters(HighlighterFactory.createSimpleStriping());
+        theTable.setPreferredScrollableViewportSize(new Dimension(50, 50));
+        theTable.getSelectionModel().addListSelectionListener(new SelectionNavigationListener());
+        tableModel.addTableModelListener(new PageLoadListener());
+        tableScroller = new JScrollPane(theTable);
+        theTable.setHorizontalScrollEnabled(true);
+        initializeNavigationCommands();
+        initializeColumns();
+    }
+
+    private void initializeColumns()
+    {
+        for (int i = 0; i < tableDescription.getColumnCount(); ++i)
+        {
+            TableColumnExt column = (TableColumnExt) theTable.getColumns(true).get(i);
+            int columnWidth = tableDescription.getMaxColumnWidth(i);
+            if (columnWidth > 0)
+            {
+                column.setMaxWidth(columnWidth);
+            }
+            columnWidth = tableDescription.getMinColumnWidth(i);
+            if (columnWidth > 0)
+            {
+                column.setMinWidth(columnWidth);
+            }
+            column.setResizable(tableDescription.isResizable(i));
+            column.setVisible(tableDescription.isVisible(i));
+            TableCellEditor columnEditor = tableDescription.getColumnEditor(i);
+            if (columnEditor != null)
+            {
+                column.setCellEditor(columnEditor);
+            }
+            if (tableDescription.getColumnRenderer(i) != null)
+            {
+                column.setCellRenderer(tableDescription.getColumnRenderer(i));
+            }
+        }
+    }
+
+    private class SelectionNavigationListener implements ListSelectionListener
+    {
+        public void valueChanged(ListSelectionEvent e)
+        {
+            if (!e.getValueIsAdjusting())
+            {
+                pendingSelection = null;
+                pendingSelectionObserver = null;
+                publishSelection();
+
+                int selectedIndex = theTable.getSelectionModel().getAnchorSelectionIndex();
+                int lastIndex = tableModel.getRowCount() - 1;
+                boolean emptyList = (lastIndex == -1);
+                boolean onFirst = (selectedIndex == 0);
+                boolean onLast = (selectedIndex == lastIndex);
+
+                navigationCommands.get(0).setEnabled(!emptyList && !onFirst);
+                navigationCommands.get(1).setEnabled(!emptyList && !onFirst);
+                navigationCommands.get(2).setEnabled(!emptyList && !onLast);
+                navigationCommands.get(3).setEnabled(!emptyList && !onLast);
+            }
+        }
+    }
+
+    /**
+     * Re-publishes the selection or applies the pending selection when the page holding it arrives.
+     */
+    private class PageLoadListener implements TableModelListener
+    {
+        public void tableChanged(TableModelEvent e)
+        {
+            // pages arriving are reported as updates of a bounded row range
+            if (e.getType() != TableModelEvent.UPDATE || e.getColumn() != TableModelEvent.ALL_COLUMNS
+                    || e.getFirstRow() < 0 || e.getLastRow() == Integer.MAX_VALUE)
+                return;
+
+            if (pendingSelection != null)
+            {
+                int index = tableModel.indexOf(pendingSelection);
+                if (index != -1)
+                {
+                    Observer observer = pendingSelectionObserver;
+                    pendingSelection = null;
+                    pendingSelectionObserver = null;
+                    selectRowObject(index, observer);
+                }
+            }
+            else if (selectionIncomplete)
+            {
+                int[] selectedIndexes = theTable.getSelectedRows();
+                for (int selectedIndex : selectedIndexes)
+                {
+                    int modelIndex = theTable.convertRowIndexToModel(selectedIndex);
+                    if (modelIndex >= e.getFirstRow() && modelIndex <= e.getLastRow())
+                    {
+                        publishSelection();
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    private void publishSelection()
+    {
+        Object[] selectedRows = getSelectedRows();
+        selectionIncomplete = selectedRows.length < theTable.getSelectedRowCount();
+        if (selectedRows.length == 1)
+        {
+            selectionMonitor.setValue(selectedRows[0]);
+        }
+        else
+        {
+            selectionMonitor.setValue(selectedRows.length > 0 ? selectedRows : null);
+        }
+    }
+
+    private void initializeNavigationCommands()
+    {
+        this.navigationCommands = new ArrayList<>();
+        navigationCommands.add(new ActionCommand(NAVIGATE_FIRSTROW_CMDID)
+        {
+            @Override
+            protected void doExecuteCommand()
+            {
+                selectRowObject(0, null);
+            }
+        });
+        navigationCommands.add(new ActionCommand(NAVIGATE_PREVIOUSROW_CMDID)
+        {
+            @Override
+            protected void doExecuteCommand()
+            {
+                int newIndex = theTable.getSelectionModel().getAnchorSelectionIndex() - 1;
+                selectRowObject(Math.max(newIndex, 0), null);
+            }
+        });
+        navigationCommands.add(new ActionCommand(NAVIGATE_NEXTROW_CMDID)
+        {
+            @Override
+            protected void doExecuteCommand()
+            {
+                int newIndex = theTable.getSelectionModel().getAnchorSelectionIndex() + 1;
+                selectRowObject(Math.min(newIndex, tableModel.getRowCount() - 1), null);
+            }
+        });
+        navigationCommands.add(new ActionCommand(NAVIGATE_LASTROW_CMDID)
+        {
+            @Override
+            protected void doExecuteCommand()
+            {
+                selectRowObject(tableModel.getRowCount() - 1, null);
+            }
+        });
+
+        for (AbstractCommand navigationCommand : navigationCommands)
+        {
+            getApplicationConfig().commandConfigurer().configure(navigationCommand);
+            navigationCommand.setEnabled(false);
+        }
+        this.navigationCommandGroup = getApplicationConfig().commandManager().createCommandGroup(
+                this.navigationCommands);
+    }
+
+    /**
+     * Sets the rows of the table. A {@link PagedList} is used directly, any other collection is copied.
+     */
+    public final void setRows(Collection newRows)
+    {
+        theTable.clearSelection();
+        pendingSelection = null;
+        pendingSelectionObserver = null;
+        if (newRows instanceof PagedList)
+        {
+            tableModel.setRows((PagedList) newRows);
+        }
+        else
+        {
+            tableModel.setRows(newRows == null ? new ArrayList<Object>() : new ArrayList<Object>(newRows));
+        }
+        scrollToSelectedRow();
+    }
+
+    /**
+     * Re-count the rows of the current {@link PagedList} in the background and drop all loaded pages. Has no
+     * effect when the rows are not paged.
+     */
+    public void refresh()
+    {
+        if (!tableModel.isPaged())
+            return;
+
+        final PagedList current = (PagedList) tableModel.getRows();
+        new SwingWorker<PagedList, Object>()
+        {
+            @Override
+            protected PagedList doInBackground() throws Exception
+            {
+                return new PagedList(current.getDataProvider(), current.getCriteria(),
+                        current.getDataProvider().getRowCount(current.getCriteria()),
+                        current.getMaxCachedPages());
+            }
+
+            @Override
+            protected void done()
+            {
+                try
+                {
+                    if (tableModel.getRows() == current)
+                    {
+                        Object[] selected = getSelectedRows();
+                        tableModel.setRows(get());
+                        if (selected.length > 0)
+                            selectRowObject(selected[0], null);
+                    }
+                }
+                catch (InterruptedException e)
+                {
+                    // someone cancelled the retrieval?
+                }
+                catch (ExecutionException e)
+                {
+                    throw new RuntimeException(e.getCause());
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Returns the rows of the table. For paged data only the rows of the pages in memory are returned,
+     * nothing is fetched from the back-end.
+     */
+    public final List getRows()
+    {
+        return tableModel.isPaged() ? ((PagedList) tableModel.getRows()).getLoadedRows()
+                : new ArrayList<Object>(tableModel.getRows());
+    }
+
+    /**
+     * No local sorting or filtering is done, the visible rows are the same as {@link #getRows()}.
+     */
+    public final List getVisibleRows()
+    {
+        return getRows();
+    }
+
+    public int nrOfRows()
+    {
+        return tableModel.getRowCount();
+    }
+
+    public boolean isEmpty()
+    {
+        return tableModel.getRowCount() == 0;
+    }
+
+    public void addRowObject(Object newObject)
+    {
+        if (tableModel.isPaged())
+        {
+            refresh();
+        }
+        else
+        {
+            tableModel.getRows().add(newObject);
+            int index = tableModel.getRowCount() - 1;
+            tableModel.fireTableRowsInserted(index, index);
+        }
+    }
+
+    public void addRows(Collection rows)
+    {
+        if (tableModel.isPaged())
+        {
+            refresh();
+        }
+        else if (!rows.isEmpty())
+        {
+            int first = tableModel.getRowCount();
+            tableModel.getRows().addAll(rows);
+            tableModel.fireTableRowsInserted(first, tableModel.getRowCount() - 1);
+        }
+    }
+
+    public void removeRowObject(Object objectToRemove)
+    {
+        if (tableModel.isPaged())
+        {
+            refresh();
+        }
+        else
+        {
+            int index = tableModel.indexOf(objectToRemove);
+            if (index != -1)
+            {
+                tableModel.getRows().remove(index);
+                tableModel.fireTableRowsDeleted(index, index);
+            }
+        }
+    }
+
+    /**
+     * Selects the given row object. For paged data an object that isn't in a loaded page is selected once a
+     * page containing it arrives.
+     *
+     * @return the index of the row object or -1 if it isn't loaded (yet).
+     */
+    public int selectRowObject(final Object toPointTo, final Observer originatingObserver)
+    {
+        final int index = tableModel.indexOf(toPointTo);
+        if (index == -1 && toPointTo != null && tableModel.isPaged())
+        {
+            Runnable doSelectPending = new Runnable()
+            {
+                public void run()
+                {
+                    theTable.clearSelection();
+                    // set after clearing, a selection change drops the pending selection
+                    pendingSelection = toPointTo;
+                    pendingSelectionObserver = originatingObserver;
+                }
+            };
+            if (SwingUtilities.isEventDispatchThread())
+            {
+                doSelectPending.run();
+            }
+            else
+            {
+                SwingUtilities.invokeLater(doSelectPending);
+            }
+        }
+        else
+        {
+            selectRowObject(index, originatingObserver);
+        }
+        return index;
+    }
+
+    public void selectRowObject(final int index, final Observer originatingObserver)
+    {
+        Runnable doSelectRowObject = new Runnable()
+        {
+            public void run()
+            {
+                if (originatingObserver != null)
+                {
+                    selectionMonitor.deleteObserver(originatingObserver);
+                }
+
+                if ((index > -1) && (tableModel.getRowCount() > index))
+                {
+                    theTable.getSelectionModel().setSelectionInterval(index, index);
+                }
+                else
+                {
+                    theTable.clearSelection();
+                }
+                scrollToSelectedRow();
+
+                if (originatingObserver != null)
+                {
+                    selectionMonitor.addObserver(originatingObserver);
+                }
+            }
+        };
+        if (SwingUtilities.isEventDispatchThread())
+        {
+            doSelectRowObject.run();
+        }
+        else
+        {
+            SwingUtilities.invokeLater(doSelectRowObject);
+        }
+    }
+
+    public void addSelection(final Object[] rows, final Observer originatingObserver)
+    {
+        Runnable doAddSelection = new Runnable()
+        {
+            public void run()
+            {
+                if (originatingObserver != null)
+                {
+                    selectionMonitor.deleteObserver(originatingObserver);
+                }
+                for (Object row : rows)
+                {
+                    int index = tableModel.indexOf(row);
+                    if (index != -1)
+                    {
+                        theTable.getSelectionModel().addSelectionInterval(index, index);
+                    }
+                }
+                if (originatingObserver != null)
+                {
+                    selectionMonitor.addObserver(originatingObserver);
+                }
+            }
+        };
+        if (SwingUtilities.isEventDispatchThread())
+        {
+            doAddSelection.run();
+        }
+        else
+        {
+            SwingUtilities.invokeLater(doAddSelection);
+        }
+    }
+
+    public void replaceRowObject(Object oldObject, Object newObject, Observer originatingObserver)
+    {
+        int index = tableModel.indexOf(oldObject);
+        if (index == -1)
+            return;
+
+        boolean wasSelected = theTable.getSelectionModel().isSelectedIndex(index);
+        if (wasSelected && (originatingObserver != null))
+        {
+            selectionMonitor.deleteObserver(originatingObserver);
+        }
+
+        if (tableModel.isPaged())
+        {
+            ((PagedList) tableModel.getRows()).replaceLoaded(oldObject, newObject);
+        }
+        else
+        {
+            tableModel.getRows().set(index, newObject);
+        }
+        tableModel.fireTableRowsUpdated(index, index);
+
+        if (wasSelected)
+        {
+            theTable.getSelectionModel().addSelectionInterval(index, index);
+            if (originatingObserver != null)
+            {
+                selectionMonitor.addObserver(originatingObserver);
+            }
+        }
+    }
+
+    public void replaceRows(final Collection oldObject, final Collection newObject)
+    {
+        Runnable doReplaceRows = new Runnable()
+        {
+            public void run()
+            {
+                if (tableModel.isPaged())
+                {
+                    refresh();
+                }
+                else
+                {
+                    tableModel.getRows().removeAll(oldObject);
+                    tableModel.getRows().addAll(newObject);
+                    tableModel.fireTableDataChanged();
+                }
+            }
+        };
+        if (SwingUtilities.isEventDispatchThread())
+        {
+            doReplaceRows.run();
+        }
+        else
+        {
+            SwingUtilities.invokeLater(doReplaceRows);
+        }
+    }
+
+    public void unSelectAll()
+    {
+        Runnable doUnselectAll = new Runnable()
+        {
+            public void run()
+            {
+                theTable.clearSelection();
+            }
+        };
+        if (SwingUtilities.isEventDispatchThread())
+        {
+            doUnselectAll.run();
+        }
+        else
+        {
+            SwingUtilities.invokeLater(doUnselectAll);
+        }
+    }
+
+    /**
+     * Returns the selected rows that are currently loaded.
+     */
+    public Object[] getSelectedRows()
+    {
+        int[] selectedIndexes = theTable.getSelectedRows();
+        List<Object> selected = new ArrayList<Object>(selectedIndexes.length);
+        for (int selectedIndex : selectedIndexes)
+        {
+            Object rowObject = tableModel.getRowObject(theTable.convertRowIndexToModel(selectedIndex));
+            if (rowObject != null)
+            {
+                selected.add(rowObject);
+            }
+        }
+        return selected.toArray();
+    }
+
+    public boolean hasSelection()
+    {
+        return !theTable.getSelectionModel().isSelectionEmpty();
+    }
+
+    public void scrollToSelectedRow()
+    {
+        Runnable doScrollToSelectedRow = new Runnable()
+        {
+            public void run()
+            {
+                if (theTable.isVisible())
+                {
+                    int selectedRow = theTable.getSelectedRow();
+                    if (selectedRow != -1)
+                    {
+                        theTable.scrollRectToVisible(theTable.getCellRect(selectedRow, 0, true));
+                    }
+                    else
+                    {
+                        tableScroller.getViewport().setViewPosition(new Point(0, 0));
+                    }
+                }
+            }
+        };
+        if (SwingUtilities.isEventDispatchThread())
+        {
+            doScrollToSelectedRow.run();
+        }
+        else
+        {
+            SwingUtilities.invokeLater(doScrollToSelectedRow);
+        }
+    }
+
+    public void addSelectionObserver(Observer observer)
+    {
+        selectionMonitor.addObserver(observer);
+    }
+
+    public void removeSelectionObserver(Observer observer)
+    {
+        selectionMonitor.deleteObserver(observer);
+    }
+
+    public void addTableModelListener(TableModelListener listener)
+    {
+        tableModel.addTableModelListener(listener);
+    }
+
+    public void removeTableModelListener(TableModelListener listener)
+    {
+        tableModel.removeTableModelListener(listener);
+    }
+
+    public void updateTable()
+    {
+        tableModel.fireTableDataChanged();
+    }
+
+    public List<AbstractCommand> getNavigationCommands()
+    {
+        return navigationCommands;
+    }
+
+    public JComponent getNavigationButtonBar()
+    {
+        return navigationCommandGroup.createButtonBar(Sizes.PREFERRED, BorderFactory.createEmptyBorder());
+    }
+
+    /**
+     * No select column support, always returns <code>null</code>.
+     */
+    public JComponent getSelectButtonBar()
+    {
+        return null;
+    }
+
+    public JComponent getButtonBar()
+    {
+        return getNavigationButtonBar();
+    }
+
+    public JTable getTable()
+    {
+        return theTable;
+    }
+
+    /**
+     * Filtering is done by the back-end, always returns <code>null</code>.
+     */
+    public JTextField getTextFilterField()
+    {
+        return null;
+    }
+
+    public JLabel getListSummaryLabel()
+    {
+        if (countLabel == null)
+        {
+            countLabel = new JLabel("");
+            setTextForListSummaryLabel();
+            tableModel.addTableModelListener(e -> setTextForListSummaryLabel());
+            theTable.getSelectionModel().addListSelectionListener(e -> {
+                if (!e.getValueIsAdjusting())
+                {
+                    setTextForListSummaryLabel();
+                }
+            });
+        }
+        return countLabel;
+    }
+
+    private void setTextForListSummaryLabel()
+    {
+        int selectedCount = theTable.getSelectedRowCount();
+        int index = selectedCount > 0 ? theTable.getSelectionModel().getMinSelectionIndex() + 1 : 0;
+        countLabel.setText(getApplicationConfig().messageResolver().getMessage("glazedListTableWidget",
+                "listSummary", "label", new Object[]{index, selectedCount, tableModel.getRowCount()}));
+    }
+
+    public JComponent getComponent()
+    {
+        return tableScroller;
+    }
+
+    @Override
+    public void onAboutToShow()
+    {
+        super.onAboutToShow();
+        theTable.requestFocusInWindow();
+    }
+
+    @Override
+    public String getId()
+    {
+        return "pagedTableWidget";
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.application.config.support;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.support.StaticMessageSource;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class IndexedResourceBundleMessageSourceTests {
+
+    private static final String BASENAME = "org.valkyriercp.application.config.support.indexed";
+
+    private static final String OTHER_BASENAME = "org.valkyriercp.application.config.support.other";
+
+    private IndexedResourceBundleMessageSource messageSource;
+
+    @Before
+    public void setUp() {
+        messageSource = new IndexedResourceBundleMessageSource();
+        messageSource.setFallbackToSystemLocale(false);
+        messageSource.setBasenames(BASENAME);
+    }
+
+    @Test
+    public void testCodesOfBaseBundle() {
+        assertEquals(codes("shared", "base.only"), messageSource.getMessageCodes(Locale.ROOT));
+    }
+
+    @Test
+    public void testCodesIncludeParentBundleKeys() {
+        Set<String> codes = messageSource.getMessageCodes(new Locale("nl"));
+        assertEquals(codes("shared", "base.only", "nl.only"), codes);
+        for (String code : codes) {
+            assertNotNull(messageSource.getMessage(code, null, null, new Locale("nl")));
+        }
+    }
+
+    @Test
+    public void testCodesFollowLocaleFallback() {
+        // nl_BE has no bundle of its own and falls back to nl, which falls back to the base bundle
+        assertEquals(codes("shared", "base.only", "nl.only"), messageSource.getMessageCodes(new Locale("nl", "BE")));
+        // a locale without any bundle falls back to the base bundle only
+        assertEquals(codes("shared", "base.only"), messageSource.getMessageCodes(Locale.JAPANESE));
+    }
+
+    @Test
+    public void testCodesAreUnmodifiable() {
+        try {
+            messageSource.getMessageCodes(Locale.ROOT).add("other");
+            fail("codes must be unmodifiable");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testNoCodesWithParentMessageSource() {
+        messageSource.setParentMessageSource(new StaticMessageSource());
+        assertNull(messageSource.getMessageCodes(Locale.ROOT));
+    }
+
+    @Test
+    public void testNoCodesWithCommonMessages() {
+        Properties commonMessages = new Properties();
+        commonMessages.setProperty("common", "Common");
+        messageSource.setCommonMessages(commonMessages);
+        assertNull(messageSource.getMessageCodes(Locale.ROOT));
+    }
+
+    @Test
+    public void testNoCodesWithCodeAsDefaultMessage() {
+        messageSource.setUseCodeAsDefaultMessage(true);
+        assertNull(messageSource.getMessageCodes(Locale.ROOT));
+    }
+
+    @Test
+    public void testNoCodesWhenBundlesAreReloaded() {
+        messageSource.setCacheSeconds(0);
+        assertNull(messageSource.getMessageCodes(Locale.ROOT));
+        messageSource.setCacheSeconds(10);
+        assertNull(messageSource.getMessageCodes(Locale.ROOT));
+        messageSource.setCacheSeconds(-1);
+        assertNotNull(messageSource.getMessageCodes(Locale.ROOT));
+    }
+
+    @Test
+    public void testSetBasenamesInvalidatesCodes() {
+        assertEquals(codes("shared", "base.only"), messageSource.getMessageCodes(Locale.ROOT));
+        messageSource.setBasenames(OTHER_BASENAME);
+        assertEquals(codes("other"), messageSource.getMessageCodes(Locale.ROOT));
+    }
+
+    @Test
+    public void testAddBasenamesInvalidatesCodes() {
+        assertEquals(codes("shared", "base.only"), messageSource.getMessageCodes(Locale.ROOT));
+        messageSource.addBasenames(OTHER_BASENAME);
+        assertEquals(codes("shared", "base.only", "other"), messageSource.getMessageCodes(Locale.ROOT));
+    }
+
+    private static Set<String> codes(String... codes) {
+        return new HashSet<String>(Arrays.asList(codes));
+    }
+}
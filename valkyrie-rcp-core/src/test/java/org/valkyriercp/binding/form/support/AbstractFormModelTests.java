@@ -24,6 +24,7 @@ import org.valkyriercp.convert.service.StaticConversionExecutor;
 import org.valkyriercp.AbstractValkyrieTest;
 import org.valkyriercp.binding.form.CommitListener;
 import org.valkyriercp.binding.form.FormModel;
+import org.valkyriercp.binding.form.FormObjectReplacedListener;
 import org.valkyriercp.binding.support.BeanPropertyAccessStrategy;
 import org.valkyriercp.binding.value.ValueModel;
 import org.valkyriercp.binding.value.support.ValueHolder;
@@ -32,6 +33,9 @@ import org.valkyriercp.test.TestPropertyChangeListener;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
@@ -439,6 +443,80 @@ public abstract class AbstractFormModelTests extends AbstractValkyrieTest {
 		assertEquals(newTestBean, testPCL.lastEvent().getNewValue());
 	}
 
+    @Test
+	public void testCoalescedFormObjectChanges() {
+		final AbstractFormModel fm = getFormModel(new TestBean());
+		assertFalse(fm.isCoalesceFormObjectChanges());
+		fm.setCoalesceFormObjectChanges(true);
+		final ValueModel simpleProperty = fm.getValueModel("simpleProperty");
+		final ValueModel numberProperty = fm.getValueModel("numberProperty");
+		final List<String> replacedValues = new ArrayList<String>();
+		TestFormObjectReplacedListener simplePropertyListener = new TestFormObjectReplacedListener() {
+			public void propertyChange(PropertyChangeEvent evt) {
+				super.propertyChange(evt);
+				replacedValues.add(simpleProperty.getValue() + " " + numberProperty.getValue());
+			}
+		};
+		TestFormObjectReplacedListener numberPropertyListener = new TestFormObjectReplacedListener();
+		simpleProperty.addValueChangeListener(simplePropertyListener);
+		fm.addPropertyChangeListener(FormModel.FORM_OBJECT_REPLACED_PROPERTY, simplePropertyListener);
+		numberProperty.addValueChangeListener(numberPropertyListener);
+		fm.addPropertyChangeListener(FormModel.FORM_OBJECT_REPLACED_PROPERTY, numberPropertyListener);
+		TestPropertyChangeListener otherListener = new TestPropertyChangeListener(ValueModel.VALUE_PROPERTY);
+		simpleProperty.addValueChangeListener(otherListener);
+
+		TestBean newTestBean = new TestBean();
+		newTestBean.setSimpleProperty("NewValue");
+		newTestBean.setNumberProperty(Integer.valueOf(1));
+		fm.setFormObject(newTestBean);
+
+		assertEquals(1, simplePropertyListener.replacedCount);
+		assertEquals(0, simplePropertyListener.valueChangeCount);
+		assertEquals(1, numberPropertyListener.replacedCount);
+		assertEquals(0, numberPropertyListener.valueChangeCount);
+		assertEquals(Collections.singletonList("NewValue 1"), replacedValues);
+		assertSame(newTestBean, numberPropertyListener.lastEvent.getNewValue());
+		// listeners that don't handle the replacement still get the value change
+		otherListener.assertLastEvent(1, null, "NewValue");
+
+		// the same object again is still announced
+		fm.setFormObject(newTestBean);
+		assertEquals(2, numberPropertyListener.replacedCount);
+		otherListener.assertEventCount(1);
+
+		// edits are notified per property
+		simpleProperty.setValue("Edited");
+		assertEquals(1, simplePropertyListener.valueChangeCount);
+		assertEquals(2, simplePropertyListener.replacedCount);
+		assertEquals(0, numberPropertyListener.valueChangeCount);
+
+		fm.setCoalesceFormObjectChanges(false);
+		TestBean otherTestBean = new TestBean();
+		otherTestBean.setNumberProperty(Integer.valueOf(2));
+		fm.setFormObject(otherTestBean);
+		assertEquals(2, simplePropertyListener.valueChangeCount);
+		assertEquals(1, numberPropertyListener.valueChangeCount);
+		assertEquals(2, numberPropertyListener.replacedCount);
+	}
+
+	public static class TestFormObjectReplacedListener implements FormObjectReplacedListener {
+		int replacedCount;
+
+		int valueChangeCount;
+
+		PropertyChangeEvent lastEvent;
+
+		public void propertyChange(PropertyChangeEvent evt) {
+			if (FormModel.FORM_OBJECT_REPLACED_PROPERTY.equals(evt.getPropertyName())) {
+				replacedCount++;
+			}
+			else {
+				valueChangeCount++;
+			}
+			lastEvent = evt;
+		}
+	}
+
 
 	public static class TestCommitListener implements CommitListener {
 		int preEditCalls;
@@ -23,6 +23,7 @@ import org.valkyriercp.binding.form.BindingErrorMessageProvider;
 import org.valkyriercp.binding.form.FormModel;
 import org.valkyriercp.binding.form.ValidatingFormModel;
 import org.valkyriercp.binding.support.BeanPropertyAccessStrategy;
+import org.valkyriercp.binding.validation.SnapshotValidator;
 import org.valkyriercp.binding.validation.ValidationMessage;
 import org.valkyriercp.binding.validation.ValidationResults;
 import org.valkyriercp.binding.validation.ValidationResultsModel;
@@ -35,9 +36,13 @@ import org.valkyriercp.core.Severity;
 import org.valkyriercp.test.TestBean;
 import org.valkyriercp.test.TestPropertyChangeListener;
 
+import javax.swing.*;
+import java.util.LinkedList;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -86,6 +91,29 @@ public class DefaultFormModelTests extends AbstractFormModelTests {
         assertEquals(expectedCount++, v.count);
     }
 
+    @Test
+    public void testSetFormObjectValidatesOnce() {
+        DefaultFormModel fm = (DefaultFormModel) getFormModel(new TestBean());
+        TestValidator v = new TestValidator();
+        fm.setValidator(v);
+        fm.getValueModel("simpleProperty");
+        fm.getValueModel("numberProperty");
+        int count = v.count;
+
+        TestBean newBean = new TestBean();
+        newBean.setSimpleProperty("1");
+        newBean.setNumberProperty(Integer.valueOf(1));
+        fm.setFormObject(newBean);
+        assertEquals(count + 1, v.count);
+
+        // no property changed, no validation triggered.
+        TestBean sameValues = new TestBean();
+        sameValues.setSimpleProperty("1");
+        sameValues.setNumberProperty(Integer.valueOf(1));
+        fm.setFormObject(sameValues);
+        assertEquals(count + 1, v.count);
+    }
+
     @Test
     public void testValidationMessages() {
     	DefaultFormModel fm = (DefaultFormModel) getFormModel(new TestBean());
@@ -278,6 +306,82 @@ public class DefaultFormModelTests extends AbstractFormModelTests {
         assertEquals(testBean, model.getFormObject());
     }
 
+    @Test
+    public void testAsyncValidationCoalescesRequestsAndDiscardsStaleResults() throws Exception {
+        DefaultFormModel fm = (DefaultFormModel) getFormModel(new TestBean());
+        TestSnapshotValidator v = new TestSnapshotValidator();
+        fm.setValidator(v);
+        QueueingExecutor executor = new QueueingExecutor();
+        fm.setValidationExecutor(executor);
+        ValueModel vm = fm.getValueModel("simpleProperty");
+        executor.runAll();
+
+        vm.setValue("1");
+        assertEquals(1, executor.queue.size());
+        assertTrue(fm.isValidationPending());
+        // changes while validating are coalesced into one follow-up validation
+        vm.setValue("2");
+        vm.setValue("3");
+        assertEquals(1, executor.queue.size());
+
+        executor.runNext();
+        assertEquals(1, v.snapshotCount);
+        // the results of "1" are stale and must not be published
+        assertEquals(0, fm.getValidationResults().getMessageCount());
+        assertEquals(1, executor.queue.size());
+
+        executor.runNext();
+        assertEquals(2, v.snapshotCount);
+        assertFalse(fm.isValidationPending());
+        assertEquals(1, fm.getValidationResults().getMessageCount());
+        assertContainsMessage("3", fm.getValidationResults().getMessages());
+    }
+
+    @Test
+    public void testAsyncValidationAccumulatesAllProperties() throws Exception {
+        DefaultFormModel fm = (DefaultFormModel) getFormModel(new TestBean());
+        TestSnapshotValidator v = new TestSnapshotValidator();
+        v.validatedProperties = new String[] {"simpleProperty", "numberProperty"};
+        fm.setValidator(v);
+        QueueingExecutor executor = new QueueingExecutor();
+        fm.setValidationExecutor(executor);
+        ValueModel simple = fm.getValueModel("simpleProperty");
+        ValueModel number = fm.getValueModel("numberProperty");
+        executor.runAll();
+
+        simple.setValue("1");
+        number.setValue(Integer.valueOf(2));
+        executor.runAll();
+        assertEquals(2, fm.getValidationResults().getMessageCount());
+        assertEquals(1, fm.getValidationResults().getMessageCount("simpleProperty"));
+        assertEquals(1, fm.getValidationResults().getMessageCount("numberProperty"));
+    }
+
+    @Test
+    public void testFlushValidationDoesNotWaitForRunningValidation() throws Exception {
+        DefaultFormModel fm = (DefaultFormModel) getFormModel(new TestBean());
+        TestSnapshotValidator v = new TestSnapshotValidator();
+        fm.setValidator(v);
+        QueueingExecutor executor = new QueueingExecutor();
+        fm.setValidationExecutor(executor);
+        ValueModel vm = fm.getValueModel("simpleProperty");
+        executor.runAll();
+        v.results = getValidationResults("sync");
+        int count = v.count;
+
+        vm.setValue("1");
+        assertTrue(fm.isValidationPending());
+        fm.flushValidation();
+        assertFalse(fm.isValidationPending());
+        assertEquals(count + 1, v.count);
+        assertContainsMessage("sync", fm.getValidationResults().getMessages());
+
+        // the results of the validation started before the flush are discarded
+        executor.runAll();
+        assertEquals(1, fm.getValidationResults().getMessageCount());
+        assertContainsMessage("sync", fm.getValidationResults().getMessages());
+    }
+
     private DefaultValidationResults getValidationResults(String message) {
         DefaultValidationResults res = new DefaultValidationResults();
         res.addMessage("simpleProperty", Severity.ERROR, message);
@@ -301,6 +405,52 @@ public class DefaultFormModelTests extends AbstractFormModelTests {
         }
     }
 
+    public static class TestSnapshotValidator extends TestValidator implements SnapshotValidator {
+
+        public String[] validatedProperties = new String[] {"simpleProperty"};
+
+        public int snapshotCount;
+
+        public ValidationResults validateSnapshot(FormModelSnapshot snapshot) {
+            snapshotCount++;
+            DefaultValidationResults res = new DefaultValidationResults();
+            for (int i = 0; i < validatedProperties.length; i++) {
+                Object value = snapshot.getPropertyValue(validatedProperties[i]);
+                if (value != null) {
+                    res.addMessage(validatedProperties[i], Severity.ERROR, String.valueOf(value));
+                }
+            }
+            return res;
+        }
+    }
+
+    /**
+     * Queues the validations and runs them on demand, waiting for the results
+     * to be published on the EDT.
+     */
+    private static class QueueingExecutor implements Executor {
+
+        private final LinkedList<Runnable> queue = new LinkedList<Runnable>();
+
+        public void execute(Runnable command) {
+            queue.add(command);
+        }
+
+        public void runNext() throws Exception {
+            queue.removeFirst().run();
+            SwingUtilities.invokeAndWait(new Runnable() {
+                public void run() {
+                }
+            });
+        }
+
+        public void runAll() throws Exception {
+            while (!queue.isEmpty()) {
+                runNext();
+            }
+        }
+    }
+
     public class ErrorBean {
         public RuntimeException errorToThrow = new UnsupportedOperationException();
 
@@ -0,0 +1,374 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.binding.form.support;
+
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.valkyriercp.TestApplicationConfig;
+import org.valkyriercp.binding.form.FormModel;
+import org.valkyriercp.form.binding.support.CustomBinding;
+
+import javax.swing.*;
+
+/**
+ * Times row to row navigation of a detail form: replacing the form object of a
+ * buffered form model whose properties are each bound to a text field, with
+ * and without coalesced form object changes. Run with
+ * <code>main</code>; it is not part of the test suite.
+ */
+public class FormObjectSwapBenchmark {
+
+    private static final int PROPERTIES = 24;
+
+    private static final int ROWS = 100;
+
+    private static final int WARMUP_SWAPS = 5000;
+
+    private static final int SWAPS = 20000;
+
+    public static void main(String[] args) throws Exception {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+                TestApplicationConfig.class);
+        try {
+            SwingUtilities.invokeAndWait(new Runnable() {
+                public void run() {
+                    for (int i = 0; i < 2; i++) {
+                        benchmark(false);
+                        benchmark(true);
+                    }
+                }
+            });
+        }
+        finally {
+            context.close();
+        }
+    }
+
+    private static void benchmark(boolean coalesce) {
+        Row[] rows = createRows();
+        DefaultFormModel formModel = new DefaultFormModel(rows[0]);
+        formModel.setCoalesceFormObjectChanges(coalesce);
+        FieldBinding[] bindings = new FieldBinding[PROPERTIES];
+        for (int i = 0; i < PROPERTIES; i++) {
+            bindings[i] = new FieldBinding(formModel, "p" + i);
+            bindings[i].getControl();
+        }
+
+        for (int i = 0; i < WARMUP_SWAPS; i++) {
+            formModel.setFormObject(rows[i % ROWS]);
+        }
+        int notifications = 0;
+        for (FieldBinding binding : bindings) {
+            notifications -= binding.notifications;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < SWAPS; i++) {
+            formModel.setFormObject(rows[i % ROWS]);
+        }
+        long elapsed = System.nanoTime() - start;
+        for (FieldBinding binding : bindings) {
+            notifications += binding.notifications;
+        }
+        System.out.println((coalesce ? "coalesced" : "per property") + ": " + (elapsed / SWAPS / 1000.0)
+                + " us per row, " + ((double) notifications / SWAPS) + " binding notifications per row");
+    }
+
+    private static Row[] createRows() {
+        Row[] rows = new Row[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            rows[i] = new Row();
+            BeanWrapperImpl beanWrapper = new BeanWrapperImpl(rows[i]);
+            for (int j = 0; j < PROPERTIES; j++) {
+                // neighbouring rows share some values, like real master data
+                beanWrapper.setPropertyValue("p" + j, "value " + j + " " + (i * j % 7));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Shows the property in a text field.
+     */
+    private static class FieldBinding extends CustomBinding {
+
+        private final JTextField textField = new JTextField();
+
+        private int notifications;
+
+        FieldBinding(FormModel formModel, String property) {
+            super(formModel, property, String.class);
+        }
+
+        protected JComponent doBindControl() {
+            textField.setText((String) getValue());
+            return textField;
+        }
+
+        protected void valueModelChanged(Object newValue) {
+            notifications++;
+            textField.setText((String) newValue);
+        }
+
+        protected void readOnlyChanged() {
+        }
+
+        protected void enabledChanged() {
+        }
+    }
+
+    public static class Row {
+
+        private String p0;
+
+        public String getP0() {
+            return p0;
+        }
+
+        public void setP0(String p0) {
+            this.p0 = p0;
+        }
+
+        private String p1;
+
+        public String getP1() {
+            return p1;
+        }
+
+        public void setP1(String p1) {
+            this.p1 = p1;
+        }
+
+        private String p2;
+
+        public String getP2() {
+            return p2;
+        }
+
+        public void setP2(String p2) {
+            this.p2 = p2;
+        }
+
+        private String p3;
+
+        public String getP3() {
+            return p3;
+        }
+
+        public void setP3(String p3) {
+            this.p3 = p3;
+        }
+
+        private String p4;
+
+        public String getP4() {
+            return p4;
+        }
+
+        public void setP4(String p4) {
+            this.p4 = p4;
+        }
+
+        private String p5;
+
+        public String getP5() {
+            return p5;
+        }
+
+        public void setP5(String p5) {
+            this.p5 = p5;
+        }
+
+        private String p6;
+
+        public String getP6() {
+            return p6;
+        }
+
+        public void setP6(String p6) {
+            this.p6 = p6;
+        }
+
+        private String p7;
+
+        public String getP7() {
+            return p7;
+        }
+
+        public void setP7(String p7) {
+            this.p7 = p7;
+        }
+
+        private String p8;
+
+        public String getP8() {
+            return p8;
+        }
+
+        public void setP8(String p8) {
+            this.p8 = p8;
+        }
+
+        private String p9;
+
+        public String getP9() {
+            return p9;
+        }
+
+        public void setP9(String p9) {
+            this.p9 = p9;
+        }
+
+        private String p10;
+
+        public String getP10() {
+            return p10;
+        }
+
+        public void setP10(String p10) {
+            this.p10 = p10;
+        }
+
+        private String p11;
+
+        public String getP11() {
+            return p11;
+        }
+
+        public void setP11(String p11) {
+            this.p11 = p11;
+        }
+
+        private String p12;
+
+        public String getP12() {
+            return p12;
+        }
+
+        public void setP12(String p12) {
+            this.p12 = p12;
+        }
+
+        private String p13;
+
+        public String getP13() {
+            return p13;
+        }
+
+        public void setP13(String p13) {
+            this.p13 = p13;
+        }
+
+        private String p14;
+
+        public String getP14() {
+            return p14;
+        }
+
+        public void setP14(String p14) {
+            this.p14 = p14;
+        }
+
+        private String p15;
+
+        public String getP15() {
+            return p15;
+        }
+
+        public void setP15(String p15) {
+            this.p15 = p15;
+        }
+
+        private String p16;
+
+        public String getP16() {
+            return p16;
+        }
+
+        public void setP16(String p16) {
+            this.p16 = p16;
+        }
+
+        private String p17;
+
+        public String getP17() {
+            return p17;
+        }
+
+        public void setP17(String p17) {
+            this.p17 = p17;
+        }
+
+        private String p18;
+
+        public String getP18() {
+            return p18;
+        }
+
+        public void setP18(String p18) {
+            this.p18 = p18;
+        }
+
+        private String p19;
+
+        public String getP19() {
+            return p19;
+        }
+
+        public void setP19(String p19) {
+            this.p19 = p19;
+        }
+
+        private String p20;
+
+        public String getP20() {
+            return p20;
+        }
+
+        public void setP20(String p20) {
+            this.p20 = p20;
+        }
+
+        private String p21;
+
+        public String getP21() {
+            return p21;
+        }
+
+        public void setP21(String p21) {
+            this.p21 = p21;
+        }
+
+        private String p22;
+
+        public String getP22() {
+            return p22;
+        }
+
+        public void setP22(String p22) {
+            this.p22 = p22;
+        }
+
+        private String p23;
+
+        public String getP23() {
+            return p23;
+        }
+
+        public void setP23(String p23) {
+            this.p23 = p23;
+        }
+    }
+}
@@ -214,6 +214,70 @@ public class DefaultValidationResultsModelTests extends AbstractValkyrieTest {
     	assertEquals("Child removed, revalidate InfoMessages.", Boolean.FALSE, infoListener.lastEvent().getNewValue());
     }
 
+    @Test
+    public void testChildSeverityCounters() {
+        DefaultValidationResultsModel errorChild = new DefaultValidationResultsModel();
+        ValidationMessage childError = new DefaultValidationMessage("childProperty1", Severity.ERROR, "childError");
+        errorChild.addMessage(childError);
+        errorChild.addMessage(new DefaultValidationMessage("childProperty1", Severity.INFO, "childInfo"));
+        DefaultValidationResultsModel warningChild = new DefaultValidationResultsModel();
+        warningChild.updateValidationResults(getResults("childProperty2", Severity.WARNING));
+
+        vrm.add(errorChild);
+        vrm.add(warningChild);
+        vrm.add(errorChild);
+        assertSeverities(true, true, true);
+        assertMessageCounts(1, 1, 1);
+
+        // the error of one child is replaced by a warning, the other child still has a warning
+        ValidationMessage childWarning = new DefaultValidationMessage("childProperty1", Severity.WARNING, "childWarning");
+        errorChild.replaceMessage(childError, childWarning);
+        assertSeverities(false, true, true);
+        assertMessageCounts(0, 2, 1);
+        assertEquals(Boolean.FALSE, errorsListener.lastEvent().getNewValue());
+
+        warningChild.updateValidationResults(getResults("childProperty2", Severity.ERROR));
+        assertSeverities(true, true, true);
+        assertMessageCounts(1, 1, 1);
+
+        // replacing all results of a child only drops the severities no other child has
+        errorChild.updateValidationResults(getResults("childProperty1", Severity.ERROR));
+        assertSeverities(true, false, false);
+        assertMessageCounts(2, 0, 0);
+
+        vrm.remove(warningChild);
+        assertSeverities(true, false, false);
+        assertMessageCounts(1, 0, 0);
+
+        // a removed child no longer counts, whatever its severities become
+        warningChild.updateValidationResults(getResults("childProperty2", Severity.WARNING));
+        assertSeverities(true, false, false);
+        assertMessageCounts(1, 0, 0);
+
+        vrm.remove(errorChild);
+        vrm.remove(errorChild);
+        assertSeverities(false, false, false);
+        assertMessageCounts(0, 0, 0);
+        assertEquals(Boolean.FALSE, errorsListener.lastEvent().getNewValue());
+
+        vrm.updateValidationResults(getResults("field1", Severity.INFO));
+        vrm.add(warningChild);
+        assertSeverities(false, true, true);
+        assertMessageCounts(0, 1, 1);
+    }
+
+    private void assertSeverities(boolean hasErrors, boolean hasWarnings, boolean hasInfo) {
+        assertEquals("hasErrors", hasErrors, vrm.getHasErrors());
+        assertEquals("hasWarnings", hasWarnings, vrm.getHasWarnings());
+        assertEquals("hasInfo", hasInfo, vrm.getHasInfo());
+    }
+
+    private void assertMessageCounts(int errors, int warnings, int info) {
+        assertEquals("errors", errors, vrm.getMessageCount(Severity.ERROR));
+        assertEquals("warnings", warnings, vrm.getMessageCount(Severity.WARNING));
+        assertEquals("info", info, vrm.getMessageCount(Severity.INFO));
+    }
+
     private ValidationResults getResults(String field, Severity severity) {
         DefaultValidationResults vr = new DefaultValidationResults();
         vr.addMessage(field, severity, "");
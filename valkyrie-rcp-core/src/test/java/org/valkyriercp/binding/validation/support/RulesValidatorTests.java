@@ -0,0 +1,91 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.binding.validation.support;
+
+import org.junit.Test;
+import org.valkyriercp.AbstractValkyrieTest;
+import org.valkyriercp.binding.form.support.DefaultFormModel;
+import org.valkyriercp.binding.form.support.FormModelSnapshot;
+import org.valkyriercp.binding.validation.ValidationMessage;
+import org.valkyriercp.binding.validation.ValidationResults;
+import org.valkyriercp.core.Severity;
+import org.valkyriercp.rules.Rules;
+import org.valkyriercp.rules.support.DefaultRulesSource;
+import org.valkyriercp.test.TestBean;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class RulesValidatorTests extends AbstractValkyrieTest {
+
+    @Test
+    public void testValidateSnapshotOfSubclassOffTheEdt() throws Exception {
+        DefaultRulesSource rulesSource = new DefaultRulesSource();
+        Rules rules = new Rules(TestBean.class);
+        rules.add(rules.required("simpleProperty"));
+        rulesSource.addRules(rules);
+
+        // every subclass misses the registered type and resolves through the type hierarchy
+        TestBean[] beans = new TestBean[] {new SubBean1(), new SubBean2(), new SubBean3(), new SubBean4()};
+        List<Callable<ValidationResults>> validations = new ArrayList<Callable<ValidationResults>>();
+        for (int i = 0; i < beans.length; i++) {
+            DefaultFormModel formModel = new DefaultFormModel(beans[i]);
+            formModel.getValueModel("simpleProperty");
+            final RulesValidator validator = new RulesValidator(formModel, rulesSource);
+            final FormModelSnapshot snapshot = new FormModelSnapshot(formModel);
+            validations.add(new Callable<ValidationResults>() {
+                public ValidationResults call() {
+                    assertFalse(SwingUtilities.isEventDispatchThread());
+                    return validator.validateSnapshot(snapshot);
+                }
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(beans.length);
+        try {
+            List<Future<ValidationResults>> results = executor.invokeAll(validations);
+            for (Future<ValidationResults> result : results) {
+                ValidationResults validationResults = result.get();
+                assertEquals(1, validationResults.getMessageCount());
+                ValidationMessage message = (ValidationMessage) validationResults.getMessages().iterator().next();
+                assertEquals("simpleProperty", message.getProperty());
+                assertEquals(Severity.ERROR, message.getSeverity());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertSame(rules, rulesSource.getRules(SubBean1.class));
+    }
+
+    public static class SubBean1 extends TestBean {
+    }
+
+    public static class SubBean2 extends TestBean {
+    }
+
+    public static class SubBean3 extends TestBean {
+    }
+
+    public static class SubBean4 extends TestBean {
+    }
+}
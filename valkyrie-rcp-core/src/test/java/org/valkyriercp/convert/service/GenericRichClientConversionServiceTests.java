@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.convert.service;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.valkyriercp.convert.ConversionExecutor;
+import org.valkyriercp.convert.ConversionExecutorNotFoundException;
+import org.valkyriercp.convert.converters.Converter;
+
+import static org.junit.Assert.*;
+
+public class GenericRichClientConversionServiceTests {
+
+    private GenericConversionService delegate;
+
+    private GenericRichClientConversionService conversionService;
+
+    @Before
+    public void setUp() {
+        delegate = new GenericConversionService();
+        conversionService = new GenericRichClientConversionService(delegate);
+    }
+
+    @Test
+    public void testConversionExecutorIsCached() {
+        ConversionExecutor executor = conversionService.getConversionExecutor(Source.class, Source.class);
+        assertEquals(1, conversionService.getCacheMissCount());
+        assertSame(executor, conversionService.getConversionExecutor(Source.class, Source.class));
+        assertEquals(1, conversionService.getCacheMissCount());
+        assertEquals(1, conversionService.getCacheHitCount());
+    }
+
+    @Test
+    public void testAddConverterInvalidatesCachedMiss() {
+        assertNotConvertible(null);
+        assertNotConvertible(null);
+        assertEquals(1, conversionService.getCacheMissCount());
+        assertEquals(1, conversionService.getCacheHitCount());
+
+        conversionService.addConverter(new SourceToTarget());
+
+        ConversionExecutor executor = conversionService.getConversionExecutor(Source.class, Target.class);
+        assertEquals(2, conversionService.getCacheMissCount());
+        assertTrue(executor.execute(new Source()) instanceof Target);
+    }
+
+    @Test
+    public void testAddCustomConverterInvalidatesCachedMiss() {
+        assertNotConvertible("custom");
+
+        conversionService.addConverter("custom", new SourceToTarget());
+
+        ConversionExecutor executor = conversionService.getConversionExecutor("custom", Source.class, Target.class);
+        assertTrue(executor.execute(new Source()) instanceof Target);
+        assertSame(executor, conversionService.getConversionExecutor("custom", Source.class, Target.class));
+    }
+
+    @Test
+    public void testSetParentInvalidatesCachedMiss() {
+        assertNotConvertible(null);
+
+        GenericRichClientConversionService parent = new GenericRichClientConversionService(
+                new GenericConversionService());
+        parent.addConverter(new SourceToTarget());
+        conversionService.setParent(parent);
+
+        ConversionExecutor executor = conversionService.getConversionExecutor(Source.class, Target.class);
+        assertTrue(executor.execute(new Source()) instanceof Target);
+    }
+
+    @Test
+    public void testClearCacheAfterRegisteringOnDelegate() {
+        assertNotConvertible(null);
+
+        delegate.addConverter(Source.class, Target.class, source -> new Target());
+        // converters registered on the delegate are not detected
+        assertNotConvertible(null);
+
+        conversionService.clearConversionExecutorCache();
+        ConversionExecutor executor = conversionService.getConversionExecutor(Source.class, Target.class);
+        assertTrue(executor.execute(new Source()) instanceof Target);
+    }
+
+    private void assertNotConvertible(String id) {
+        try {
+            if (id == null) {
+                conversionService.getConversionExecutor(Source.class, Target.class);
+            } else {
+                conversionService.getConversionExecutor(id, Source.class, Target.class);
+            }
+            fail("Source should not be convertible to Target");
+        } catch (ConversionExecutorNotFoundException e) {
+            // expected
+        }
+    }
+
+    public static class Source {
+    }
+
+    public static class Target {
+    }
+
+    private static class SourceToTarget implements Converter {
+
+        public Class<?> getSourceClass() {
+            return Source.class;
+        }
+
+        public Class<?> getTargetClass() {
+            return Target.class;
+        }
+
+        public Object convertSourceToTargetClass(Object source, Class<?> targetClass) {
+            return new Target();
+        }
+    }
+}
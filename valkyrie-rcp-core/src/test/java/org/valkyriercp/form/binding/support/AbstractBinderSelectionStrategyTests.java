@@ -0,0 +1,81 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.form.binding.support;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.valkyriercp.binding.form.FormModel;
+import org.valkyriercp.form.binding.Binder;
+import org.valkyriercp.form.binding.Binding;
+
+import javax.swing.*;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class AbstractBinderSelectionStrategyTests {
+
+    private AbstractBinderSelectionStrategy strategy;
+
+    @Before
+    public void setUp() {
+        strategy = new AbstractBinderSelectionStrategy(JTextField.class) {
+        };
+    }
+
+    @Test
+    public void testFindsBinderOfClosestTypeWithPropertyName() {
+        Binder numberValue = new TestBinder();
+        Binder objectValue = new TestBinder();
+        Binder objectName = new TestBinder();
+        strategy.registerBinderForPropertyName(Number.class, "value", numberValue);
+        strategy.registerBinderForPropertyName(Object.class, "value", objectValue);
+        strategy.registerBinderForPropertyName(Object.class, "name", objectName);
+
+        assertSame(numberValue, strategy.findBinderByPropertyName(Integer.class, "value"));
+        assertSame(objectValue, strategy.findBinderByPropertyName(String.class, "value"));
+        // Number has binders, but none for this property
+        assertSame(objectName, strategy.findBinderByPropertyName(Integer.class, "name"));
+        assertNull(strategy.findBinderByPropertyName(Integer.class, "other"));
+    }
+
+    @Test
+    public void testRegistrationOverridesRememberedLookups() {
+        Binder numberValue = new TestBinder();
+        Binder integerValue = new TestBinder();
+        Binder numberName = new TestBinder();
+        strategy.registerBinderForPropertyName(Number.class, "value", numberValue);
+        assertNull(strategy.findBinderByPropertyName(Integer.class, "name"));
+        assertSame(numberValue, strategy.findBinderByPropertyName(Integer.class, "value"));
+
+        strategy.registerBinderForPropertyName(Number.class, "name", numberName);
+        strategy.registerBinderForPropertyName(Integer.class, "value", integerValue);
+        assertSame(numberName, strategy.findBinderByPropertyName(Integer.class, "name"));
+        assertSame(integerValue, strategy.findBinderByPropertyName(Integer.class, "value"));
+        assertSame(numberValue, strategy.findBinderByPropertyName(Long.class, "value"));
+    }
+
+    private static class TestBinder implements Binder {
+
+        public Binding bind(FormModel formModel, String formPropertyPath, Map context) {
+            throw new UnsupportedOperationException();
+        }
+
+        public Binding bind(JComponent control, FormModel formModel, String formPropertyPath, Map context) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.image;
+
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ImageCacheTests {
+
+    private final List<String> loadedKeys = new ArrayList<String>();
+
+    private ImageCache<BufferedImage> createCache() {
+        return new ImageCache<BufferedImage>(key -> {
+            loadedKeys.add(key);
+            int size = Integer.parseInt(key.substring(0, key.indexOf('-')));
+            return new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        }, ImageCache::imageWeight);
+    }
+
+    @Test
+    public void testHitsAndMisses() {
+        ImageCache<BufferedImage> cache = createCache();
+        BufferedImage image = cache.get("10-a");
+        assertSame(image, cache.get("10-a"));
+        assertEquals(1, loadedKeys.size());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(10 * 10 * 4, cache.getWeight());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedByWeight() {
+        ImageCache<BufferedImage> cache = createCache();
+        cache.setSoftReferences(false);
+        cache.setMaxWeight(3 * 10 * 10 * 4);
+        cache.get("10-a");
+        cache.get("10-b");
+        cache.get("10-c");
+        cache.get("10-a");
+        cache.get("10-d");
+        assertEquals(3, cache.getSize());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(3 * 10 * 10 * 4, cache.getWeight());
+
+        loadedKeys.clear();
+        cache.get("10-a");
+        assertTrue(loadedKeys.isEmpty());
+        cache.get("10-b");
+        assertEquals(1, loadedKeys.size());
+    }
+
+    @Test
+    public void testEvictedValuesAreKeptSoftly() {
+        ImageCache<BufferedImage> cache = createCache();
+        cache.setMaxWeight(10 * 10 * 4);
+        BufferedImage first = cache.get("10-a");
+        cache.get("10-b");
+        assertEquals(1, cache.getSize());
+        assertEquals(1, cache.getSoftSize());
+
+        assertSame(first, cache.get("10-a"));
+        assertEquals(1, cache.getSoftHitCount());
+        assertEquals(2, loadedKeys.size());
+    }
+
+    @Test
+    public void testValueHeavierThanMaximumIsNotKeptStrongly() {
+        ImageCache<BufferedImage> cache = createCache();
+        cache.setMaxWeight(100);
+        cache.get("10-a");
+        assertEquals(0, cache.getSize());
+        assertEquals(0, cache.getWeight());
+    }
+
+    @Test
+    public void testLoweringMaximumEvicts() {
+        ImageCache<BufferedImage> cache = createCache();
+        cache.get("10-a");
+        cache.get("10-b");
+        cache.setMaxWeight(10 * 10 * 4);
+        assertEquals(1, cache.getSize());
+        assertEquals(1, cache.getEvictionCount());
+        cache.clear();
+        assertEquals(0, cache.getWeight());
+    }
+}
@@ -0,0 +1,218 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.list;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares the lookups of the prefix index with the linear scan, both listening to the same model.
+ */
+public class ComboBoxAutoCompletionTests {
+
+    private static final Object NULL_STRING = new Object() {
+        public String toString() {
+            return null;
+        }
+    };
+
+    private TestComboBoxModel model;
+
+    private ComboBoxAutoCompletion indexed;
+
+    private ComboBoxAutoCompletion linear;
+
+    @Before
+    public void setUp() {
+        model = new TestComboBoxModel();
+        model.addAll(0, Arrays.<Object> asList("beta", "Alpha", "alpha", "beta", "gamma", null, "", NULL_STRING, "Alphabet"));
+        indexed = new ComboBoxAutoCompletion(new JComboBox(model));
+        indexed.setPrefixIndexEnabled(true);
+        linear = new ComboBoxAutoCompletion(new JComboBox(model));
+        assertTrue(indexed.isPrefixIndexEnabled());
+        assertFalse(linear.isPrefixIndexEnabled());
+    }
+
+    @Test
+    public void testLookupMatchesLinearScan() {
+        assertLookupsMatch();
+        assertSame(model.getElementAt(1), indexed.lookupItem("al"));
+        assertSame(model.getElementAt(0), indexed.lookupItem("BETA"));
+        assertNull(indexed.lookupItem("delta"));
+        assertNull(indexed.lookupItem("alphax"));
+    }
+
+    @Test
+    public void testSelectedItemIsPreferred() {
+        model.setSelectedItem("alpha");
+        assertSame(model.getElementAt(2), indexed.lookupItem("al"));
+        assertLookupsMatch();
+    }
+
+    @Test
+    public void testIncrementalAdd() {
+        model.add(0, "Alp");
+        assertSame(model.getElementAt(0), indexed.lookupItem("al"));
+        assertLookupsMatch();
+
+        model.addAll(3, Arrays.<Object> asList("delta", "Beta", "epsilon"));
+        assertSame(model.getElementAt(3), indexed.lookupItem("d"));
+        assertLookupsMatch();
+
+        model.add(model.getSize(), "zeta");
+        assertLookupsMatch();
+    }
+
+    @Test
+    public void testIncrementalRemove() {
+        model.remove(1, 1);
+        assertSame(model.getElementAt(1), indexed.lookupItem("alpha"));
+        assertLookupsMatch();
+
+        // removes one of the duplicate "beta" items
+        model.remove(0, 0);
+        assertSame(model.getElementAt(1), indexed.lookupItem("b"));
+        assertLookupsMatch();
+
+        model.remove(0, model.getSize() - 1);
+        assertNull(indexed.lookupItem("b"));
+        assertNull(indexed.lookupItem(""));
+        assertLookupsMatch();
+    }
+
+    @Test
+    public void testIncrementalChange() {
+        model.set(1, "delta");
+        assertSame(model.getElementAt(2), indexed.lookupItem("alpha"));
+        assertSame(model.getElementAt(1), indexed.lookupItem("d"));
+        assertLookupsMatch();
+
+        model.set(2, NULL_STRING);
+        model.set(5, "Alpine");
+        assertSame(model.getElementAt(5), indexed.lookupItem("al"));
+        assertLookupsMatch();
+    }
+
+    @Test
+    public void testRandomChanges() {
+        Random random = new Random(42);
+        String[] words = {"a", "ab", "Abc", "abd", "b", "B", "ba", "", "c"};
+        for (int i = 0; i < 300; i++) {
+            int size = model.getSize();
+            int op = random.nextInt(4);
+            if (op == 0 || size == 0) {
+                model.add(random.nextInt(size + 1), words[random.nextInt(words.length)]);
+            }
+            else if (op == 1) {
+                List<Object> added = new ArrayList<Object>();
+                for (int j = random.nextInt(4); j >= 0; j--) {
+                    added.add(words[random.nextInt(words.length)]);
+                }
+                model.addAll(random.nextInt(size + 1), added);
+            }
+            else if (op == 2) {
+                int index0 = random.nextInt(size);
+                model.remove(index0, Math.min(size - 1, index0 + random.nextInt(3)));
+            }
+            else {
+                model.set(random.nextInt(size), words[random.nextInt(words.length)]);
+            }
+            assertLookupsMatch();
+        }
+    }
+
+    @Test
+    public void testDisablingIndex() {
+        indexed.setPrefixIndexEnabled(false);
+        model.add(0, "Alp");
+        assertSame(model.getElementAt(0), indexed.lookupItem("al"));
+        indexed.setPrefixIndexEnabled(true);
+        assertSame(model.getElementAt(0), indexed.lookupItem("al"));
+        assertLookupsMatch();
+    }
+
+    private void assertLookupsMatch() {
+        Set<String> patterns = new LinkedHashSet<String>(Arrays.asList("", "x", "ALPHA", "Alphabets", "b"));
+        for (int i = 0; i < model.getSize(); i++) {
+            Object item = model.getElementAt(i);
+            String string = item == null || item.toString() == null ? "" : item.toString();
+            for (int length = 0; length <= string.length(); length++) {
+                patterns.add(string.substring(0, length));
+                patterns.add(string.substring(0, length).toUpperCase());
+            }
+        }
+        for (String pattern : patterns) {
+            assertSame("lookup of '" + pattern + "'", linear.lookupItem(pattern), indexed.lookupItem(pattern));
+        }
+    }
+
+    /**
+     * Combobox model reporting the exact range of each change.
+     */
+    private static class TestComboBoxModel extends AbstractListModel implements ComboBoxModel {
+
+        private final List<Object> items = new ArrayList<Object>();
+
+        private Object selectedItem;
+
+        public int getSize() {
+            return items.size();
+        }
+
+        public Object getElementAt(int index) {
+            return items.get(index);
+        }
+
+        public Object getSelectedItem() {
+            return selectedItem;
+        }
+
+        public void setSelectedItem(Object selectedItem) {
+            this.selectedItem = selectedItem;
+            fireContentsChanged(this, -1, -1);
+        }
+
+        void add(int index, Object item) {
+            items.add(index, item);
+            fireIntervalAdded(this, index, index);
+        }
+
+        void addAll(int index, List<Object> added) {
+            items.addAll(index, added);
+            fireIntervalAdded(this, index, index + added.size() - 1);
+        }
+
+        void remove(int index0, int index1) {
+            items.subList(index0, index1 + 1).clear();
+            fireIntervalRemoved(this, index0, index1);
+        }
+
+        void set(int index, Object item) {
+            items.set(index, item);
+            fireContentsChanged(this, index, index);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.list;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.valkyriercp.rules.constraint.Constraint;
+
+import javax.swing.*;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Observable;
+import java.util.Random;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.*;
+
+public class DefaultFilteredListModelTests {
+
+    private static class PrefixConstraint extends Observable implements Constraint {
+        private String prefix = "";
+
+        public void setPrefix(String prefix) {
+            this.prefix = prefix;
+            setChanged();
+            notifyObservers();
+        }
+
+        public boolean test(Object argument) {
+            return ((String) argument).startsWith(prefix);
+        }
+    }
+
+    private DefaultListModel model;
+
+    private PrefixConstraint constraint;
+
+    private DefaultFilteredListModel filteredModel;
+
+    private List<ListDataEvent> events;
+
+    @Before
+    public void setUp() {
+        model = new DefaultListModel();
+        for (String s : new String[] {"a1", "b1", "a2", "b2", "a3"}) {
+            model.addElement(s);
+        }
+        constraint = new PrefixConstraint();
+        constraint.setPrefix("a");
+        filteredModel = new DefaultFilteredListModel(model, constraint);
+        events = new ArrayList<ListDataEvent>();
+        filteredModel.addListDataListener(new ListDataListener() {
+            public void intervalAdded(ListDataEvent e) {
+                events.add(e);
+            }
+
+            public void intervalRemoved(ListDataEvent e) {
+                events.add(e);
+            }
+
+            public void contentsChanged(ListDataEvent e) {
+                events.add(e);
+            }
+        });
+    }
+
+    @Test
+    public void testFilter() {
+        assertFiltered();
+        assertEquals(3, filteredModel.getSize());
+        assertEquals(2, filteredModel.getElementIndex(1));
+    }
+
+    @Test
+    public void testAddFiresFilteredIndexes() {
+        model.add(1, "a0");
+        model.add(1, "b0");
+        assertFiltered();
+        assertEquals(1, events.size());
+        assertEquals(ListDataEvent.INTERVAL_ADDED, events.get(0).getType());
+        assertEquals(1, events.get(0).getIndex0());
+    }
+
+    @Test
+    public void testRemoveFiresFilteredIndexes() {
+        model.remove(2);
+        model.remove(0);
+        assertFiltered();
+        assertEquals(2, events.size());
+        assertEquals(1, events.get(0).getIndex0());
+        assertEquals(0, events.get(1).getIndex0());
+    }
+
+    @Test
+    public void testChangeAddsAndRemovesMatches() {
+        model.set(1, "a9");
+        assertFiltered();
+        assertEquals(ListDataEvent.INTERVAL_ADDED, events.get(0).getType());
+        model.set(0, "b9");
+        assertFiltered();
+        assertEquals(ListDataEvent.INTERVAL_REMOVED, events.get(1).getType());
+    }
+
+    @Test
+    public void testHooksAreCalledForIncrementalChanges() {
+        final List<Object> matched = new ArrayList<Object>();
+        final int[] applied = new int[1];
+        DefaultFilteredListModel hookedModel = new DefaultFilteredListModel(model, constraint) {
+            protected void onMatchingElement(Object element) {
+                matched.add(element);
+            }
+
+            protected void postConstraintApplied() {
+                applied[0]++;
+            }
+        };
+        matched.clear();
+        applied[0] = 0;
+
+        model.add(1, "a0");
+        model.add(1, "b0");
+        assertEquals(Arrays.asList("a0"), matched);
+        assertEquals(2, applied[0]);
+
+        model.set(0, "a9");
+        assertEquals(Arrays.asList("a0", "a9"), matched);
+        assertEquals(3, applied[0]);
+
+        model.remove(0);
+        assertEquals(2, matched.size());
+        assertEquals(4, applied[0]);
+        assertEquals(filteredModel.getSize(), hookedModel.getSize());
+    }
+
+    @Test
+    public void testConstraintChange() {
+        constraint.setPrefix("b");
+        assertFiltered();
+        assertEquals(2, filteredModel.getSize());
+    }
+
+    @Test
+    public void testBackgroundRefilter() {
+        final List<Runnable> tasks = new ArrayList<Runnable>();
+        filteredModel.setFilterExecutor(new Executor() {
+            public void execute(Runnable command) {
+                tasks.add(command);
+            }
+        });
+        constraint.setPrefix("b");
+        assertTrue(filteredModel.isRefilterPending());
+        assertEquals(3, filteredModel.getSize());
+        constraint.setPrefix("a");
+        tasks.get(0).run();
+        tasks.get(1).run();
+        flushEventQueue();
+        assertFalse(filteredModel.isRefilterPending());
+        constraint.setPrefix("a1");
+        tasks.get(2).run();
+        flushEventQueue();
+        assertFiltered();
+        assertEquals(1, filteredModel.getSize());
+    }
+
+    @Test
+    public void testRandomChangesKeepFilter() {
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            int operation = random.nextInt(4);
+            String value = (random.nextBoolean() ? "a" : "b") + random.nextInt(10);
+            if (operation == 0 || model.getSize() < 2) {
+                model.add(random.nextInt(model.getSize() + 1), value);
+            }
+            else if (operation == 1) {
+                model.remove(random.nextInt(model.getSize()));
+            }
+            else if (operation == 2) {
+                model.set(random.nextInt(model.getSize()), value);
+            }
+            else {
+                int from = random.nextInt(model.getSize() - 1);
+                model.removeRange(from, from + 1);
+            }
+            assertFiltered();
+        }
+    }
+
+    private void flushEventQueue() {
+        try {
+            SwingUtilities.invokeAndWait(new Runnable() {
+                public void run() {
+                }
+            });
+        }
+        catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void assertFiltered() {
+        List<Object> expected = new ArrayList<Object>();
+        for (int i = 0; i < model.getSize(); i++) {
+            if (constraint.test(model.getElementAt(i))) {
+                expected.add(model.getElementAt(i));
+            }
+        }
+        assertEquals(expected.size(), filteredModel.getSize());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), filteredModel.getElementAt(i));
+        }
+    }
+}
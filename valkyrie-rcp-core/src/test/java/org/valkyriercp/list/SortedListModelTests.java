@@ -0,0 +1,131 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.list;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.swing.*;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SortedListModelTests {
+
+    private DefaultListModel model;
+
+    private SortedListModel sortedModel;
+
+    private List<ListDataEvent> events;
+
+    @Before
+    public void setUp() {
+        model = new DefaultListModel();
+        for (String s : new String[] {"d", "b", "e", "a", "c"}) {
+            model.addElement(s);
+        }
+        sortedModel = new SortedListModel(model);
+        events = new ArrayList<ListDataEvent>();
+        sortedModel.addListDataListener(new ListDataListener() {
+            public void intervalAdded(ListDataEvent e) {
+                events.add(e);
+            }
+
+            public void intervalRemoved(ListDataEvent e) {
+                events.add(e);
+            }
+
+            public void contentsChanged(ListDataEvent e) {
+                events.add(e);
+            }
+        });
+    }
+
+    @Test
+    public void testInitialSort() {
+        assertSorted();
+        assertEquals("a", sortedModel.getElementAt(0));
+        assertEquals(3, sortedModel.getElementIndex(0));
+    }
+
+    @Test
+    public void testAddInsertsAtSortedPosition() {
+        model.add(1, "bb");
+        assertSorted();
+        assertEquals(1, events.size());
+        assertEquals(ListDataEvent.INTERVAL_ADDED, events.get(0).getType());
+        assertEquals(2, events.get(0).getIndex0());
+    }
+
+    @Test
+    public void testRemoveFiresRemovalAtSortedPosition() {
+        model.remove(0);
+        assertSorted();
+        assertEquals(1, events.size());
+        assertEquals(ListDataEvent.INTERVAL_REMOVED, events.get(0).getType());
+        assertEquals(3, events.get(0).getIndex0());
+    }
+
+    @Test
+    public void testChangeMovesElement() {
+        model.set(3, "z");
+        assertSorted();
+        assertEquals(1, events.size());
+        assertEquals(ListDataEvent.CONTENTS_CHANGED, events.get(0).getType());
+        assertEquals(0, events.get(0).getIndex0());
+        assertEquals(4, events.get(0).getIndex1());
+    }
+
+    @Test
+    public void testRandomChangesKeepOrder() {
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            int operation = random.nextInt(4);
+            String value = Integer.toString(random.nextInt(100));
+            if (operation == 0 || model.getSize() < 2) {
+                model.add(random.nextInt(model.getSize() + 1), value);
+            }
+            else if (operation == 1) {
+                model.remove(random.nextInt(model.getSize()));
+            }
+            else if (operation == 2) {
+                model.set(random.nextInt(model.getSize()), value);
+            }
+            else {
+                int from = random.nextInt(model.getSize() - 1);
+                model.removeRange(from, from + 1);
+            }
+            assertSorted();
+        }
+    }
+
+    private void assertSorted() {
+        List<String> expected = new ArrayList<String>();
+        for (int i = 0; i < model.getSize(); i++) {
+            expected.add((String) model.getElementAt(i));
+        }
+        Collections.sort(expected);
+        assertEquals(expected.size(), sortedModel.getSize());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), sortedModel.getElementAt(i));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.rules.support;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.valkyriercp.rules.Rules;
+import org.valkyriercp.rules.constraint.property.PropertyConstraint;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class DefaultRulesSourceTests {
+
+    private DefaultRulesSource rulesSource;
+
+    private Rules rules;
+
+    @Before
+    public void setUp() {
+        rulesSource = new DefaultRulesSource();
+        rules = new Rules(TestBean.class);
+        rules.add(rules.required("name"));
+        rules.add(rules.eqProperty("password", "confirmPassword"));
+        rulesSource.addRules(rules);
+    }
+
+    @Test
+    public void testCrossPropertyConstraintIsReturnedForEachProperty() {
+        PropertyConstraint passwordConstraint = rules.getPropertyConstraint("password");
+
+        assertEquals(Collections.singletonList(passwordConstraint),
+                rulesSource.getDependentPropertyConstraints(TestBean.class, "password", null));
+        assertEquals(Collections.singletonList(passwordConstraint),
+                rulesSource.getDependentPropertyConstraints(TestBean.class, "confirmPassword", null));
+        assertEquals(Collections.singletonList(rules.getPropertyConstraint("name")),
+                rulesSource.getDependentPropertyConstraints(TestBean.class, "name", null));
+        assertTrue(rulesSource.getDependentPropertyConstraints(TestBean.class, "other", null).isEmpty());
+    }
+
+    @Test
+    public void testDependentConstraintsOfSubclassAndUnknownType() {
+        assertEquals(1, rulesSource.getDependentPropertyConstraints(TestSubBean.class, "confirmPassword", null).size());
+        assertTrue(rulesSource.getDependentPropertyConstraints(String.class, "confirmPassword", null).isEmpty());
+    }
+
+    @Test
+    public void testIndexPicksUpAddedRules() {
+        assertEquals(1, rulesSource.getDependentPropertyConstraints(TestBean.class, "confirmPassword", null).size());
+
+        Rules newRules = new Rules(TestBean.class);
+        newRules.add(newRules.eqProperty("password", "confirmPassword"));
+        newRules.add(newRules.required("confirmPassword"));
+        rulesSource.addRules(newRules);
+
+        List<PropertyConstraint> dependentConstraints = rulesSource.getDependentPropertyConstraints(TestBean.class,
+                "confirmPassword", null);
+        assertEquals(2, dependentConstraints.size());
+        assertSame(newRules.getPropertyConstraint("password"), dependentConstraints.get(0));
+        assertSame(newRules.getPropertyConstraint("confirmPassword"), dependentConstraints.get(1));
+        assertTrue(rulesSource.getDependentPropertyConstraints(TestBean.class, "name", null).isEmpty());
+
+        // rules of another context don't replace the default ones
+        Rules contextRules = new Rules(TestBean.class);
+        contextRules.add(contextRules.required("name"));
+        rulesSource.addRules("other", contextRules);
+        assertEquals(1, rulesSource.getDependentPropertyConstraints(TestBean.class, "name", "other").size());
+        assertEquals(2, rulesSource.getDependentPropertyConstraints(TestBean.class, "confirmPassword", null).size());
+        assertTrue(rulesSource.getDependentPropertyConstraints(TestBean.class, "confirmPassword", "other").isEmpty());
+
+        rulesSource.setRules(Collections.singletonList(rules));
+        assertEquals(1, rulesSource.getDependentPropertyConstraints(TestBean.class, "confirmPassword", null).size());
+        assertEquals(1, rulesSource.getDependentPropertyConstraints(TestBean.class, "name", null).size());
+    }
+
+    @Test
+    public void testIndexPicksUpConstraintsAddedToRegisteredRules() {
+        assertEquals(1, rulesSource.getDependentPropertyConstraints(TestBean.class, "confirmPassword", null).size());
+        assertTrue(rulesSource.getDependentPropertyConstraints(TestBean.class, "email", null).isEmpty());
+
+        rules.add(rules.required("email"));
+        rules.add(rules.eqProperty("confirmPassword", "password"));
+
+        List<PropertyConstraint> dependentConstraints = rulesSource.getDependentPropertyConstraints(TestBean.class,
+                "confirmPassword", null);
+        assertEquals(2, dependentConstraints.size());
+        assertSame(rules.getPropertyConstraint("password"), dependentConstraints.get(0));
+        assertSame(rules.getPropertyConstraint("confirmPassword"), dependentConstraints.get(1));
+        assertEquals(Collections.singletonList(rules.getPropertyConstraint("email")),
+                rulesSource.getDependentPropertyConstraints(TestBean.class, "email", null));
+
+        // a constraint added to the compound constraint of an existing property
+        rules.add(rules.eqProperty("name", "email"));
+        assertEquals(2, rulesSource.getDependentPropertyConstraints(TestBean.class, "email", null).size());
+    }
+
+    public static class TestBean {
+    }
+
+    public static class TestSubBean extends TestBean {
+    }
+}
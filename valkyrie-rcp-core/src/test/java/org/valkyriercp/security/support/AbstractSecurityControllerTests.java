@@ -0,0 +1,199 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.security.support;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.security.access.AccessDecisionManager;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.ConfigAttribute;
+import org.springframework.security.access.SecurityConfig;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.valkyriercp.core.Authorizable;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class AbstractSecurityControllerTests {
+
+    private static final String CUSTOM_ACTION = "custom";
+
+    private TestSecurityController controller;
+
+    @Before
+    public void setUp() {
+        controller = new TestSecurityController();
+        controller.setAccessDecisionManager(new AccessDecisionManager() {
+            public void decide(Authentication authentication, Object object, Collection<ConfigAttribute> attributes) {
+                for (ConfigAttribute attribute : attributes) {
+                    if (attribute.getAttribute().equals(authentication.getCredentials())) {
+                        return;
+                    }
+                }
+                throw new AccessDeniedException("denied");
+            }
+
+            public boolean supports(ConfigAttribute attribute) {
+                return true;
+            }
+
+            public boolean supports(Class<?> clazz) {
+                return true;
+            }
+        });
+    }
+
+    @Test
+    public void testPostProcessorActionsAreRunInOrder() throws Exception {
+        controller.setPostProcessorActionsToRun(CUSTOM_ACTION + "," + AbstractSecurityController.VISIBLE_TRACKS_AUTHORIZED_ACTION);
+        controller.afterPropertiesSet();
+        TestAuthorizable first = new TestAuthorizable();
+        TestAuthorizable second = new TestAuthorizable();
+        controller.setControlledObjects(Arrays.asList(first, second));
+        assertFalse(first.isAuthorized());
+        assertFalse(first.visible);
+        controller.actions.clear();
+
+        controller.setAuthenticationToken(new TestingAuthenticationToken("user", "ROLE_A"));
+
+        assertTrue(first.isAuthorized());
+        assertTrue(first.visible);
+        assertTrue(second.isAuthorized());
+        assertTrue(second.visible);
+        assertEquals(Arrays.asList(CUSTOM_ACTION + " " + first, CUSTOM_ACTION + " " + second), controller.actions);
+
+        controller.setAuthenticationToken(new TestingAuthenticationToken("user", "ROLE_B"));
+        assertFalse(first.isAuthorized());
+        assertFalse(second.visible);
+    }
+
+    @Test
+    public void testNoPostProcessorActionsByDefault() throws Exception {
+        controller.afterPropertiesSet();
+        TestAuthorizable controlledObject = new TestAuthorizable();
+        controller.addControlledObject(controlledObject);
+
+        controller.setAuthenticationToken(new TestingAuthenticationToken("user", "ROLE_A"));
+
+        assertTrue(controlledObject.isAuthorized());
+        assertFalse(controlledObject.visible);
+        assertTrue(controller.actions.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnregisteredPostProcessorAction() throws Exception {
+        controller.setPostProcessorActionsToRun(AbstractSecurityController.VISIBLE_TRACKS_AUTHORIZED_ACTION + ",unknown");
+        controller.afterPropertiesSet();
+    }
+
+    @Test
+    public void testAllObjectsAreUpdatedThroughHook() {
+        TestAuthorizable first = new TestAuthorizable();
+        TestAuthorizable second = new TestAuthorizable();
+        controller.addControlledObject(first);
+        controller.addControlledObject(second);
+        assertEquals(Arrays.<Authorizable> asList(first, second), controller.updated);
+        controller.updated.clear();
+
+        controller.setAuthenticationToken(new TestingAuthenticationToken("user", "ROLE_A"));
+
+        assertEquals(Arrays.<Authorizable> asList(first, second), controller.updated);
+    }
+
+    @Test
+    public void testControlledObjectsAreTrackedWeakly() throws InterruptedException {
+        TestAuthorizable kept = new TestAuthorizable();
+        controller.addControlledObject(kept);
+        WeakReference<Authorizable> collected = addTemporaryControlledObject();
+
+        for (int i = 0; i < 50 && collected.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull("controlled object should have been collected", collected.get());
+
+        assertEquals(Arrays.<Authorizable> asList(kept), controller.getControlledObjects());
+        assertSame(kept, controller.removeControlledObject(kept));
+        assertTrue(controller.getControlledObjects().isEmpty());
+        assertNull(controller.removeControlledObject(kept));
+    }
+
+    private WeakReference<Authorizable> addTemporaryControlledObject() {
+        TestAuthorizable controlledObject = new TestAuthorizable();
+        controller.addControlledObject(controlledObject);
+        controller.updated.clear();
+        return new WeakReference<Authorizable>(controlledObject);
+    }
+
+    private static class TestSecurityController extends AbstractSecurityController {
+
+        private final List<String> actions = new ArrayList<String>();
+
+        private final List<Authorizable> updated = new ArrayList<Authorizable>();
+
+        TestSecurityController() {
+            registerPostProcessorAction(CUSTOM_ACTION);
+        }
+
+        protected Object getSecuredObject() {
+            return null;
+        }
+
+        protected List<ConfigAttribute> getConfigAttributeDefinition(Object securedObject) {
+            return SecurityConfig.createList("ROLE_A");
+        }
+
+        protected void updateControlledObject(Authorizable controlledObject, boolean authorized) {
+            updated.add(controlledObject);
+            super.updateControlledObject(controlledObject, authorized);
+        }
+
+        protected void doPostProcessorAction(String actionId, Object controlledObject, boolean authorized) {
+            if (CUSTOM_ACTION.equals(actionId)) {
+                if (authorized) {
+                    actions.add(actionId + " " + controlledObject);
+                }
+            } else {
+                super.doPostProcessorAction(actionId, controlledObject, authorized);
+            }
+        }
+    }
+
+    public static class TestAuthorizable implements Authorizable {
+
+        private boolean authorized;
+
+        private boolean visible;
+
+        public void setAuthorized(boolean authorized) {
+            this.authorized = authorized;
+        }
+
+        public boolean isAuthorized() {
+            return authorized;
+        }
+
+        public void setVisible(boolean visible) {
+            this.visible = visible;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.security.support;
+
+import org.junit.Test;
+import org.springframework.security.access.AccessDecisionManager;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.ConfigAttribute;
+import org.springframework.security.access.SecurityConfig;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class AccessDecisionCacheTests {
+
+    private int decisionCount;
+
+    private final AccessDecisionManager accessDecisionManager = new AccessDecisionManager() {
+        public void decide(Authentication authentication, Object object, Collection<ConfigAttribute> attributes) {
+            decisionCount++;
+            for (ConfigAttribute attribute : attributes) {
+                if (attribute.getAttribute().equals(authentication.getCredentials())) {
+                    return;
+                }
+            }
+            throw new AccessDeniedException("denied");
+        }
+
+        public boolean supports(ConfigAttribute attribute) {
+            return true;
+        }
+
+        public boolean supports(Class<?> clazz) {
+            return true;
+        }
+    };
+
+    @Test
+    public void testDecisionIsMadeOncePerAttributes() {
+        AccessDecisionCache cache = new AccessDecisionCache();
+        Authentication authentication = new TestingAuthenticationToken("user", "ROLE_A");
+        List<ConfigAttribute> roleA = SecurityConfig.createList("ROLE_A");
+        List<ConfigAttribute> roleB = SecurityConfig.createList("ROLE_B");
+
+        assertTrue(cache.decide(accessDecisionManager, authentication, roleA));
+        assertTrue(cache.decide(accessDecisionManager, authentication, SecurityConfig.createList("ROLE_A")));
+        assertFalse(cache.decide(accessDecisionManager, authentication, roleB));
+        assertFalse(cache.decide(accessDecisionManager, authentication, roleB));
+        assertEquals(2, decisionCount);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testOtherAuthenticationDiscardsDecisions() {
+        AccessDecisionCache cache = new AccessDecisionCache();
+        List<ConfigAttribute> roleA = SecurityConfig.createList("ROLE_A");
+
+        assertTrue(cache.decide(accessDecisionManager, new TestingAuthenticationToken("user", "ROLE_A"), roleA));
+        assertFalse(cache.decide(accessDecisionManager, new TestingAuthenticationToken("user", "ROLE_B"), roleA));
+        assertEquals(2, decisionCount);
+        assertEquals(1, cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+}
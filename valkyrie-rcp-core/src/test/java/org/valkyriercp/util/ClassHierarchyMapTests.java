@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.util;
+
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ClassHierarchyMapTests {
+
+    @Test
+    public void testFindsClosestMatch() {
+        ClassHierarchyMap<String> map = new ClassHierarchyMap<String>();
+        map.put(Number.class, "number");
+        map.put(Collection.class, "collection");
+        map.put(Object.class, "object");
+        assertEquals("number", map.get(Long.class));
+        assertEquals("collection", map.get(ArrayList.class));
+        assertEquals("object", map.get(String.class));
+        assertNull(map.get(null));
+    }
+
+    @Test
+    public void testMatchesGetValueFromMapForClass() {
+        Map<Class<?>, String> classMap = new HashMap<Class<?>, String>();
+        classMap.put(Comparable.class, "comparable");
+        classMap.put(Number.class, "number");
+        classMap.put(Iterable.class, "iterable");
+        ClassHierarchyMap<String> map = new ClassHierarchyMap<String>();
+        for (Map.Entry<Class<?>, String> entry : classMap.entrySet()) {
+            map.put(entry.getKey(), entry.getValue());
+        }
+        Class<?>[] types = {Integer.class, Long.class, String.class, ArrayList.class, Thread.class};
+        for (Class<?> type : types) {
+            assertEquals(type.getName(), ClassUtils.getValueFromMapForClass(type, new HashMap<Class<?>, String>(
+                    classMap)), map.get(type));
+        }
+    }
+
+    @Test
+    public void testRegistrationDiscardsRememberedResults() {
+        ClassHierarchyMap<String> map = new ClassHierarchyMap<String>();
+        assertNull(map.get(Integer.class));
+        map.put(Number.class, "number");
+        assertEquals("number", map.get(Integer.class));
+        map.put(Integer.class, "integer");
+        assertEquals("integer", map.get(Integer.class));
+        map.remove(Integer.class);
+        assertEquals("number", map.get(Integer.class));
+    }
+
+    @Test
+    public void testGetAllReturnsClosestMatchFirst() {
+        ClassHierarchyMap<String> map = new ClassHierarchyMap<String>();
+        map.put(Object.class, "object");
+        map.put(Collection.class, "collection");
+        map.put(AbstractList.class, "abstractList");
+        map.put(Serializable.class, "serializable");
+        assertEquals(Arrays.asList("serializable", "collection", "abstractList", "object"), map.getAll(ArrayList.class));
+        assertEquals(map.get(ArrayList.class), map.getAll(ArrayList.class).get(0));
+        assertEquals(Arrays.asList("object"), map.getAll(Thread.class));
+        assertTrue(map.getAll(null).isEmpty());
+
+        map.remove(Serializable.class);
+        assertEquals(Arrays.asList("collection", "abstractList", "object"), map.getAll(ArrayList.class));
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.util;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compares firing a property change event to a few listeners through an
+ * {@link EventListenerListHelper} with the reflective dispatch it used to do:
+ * a method lookup in a shared cache, an argument array and a
+ * {@link Method#invoke(Object, Object...)} per listener. Run with
+ * <code>main</code>; it is not part of the test suite.
+ */
+public class EventListenerListHelperBenchmark {
+
+    private static final int LISTENERS = 3;
+
+    private static final int ITERATIONS = 5000000;
+
+    private static final int ROUNDS = 5;
+
+    private static final Map<String, Method> methodCache = new ConcurrentHashMap<String, Method>();
+
+    private static int received;
+
+    public static void main(String[] args) throws Exception {
+        EventListenerListHelper helper = new EventListenerListHelper(PropertyChangeListener.class);
+        for (int i = 0; i < LISTENERS; i++) {
+            helper.add(new CountingListener());
+        }
+        Object[] listeners = (Object[]) helper.toArray();
+        PropertyChangeEvent event = new PropertyChangeEvent(helper, "value", null, "new");
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                helper.fire("propertyChange", event);
+            }
+            report("EventListenerListHelper", System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                fireByReflection(listeners, "propertyChange", new Object[] {event});
+            }
+            report("reflection", System.nanoTime() - start);
+        }
+        System.out.println(received + " events received");
+    }
+
+    private static void fireByReflection(Object[] listeners, String methodName, Object[] eventArgs)
+            throws Exception {
+        Method eventMethod = methodCache.get(methodName + "/" + eventArgs.length);
+        if (eventMethod == null) {
+            eventMethod = PropertyChangeListener.class.getMethod(methodName, PropertyChangeEvent.class);
+            methodCache.put(methodName + "/" + eventArgs.length, eventMethod);
+        }
+        for (int i = 0; i < listeners.length; i++) {
+            eventMethod.invoke(listeners[i], eventArgs);
+        }
+    }
+
+    private static void report(String name, long elapsed) {
+        System.out.println(name + ": " + (elapsed / ITERATIONS) + " ns per fire to " + LISTENERS
+                + " listeners");
+    }
+
+    private static class CountingListener implements PropertyChangeListener {
+
+        public void propertyChange(PropertyChangeEvent evt) {
+            received++;
+        }
+    }
+}
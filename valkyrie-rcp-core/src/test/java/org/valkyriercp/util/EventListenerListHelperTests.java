@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class EventListenerListHelperTests {
+
+    public interface TestListener {
+        void noArgs();
+
+        void oneArg(Object arg);
+
+        void twoArgs(Object arg1, Object arg2);
+
+        void threeArgs(Object arg1, Object arg2, Object arg3);
+
+        int returnsValue(String arg);
+    }
+
+    private static class RecordingListener implements TestListener {
+        private final List<String> calls = new ArrayList<String>();
+
+        public void noArgs() {
+            calls.add("noArgs");
+        }
+
+        public void oneArg(Object arg) {
+            calls.add("oneArg " + arg);
+        }
+
+        public void twoArgs(Object arg1, Object arg2) {
+            calls.add("twoArgs " + arg1 + " " + arg2);
+        }
+
+        public void threeArgs(Object arg1, Object arg2, Object arg3) {
+            calls.add("threeArgs " + arg1 + " " + arg2 + " " + arg3);
+        }
+
+        public int returnsValue(String arg) {
+            calls.add("returnsValue " + arg);
+            return 1;
+        }
+    }
+
+    @Test
+    public void testFire() {
+        EventListenerListHelper helper = new EventListenerListHelper(TestListener.class);
+        RecordingListener first = new RecordingListener();
+        RecordingListener second = new RecordingListener();
+        helper.add(first);
+        helper.add(second);
+
+        helper.fire("noArgs");
+        helper.fire("oneArg", "a");
+        helper.fire("twoArgs", "a", "b");
+        helper.fire("threeArgs", new Object[]{"a", "b", "c"});
+        helper.fire("oneArg", new Object[]{"x"});
+        helper.fire("returnsValue", "v");
+        helper.fire("oneArg", "again");
+
+        for (RecordingListener listener : new RecordingListener[]{first, second}) {
+            assertEquals(7, listener.calls.size());
+            assertEquals("noArgs", listener.calls.get(0));
+            assertEquals("oneArg a", listener.calls.get(1));
+            assertEquals("twoArgs a b", listener.calls.get(2));
+            assertEquals("threeArgs a b c", listener.calls.get(3));
+            assertEquals("oneArg x", listener.calls.get(4));
+            assertEquals("returnsValue v", listener.calls.get(5));
+            assertEquals("oneArg again", listener.calls.get(6));
+        }
+    }
+
+    @Test
+    public void testListenerExceptionIsWrapped() {
+        EventListenerListHelper helper = new EventListenerListHelper(TestListener.class);
+        helper.add(new RecordingListener() {
+            public void oneArg(Object arg) {
+                throw new IllegalStateException("listener failure");
+            }
+        });
+        try {
+            helper.fire("oneArg", "a");
+            fail("EventBroadcastException expected");
+        } catch (EventListenerListHelper.EventBroadcastException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void testFireWithoutListenersDoesNotResolveMethod() {
+        EventListenerListHelper helper = new EventListenerListHelper(TestListener.class);
+        helper.fire("doesNotExist", "a");
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.util;
+
+import org.cache2k.Cache;
+import org.cache2k.Cache2kBuilder;
+
+import java.util.Arrays;
+
+/**
+ * Compares the construction time and retained heap of the per-instance memo
+ * tables of commands and form models, built as a {@link MemoMap} or as a
+ * cache2k cache with a loader like they used to be. Each owner builds its
+ * table and loads a few keys, as a command does for its default face
+ * descriptor and button managers. Run with <code>main</code>; it is not part
+ * of the test suite.
+ */
+public class MemoMapBenchmark {
+
+    private static final int OWNERS = 5000;
+
+    private static final int KEYS_PER_OWNER = 2;
+
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        for (int i = 0; i < ROUNDS; i++) {
+            benchmark("MemoMap", new TableFactory() {
+                public Object create(int owner) {
+                    MemoMap<String, Object> table = new MemoMap<String, Object>(key -> new Object());
+                    for (int j = 0; j < KEYS_PER_OWNER; j++) {
+                        table.get("key" + j);
+                    }
+                    return table;
+                }
+
+                public void dispose(Object table) {
+                }
+            });
+            benchmark("cache2k", new TableFactory() {
+                public Object create(int owner) {
+                    Cache<String, Object> table = new Cache2kBuilder<String, Object>() {}
+                            .loader(key -> new Object())
+                            .build();
+                    for (int j = 0; j < KEYS_PER_OWNER; j++) {
+                        table.get("key" + j);
+                    }
+                    return table;
+                }
+
+                public void dispose(Object table) {
+                    ((Cache<?, ?>) table).close();
+                }
+            });
+        }
+    }
+
+    private static void benchmark(String name, TableFactory factory) {
+        Object[] tables = new Object[OWNERS];
+        long start = System.nanoTime();
+        for (int i = 0; i < OWNERS; i++) {
+            tables[i] = factory.create(i);
+        }
+        long elapsed = System.nanoTime() - start;
+        long heapWithTables = usedHeap();
+        for (Object table : tables) {
+            factory.dispose(table);
+        }
+        // measures the heap the tables release rather than a baseline taken
+        // before creating them, which may still include the previous round
+        Arrays.fill(tables, null);
+        long retained = heapWithTables - usedHeap();
+        System.out.println(name + ": " + (elapsed / OWNERS) + " ns and " + (retained / OWNERS)
+                + " bytes retained per table (" + OWNERS + " tables)");
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private interface TableFactory {
+
+        Object create(int owner);
+
+        void dispose(Object table);
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MemoMapTests {
+
+    private final List<String> loadedKeys = new ArrayList<String>();
+
+    @Test
+    public void testLoadsOnce() {
+        MemoMap<String, StringBuilder> map = new MemoMap<String, StringBuilder>(key -> {
+            loadedKeys.add(key);
+            return new StringBuilder(key);
+        });
+        assertFalse(map.containsKey("a"));
+        StringBuilder value = map.get("a");
+        assertSame(value, map.get("a"));
+        assertTrue(map.containsKey("a"));
+        assertEquals(1, loadedKeys.size());
+        assertEquals(1, map.asMap().size());
+
+        map.clear();
+        assertNull(map.peek("a"));
+        assertNotSame(value, map.get("a"));
+        assertEquals(2, loadedKeys.size());
+    }
+
+    @Test
+    public void testRecursiveLoad() {
+        final MemoMap<String, String>[] holder = new MemoMap[1];
+        holder[0] = new MemoMap<String, String>(key -> {
+            int dot = key.lastIndexOf('.');
+            return dot < 0 ? key : holder[0].get(key.substring(0, dot)) + "/" + key.substring(dot + 1);
+        });
+        assertEquals("a/b/c", holder[0].get("a.b.c"));
+        assertEquals(3, holder[0].size());
+    }
+
+    @Test
+    public void testNullValueIsNotStored() {
+        MemoMap<String, String> map = new MemoMap<String, String>(key -> null);
+        assertNull(map.get("a"));
+        assertFalse(map.containsKey("a"));
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.util;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.swing.*;
+import java.awt.*;
+
+import static org.junit.Assert.*;
+
+public class OverlayLayerTests {
+
+    private JRootPane rootPane;
+
+    private JPanel contentPane;
+
+    @Before
+    public void setUp() {
+        rootPane = new JRootPane();
+        contentPane = new JPanel(null);
+        rootPane.setContentPane(contentPane);
+        rootPane.setBounds(0, 0, 400, 300);
+        rootPane.doLayout();
+    }
+
+    @Test
+    public void testLayerCoversOnlyVisibleOverlays() {
+        ShowingTarget first = addTarget(50, 50, 100, 20);
+        ShowingTarget second = addTarget(200, 100, 100, 20);
+        OverlayLayer.attachOverlay(createOverlay(), first, SwingConstants.NORTH_WEST, 0, 0);
+        JComponent secondOverlay = createOverlay();
+        OverlayLayer.attachOverlay(secondOverlay, second, SwingConstants.SOUTH_EAST, 0, 0);
+        OverlayLayer layer = getLayer();
+
+        layer.doLayout();
+        assertTrue(layer.isVisible());
+        assertEquals(new Rectangle(45, 45, 260, 80), layer.getBounds());
+        // overlays are positioned relative to the layer
+        assertEquals(new Rectangle(250, 70, 10, 10), secondOverlay.getBounds());
+        assertTrue(layer.getBounds().width < rootPane.getLayeredPane().getWidth());
+    }
+
+    @Test
+    public void testLayerIsHiddenWithoutVisibleOverlays() {
+        ShowingTarget target = addTarget(50, 50, 100, 20);
+        JComponent overlay = createOverlay();
+        OverlayLayer.attachOverlay(overlay, target, SwingConstants.NORTH_WEST, 0, 0);
+        OverlayLayer layer = getLayer();
+        layer.doLayout();
+        assertTrue(layer.isVisible());
+
+        target.showing = false;
+        layer.doLayout();
+        assertFalse(layer.isVisible());
+
+        target.showing = true;
+        overlay.setVisible(false);
+        layer.doLayout();
+        assertFalse(layer.isVisible());
+
+        overlay.setVisible(true);
+        layer.doLayout();
+        assertTrue(layer.isVisible());
+        assertEquals(new Rectangle(45, 45, 10, 10), layer.getBounds());
+    }
+
+    @Test
+    public void testLayerFollowsMovedTarget() {
+        ShowingTarget target = addTarget(50, 50, 100, 20);
+        OverlayLayer.attachOverlay(createOverlay(), target, SwingConstants.NORTH_WEST, 0, 0);
+        OverlayLayer layer = getLayer();
+        layer.doLayout();
+
+        target.setLocation(100, 150);
+        layer.doLayout();
+        assertEquals(new Rectangle(95, 145, 10, 10), layer.getBounds());
+    }
+
+    @Test
+    public void testOverlaysAreFoundInLayeredPaneCoordinates() {
+        ShowingTarget first = addTarget(50, 50, 100, 20);
+        ShowingTarget second = addTarget(200, 200, 100, 20);
+        OverlayLayer.attachOverlay(createOverlay(), first, SwingConstants.NORTH_WEST, 0, 0);
+        OverlayLayer.attachOverlay(createOverlay(), second, SwingConstants.NORTH_WEST, 0, 0);
+        OverlayLayer layer = getLayer();
+        layer.doLayout();
+
+        assertEquals(1, layer.getOverlaysIn(new Rectangle(40, 40, 20, 20)).size());
+        assertEquals(0, layer.getOverlaysIn(new Rectangle(100, 100, 20, 20)).size());
+        assertEquals(2, layer.getOverlaysIn(new Rectangle(0, 0, 400, 300)).size());
+    }
+
+    private ShowingTarget addTarget(int x, int y, int width, int height) {
+        ShowingTarget target = new ShowingTarget();
+        target.setBounds(x, y, width, height);
+        contentPane.add(target);
+        return target;
+    }
+
+    private JComponent createOverlay() {
+        JLabel overlay = new JLabel();
+        overlay.setPreferredSize(new Dimension(10, 10));
+        return overlay;
+    }
+
+    private OverlayLayer getLayer() {
+        return OverlayLayer.getOverlayLayer(rootPane.getLayeredPane());
+    }
+
+    /**
+     * Components can't be shown without a display, so pretend they are.
+     */
+    private static class ShowingTarget extends JPanel {
+
+        private boolean showing = true;
+
+        public boolean isShowing() {
+            return showing;
+        }
+    }
+}
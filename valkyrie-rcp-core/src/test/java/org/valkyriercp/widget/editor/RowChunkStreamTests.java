@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.widget.editor;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class RowChunkStreamTests {
+
+    private RowChunkStream stream;
+
+    private RecordingTarget target;
+
+    @Before
+    public void setUp() {
+        stream = new RowChunkStream();
+        target = new RecordingTarget();
+    }
+
+    @Test
+    public void testChunksOfOneCallAreOneBatch() {
+        int generation = stream.start();
+        stream.process(generation, chunks(rows(1, 2), rows(3)), target);
+        stream.process(generation, chunks(rows(4)), target);
+        stream.process(generation, chunks(RowChunkStream.END_OF_STREAM), target);
+        assertEquals(Arrays.asList("first:[1, 2, 3]", "more:[4]", "ended:true"), target.calls);
+    }
+
+    /**
+     * SwingWorker may call process() after done(), the stream only ends with its last chunk.
+     */
+    @Test
+    public void testStreamEndsWithLastChunkNotBefore() {
+        int generation = stream.start();
+        stream.process(generation, chunks(rows(1)), target);
+        // done() has been called here, but the remaining chunks are still queued
+        assertEquals(Arrays.asList("first:[1]"), target.calls);
+        stream.process(generation, chunks(rows(2), RowChunkStream.END_OF_STREAM), target);
+        assertEquals(Arrays.asList("first:[1]", "more:[2]", "ended:true"), target.calls);
+    }
+
+    @Test
+    public void testEmptyStream() {
+        int generation = stream.start();
+        stream.process(generation, chunks(rows(), RowChunkStream.END_OF_STREAM), target);
+        assertEquals(Arrays.asList("ended:false"), target.calls);
+    }
+
+    @Test
+    public void testLateChunksOfOlderGenerationAreDropped() {
+        int old = stream.start();
+        stream.process(old, chunks(rows(1)), target);
+        int current = stream.start();
+        stream.process(old, chunks(rows(2), RowChunkStream.END_OF_STREAM), target);
+        stream.process(current, chunks(rows(3)), target);
+        stream.process(current, chunks(RowChunkStream.END_OF_STREAM), target);
+        assertEquals(Arrays.asList("first:[1]", "first:[3]", "ended:true"), target.calls);
+    }
+
+    @Test
+    public void testNothingIsProcessedAfterEndOfStream() {
+        int generation = stream.start();
+        stream.process(generation, chunks(rows(1), RowChunkStream.END_OF_STREAM), target);
+        stream.process(generation, chunks(rows(2)), target);
+        assertEquals(Arrays.asList("first:[1]", "ended:true"), target.calls);
+    }
+
+    private static List<Object> rows(Object... rows) {
+        return new ArrayList<Object>(Arrays.asList(rows));
+    }
+
+    private static List<List<Object>> chunks(List<Object>... chunks) {
+        List<List<Object>> result = new ArrayList<List<Object>>();
+        Collections.addAll(result, chunks);
+        return result;
+    }
+
+    private static class RecordingTarget implements RowChunkStream.Target {
+
+        private final List<String> calls = new ArrayList<String>();
+
+        public void firstRowsReceived(List<Object> rows) {
+            calls.add("first:" + rows);
+        }
+
+        public void moreRowsReceived(List<Object> rows) {
+            calls.add("more:" + rows);
+        }
+
+        public void streamEnded(boolean rowsReceived) {
+            calls.add("ended:" + rowsReceived);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.widget.editor.provider;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PagedListTests {
+
+    private CountingProvider provider;
+
+    @Before
+    public void setUp() {
+        provider = new CountingProvider();
+        provider.setPageSize(10);
+    }
+
+    @Test
+    public void testOnlyRowCountIsFetchedOnCreation() {
+        List list = provider.getList(null);
+        assertEquals(1000, list.size());
+        assertEquals(0, provider.pageCalls);
+    }
+
+    @Test
+    public void testPagesAreFetchedOnDemand() {
+        PagedList list = new PagedList(provider, null, provider.getRowCount(null));
+        assertFalse(list.isLoaded(15));
+        assertNull(list.getIfLoaded(15));
+        assertEquals(15, list.get(15));
+        assertEquals(1, provider.pageCalls);
+        assertTrue(list.isLoaded(19));
+        assertEquals(19, list.getIfLoaded(19));
+        assertEquals(12, list.get(12));
+        assertEquals(1, provider.pageCalls);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedPageIsDropped() {
+        PagedList list = new PagedList(provider, null, provider.getRowCount(null), 2);
+        list.get(0);
+        list.get(10);
+        list.get(0);
+        list.get(20);
+        assertTrue(list.isLoaded(0));
+        assertFalse(list.isLoaded(10));
+        assertTrue(list.isLoaded(20));
+        assertEquals(3, provider.pageCalls);
+    }
+
+    @Test
+    public void testLoadedOperations() {
+        PagedList list = new PagedList(provider, null, provider.getRowCount(null));
+        list.get(25);
+        assertEquals(27, list.indexOfLoaded(27));
+        assertEquals(-1, list.indexOfLoaded(50));
+        assertTrue(list.replaceLoaded(27, "replaced"));
+        assertEquals("replaced", list.getIfLoaded(27));
+        assertFalse(list.replaceLoaded(50, "replaced"));
+        list.clearPages();
+        assertFalse(list.isLoaded(25));
+    }
+
+    @Test
+    public void testLoadedRowsDoNotFetchPages() {
+        PagedList list = new PagedList(provider, null, provider.getRowCount(null));
+        list.get(25);
+        list.get(5);
+        List loaded = list.getLoadedRows();
+        assertEquals(2, provider.pageCalls);
+        assertEquals(20, loaded.size());
+        assertEquals(0, loaded.get(0));
+        assertEquals(29, loaded.get(19));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testRangeCheck() {
+        new PagedList(provider, null, provider.getRowCount(null)).get(1000);
+    }
+
+    private static class CountingProvider extends AbstractPagedDataProvider {
+
+        private int pageCalls;
+
+        public int getRowCount(Object criteria) {
+            return 1000;
+        }
+
+        public List getPage(Object criteria, int offset, int pageSize) {
+            pageCalls++;
+            List<Object> page = new ArrayList<Object>();
+            for (int i = offset; i < Math.min(offset + pageSize, 1000); i++) {
+                page.add(i);
+            }
+            return page;
+        }
+
+        public boolean supportsFiltering() {
+            return false;
+        }
+
+        public boolean supportsUpdate() {
+            return false;
+        }
+
+        public boolean supportsCreate() {
+            return false;
+        }
+
+        public boolean supportsClone() {
+            return false;
+        }
+
+        public boolean supportsDelete() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.widget.table;
+
+import org.junit.Test;
+import org.valkyriercp.test.TestBean;
+
+import java.lang.reflect.InvocationTargetException;
+
+import static org.junit.Assert.*;
+
+public class ClassUtilsTests {
+
+    @Test
+    public void testGeneratedAccessor() throws Exception {
+        Accessor accessor = ClassUtils.getAccessorForProperty(TestBean.class, "simpleProperty");
+        assertTrue(accessor instanceof MethodHandleAccessor);
+        assertTrue(((MethodHandleAccessor) accessor).isGenerated());
+        assertEquals(String.class, accessor.getPropertyType());
+
+        TestBean bean = new TestBean();
+        bean.setSimpleProperty("value");
+        assertEquals("value", accessor.getValue(bean));
+    }
+
+    @Test
+    public void testPrimitivePropertyIsBoxed() throws Exception {
+        Accessor accessor = ClassUtils.getAccessorForProperty(TestBean.class, "booleanProperty");
+        assertEquals(Boolean.class, accessor.getPropertyType());
+
+        TestBean bean = new TestBean();
+        bean.setBooleanProperty(true);
+        assertEquals(Boolean.TRUE, accessor.getValue(bean));
+    }
+
+    @Test
+    public void testNestedAccessor() throws Exception {
+        Accessor accessor = ClassUtils.getAccessorForProperty(TestBean.class, "nestedProperty.simpleProperty");
+        TestBean bean = new TestBean();
+        assertNull(accessor.getValue(bean));
+
+        TestBean nested = new TestBean();
+        nested.setSimpleProperty("nested");
+        bean.setNestedProperty(nested);
+        assertEquals("nested", accessor.getValue(bean));
+        assertEquals(String.class, accessor.getPropertyType());
+    }
+
+    @Test
+    public void testGetterExceptionIsWrapped() throws Exception {
+        Accessor accessor = ClassUtils.getAccessorForProperty(FailingBean.class, "value");
+        try {
+            accessor.getValue(new FailingBean());
+            fail("getter exception expected");
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    public static class FailingBean {
+        public String getValue() {
+            throw new IllegalStateException("failing getter");
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.widget.table;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.valkyriercp.test.TestEnum;
+
+import javax.swing.*;
+import java.awt.*;
+import java.text.FieldPosition;
+import java.text.Format;
+import java.text.ParsePosition;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+public class TableCellRenderersTests {
+
+    private JTable table;
+
+    private CountingFormat format;
+
+    private TableCellRenderers.PooledListPropertyCellRenderer renderer;
+
+    @Before
+    public void setUp() {
+        table = new JTable(3, 1);
+        format = new CountingFormat();
+        renderer = new TableCellRenderers.PooledListPropertyCellRenderer("value", SwingConstants.LEFT,
+                SwingConstants.TOP, format);
+    }
+
+    @After
+    public void tearDown() {
+        LocaleContextHolder.setLocale(null);
+    }
+
+    @Test
+    public void testEnumLabelsFollowLocale() {
+        CountingEnumRenderer enumRenderer = new CountingEnumRenderer();
+        LocaleContextHolder.setLocale(Locale.ENGLISH);
+        assertEquals("en org.valkyriercp.test.TestEnum.ONE", renderEnum(enumRenderer, TestEnum.ONE));
+        assertEquals("en org.valkyriercp.test.TestEnum.TWO", renderEnum(enumRenderer, TestEnum.TWO));
+        assertEquals(TestEnum.values().length, enumRenderer.resolved);
+
+        LocaleContextHolder.setLocale(Locale.FRENCH);
+        assertEquals("fr org.valkyriercp.test.TestEnum.ONE", renderEnum(enumRenderer, TestEnum.ONE));
+        assertEquals(2 * TestEnum.values().length, enumRenderer.resolved);
+
+        assertEquals("", renderEnum(enumRenderer, null));
+    }
+
+    @Test
+    public void testEnumLabelsClearCache() {
+        CountingEnumRenderer enumRenderer = new CountingEnumRenderer();
+        renderEnum(enumRenderer, TestEnum.ONE);
+        renderEnum(enumRenderer, TestEnum.ZERO);
+        assertEquals(TestEnum.values().length, enumRenderer.resolved);
+
+        TableCellRenderers.EnumTableCellRenderer.clearCache();
+        enumRenderer.prefix = "reloaded";
+        assertEquals("reloaded org.valkyriercp.test.TestEnum.ONE", renderEnum(enumRenderer, TestEnum.ONE));
+        assertEquals(2 * TestEnum.values().length, enumRenderer.resolved);
+        renderEnum(enumRenderer, TestEnum.THREE);
+        assertEquals(2 * TestEnum.values().length, enumRenderer.resolved);
+    }
+
+    @Test
+    public void testLabelPoolGrowsAndHidesUnusedLines() {
+        render(items("a", "b", "c"));
+        assertEquals(3, renderer.getComponentCount());
+        assertLines("a", "b", "c");
+
+        render(items("d"));
+        assertEquals(3, renderer.getComponentCount());
+        assertLines("d");
+        assertFalse(renderer.getComponent(1).isVisible());
+        assertFalse(renderer.getComponent(2).isVisible());
+
+        render(items("e", "f", "g", "h"));
+        assertEquals(4, renderer.getComponentCount());
+        assertLines("e", "f", "g", "h");
+
+        render(items(null, "i"));
+        assertLines(" ", "i");
+    }
+
+    @Test
+    public void testPreferredHeight() {
+        render(items("a", "b", "c"));
+        Insets insets = renderer.getInsets();
+        int lineHeight = renderer.getFontMetrics(table.getFont()).getHeight();
+        assertEquals(3 * lineHeight + insets.top + insets.bottom, renderer.getPreferredSize().height);
+        assertTrue(table.getRowHeight(0) >= renderer.getPreferredSize().height);
+
+        render(items());
+        assertEquals(insets.top + insets.bottom, renderer.getPreferredSize().height);
+
+        renderer.setSize(100, 10 * lineHeight);
+        render(items("a", "b"));
+        renderer.doLayout();
+        assertEquals(new Rectangle(insets.left, insets.top, 100 - insets.left - insets.right, lineHeight),
+                renderer.getComponent(0).getBounds());
+        assertEquals(insets.top + lineHeight, renderer.getComponent(1).getY());
+    }
+
+    @Test
+    public void testFormattedStringsAreCached() {
+        List<Item> items = new ArrayList<Item>();
+        for (int i = 0; i < 512; i++) {
+            items.add(new Item(new Object()));
+        }
+        render(items);
+        assertEquals(512, format.count);
+
+        render(items);
+        assertEquals("all formatted strings should be cached", 512, format.count);
+
+        // a full cache is cleared before the next string is added
+        render(Arrays.asList(new Item(new Object())));
+        assertEquals(513, format.count);
+        render(items.subList(0, 1));
+        assertEquals(514, format.count);
+        render(items.subList(0, 1));
+        assertEquals(514, format.count);
+    }
+
+    private String renderEnum(TableCellRenderers.EnumTableCellRenderer enumRenderer, Object value) {
+        return ((JLabel) enumRenderer.getTableCellRendererComponent(table, value, false, false, 0, 0)).getText();
+    }
+
+    private void render(List<Item> items) {
+        assertSame(renderer, renderer.getTableCellRendererComponent(table, items, false, false, 0, 0));
+    }
+
+    private void assertLines(String... lines) {
+        for (int i = 0; i < lines.length; i++) {
+            JLabel label = (JLabel) renderer.getComponent(i);
+            assertTrue(label.isVisible());
+            assertEquals(lines[i], label.getText());
+        }
+    }
+
+    private static List<Item> items(String... values) {
+        List<Item> items = new ArrayList<Item>();
+        for (String value : values) {
+            items.add(new Item(value));
+        }
+        return items;
+    }
+
+    public static class Item {
+
+        private final Object value;
+
+        Item(Object value) {
+            this.value = value;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+    }
+
+    private static class CountingEnumRenderer extends TableCellRenderers.EnumTableCellRenderer {
+
+        private String prefix;
+
+        private int resolved;
+
+        protected String getEnumMessage(String key) {
+            resolved++;
+            return (prefix != null ? prefix : LocaleContextHolder.getLocale().getLanguage()) + " " + key;
+        }
+
+        protected Icon getEnumIcon(String key) {
+            return null;
+        }
+    }
+
+    private static class CountingFormat extends Format {
+
+        private int count;
+
+        public StringBuffer format(Object obj, StringBuffer toAppendTo, FieldPosition pos) {
+            count++;
+            return toAppendTo.append(obj);
+        }
+
+        public Object parseObject(String source, ParsePosition pos) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.widget.table.glazedlists;
+
+import ca.odell.glazedlists.TextFilterator;
+import org.junit.Before;
+import org.junit.Test;
+import org.valkyriercp.AbstractValkyrieTest;
+import org.valkyriercp.widget.table.PropertyColumnTableDescription;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class CachingTableFormatTests extends AbstractValkyrieTest {
+
+    private CachingTableFormat format;
+
+    @Before
+    public void setUp() {
+        PropertyColumnTableDescription desc = new PropertyColumnTableDescription(Person.class);
+        desc.addPropertyColumn("name").withValueCached(true);
+        desc.addPropertyColumn("city");
+        format = new CachingTableFormat(desc);
+    }
+
+    @Test
+    public void testOnlyValueCachedColumnsAreCached() {
+        Person person = new Person("john", "ghent");
+        TextFilterator<Object> filterator = format.getTextFilterator(new String[] {"name", "city"});
+        assertEquals(Arrays.asList("john", "ghent"), filterStrings(filterator, person));
+
+        person.setName("jane");
+        person.setCity("bruges");
+        // the cached column is only refreshed after invalidation, the other one is read from the row
+        assertEquals(Arrays.asList("john", "bruges"), filterStrings(filterator, person));
+        assertEquals("john", format.getColumnValue(person, 0));
+        assertEquals("bruges", format.getColumnValue(person, 1));
+    }
+
+    @Test
+    public void testInvalidateOnRowChange() {
+        Person person = new Person("john", "ghent");
+        TextFilterator<Object> filterator = format.getTextFilterator(new String[] {"name", "city"});
+        filterStrings(filterator, person);
+
+        person.setName("jane");
+        format.invalidate(person);
+        assertEquals(Arrays.asList("jane", "ghent"), filterStrings(filterator, person));
+        assertEquals("jane", format.getColumnValue(person, 0));
+
+        person.setName("joe");
+        format.clear();
+        assertEquals(Arrays.asList("joe", "ghent"), filterStrings(filterator, person));
+    }
+
+    @Test
+    public void testEditingInvalidatesRow() {
+        Person person = new Person("john", "ghent");
+        TextFilterator<Object> filterator = format.getTextFilterator(new String[] {"name"});
+        filterStrings(filterator, person);
+
+        format.setColumnValue(person, "jane", 0);
+        assertEquals(Arrays.asList("jane"), filterStrings(filterator, person));
+    }
+
+    @Test
+    public void testConfiguredFilterPropertiesAreUsed() {
+        Person person = new Person("john", "ghent");
+        person.setCountry("belgium");
+        // only city is configured, country has no column
+        TextFilterator<Object> filterator = format.getTextFilterator(new String[] {"city", "country"});
+        assertEquals(Arrays.asList("ghent", "belgium"), filterStrings(filterator, person));
+    }
+
+    private static List<String> filterStrings(TextFilterator<Object> filterator, Object element) {
+        List<String> strings = new ArrayList<String>();
+        filterator.getFilterStrings(strings, element);
+        return strings;
+    }
+
+    public static class Person {
+
+        private String name;
+
+        private String city;
+
+        private String country;
+
+        public Person(String name, String city) {
+            this.name = name;
+            this.city = city;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getCity() {
+            return city;
+        }
+
+        public void setCity(String city) {
+            this.city = city;
+        }
+
+        public String getCountry() {
+            return country;
+        }
+
+        public void setCountry(String country) {
+            this.country = country;
+        }
+    }
+}
@@ -22,6 +22,10 @@ import org.valkyriercp.util.ObjectUtils;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Repaint manager to be employed when using <code>JideBindingFactory</code> in order to make overlay support work.
@@ -47,6 +51,10 @@ import java.awt.*;
  * According to <a href="http://forums.sun.com/thread.jspa?threadID=725127">this thread</a> the "unique" way to listen
  * for repaint changes is overriding <code>RepaintManager</code>. This is not a recommended practice but works anyway...
  * <p>
+ * By default overlayables are repainted in a <em>coalescing</em> mode: the parents of dirty components are collected
+ * and each one is repainted once at the start of {@link #paintDirtyRegions()}, instead of once for every dirty region
+ * of every child. See {@link #setCoalescing(boolean)}.
+ * <p>
  * <b>Note</b> this class implements singleton.
  *
  * @author <a href = "mailto:julio.arguello@gmail.com" >Julio Arg??ello (JAF)</a>
@@ -61,6 +69,31 @@ public class JideRepaintManager extends RepaintManager {
      */
     private static JideRepaintManager instance;
 
+    /**
+     * Whether overlayable repaints are coalesced until the next paint cycle.
+     */
+    private boolean coalescing = true;
+
+    /**
+     * The first dirty child of each overlayable to be repainted in the next paint cycle, keyed by the overlayable.
+     */
+    private final Map<Container, JComponent> pendingOverlayables = new LinkedHashMap<Container, JComponent>();
+
+    /**
+     * Whether pending overlayables are being repainted, overlay repaints issued meanwhile are not collected again.
+     */
+    private boolean repaintingOverlayables;
+
+    /**
+     * The number of overlayable repaints requested.
+     */
+    private long overlayRepaintRequestCount;
+
+    /**
+     * The number of overlayable repaints performed.
+     */
+    private long overlayRepaintCount;
+
     /**
      * Creates the repaint manager given its delegate.
      */
@@ -81,8 +114,25 @@ public class JideRepaintManager extends RepaintManager {
         this.repaintOverlayable(c);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Repaints the overlayables collected since the previous paint cycle before painting, so their dirty regions are
+     * painted in this cycle.
+     */
+    @Override
+    public void paintDirtyRegions() {
+
+        this.repaintPendingOverlayables();
+
+        super.paintDirtyRegions();
+    }
+
     /**
      * Repaints the parent container of the target component if that is a <code>DefaultOverlayable</code> instance.
+     * <p>
+     * In coalescing mode the repaint is deferred until the next paint cycle, and only the first child of each
+     * overlayable triggers it.
      *
      * @param c
      *            the child component.
@@ -91,10 +141,118 @@ public class JideRepaintManager extends RepaintManager {
 
         final Container parent = c.getParent();
         if ((!(c instanceof Overlayable)) && (parent != null) && (parent instanceof DefaultOverlayable)) {
+            synchronized (this.pendingOverlayables) {
+                ++this.overlayRepaintRequestCount;
+                if (this.isCoalescing()) {
+                    if (!this.repaintingOverlayables && !this.pendingOverlayables.containsKey(parent)) {
+                        this.pendingOverlayables.put(parent, c);
+                    }
+                    return;
+                }
+                ++this.overlayRepaintCount;
+            }
             OverlayableUtils.repaintOverlayable(c);
         }
     }
 
+    /**
+     * Repaints once every overlayable collected in coalescing mode.
+     */
+    protected void repaintPendingOverlayables() {
+
+        final List<JComponent> children;
+        synchronized (this.pendingOverlayables) {
+            if (this.pendingOverlayables.isEmpty()) {
+                return;
+            }
+            children = new ArrayList<JComponent>(this.pendingOverlayables.values());
+            this.pendingOverlayables.clear();
+            this.overlayRepaintCount += children.size();
+            this.repaintingOverlayables = true;
+        }
+        try {
+            for (final JComponent child : children) {
+                OverlayableUtils.repaintOverlayable(child);
+            }
+        } finally {
+            synchronized (this.pendingOverlayables) {
+                this.repaintingOverlayables = false;
+            }
+        }
+    }
+
+    /**
+     * Returns whether overlayable repaints are coalesced until the next paint cycle.
+     *
+     * @return the coalescing flag.
+     */
+    public boolean isCoalescing() {
+
+        return this.coalescing;
+    }
+
+    /**
+     * Sets whether overlayable repaints are coalesced until the next paint cycle. When disabled every dirty region of
+     * an overlayable child repaints the overlayable right away.
+     *
+     * @param coalescing
+     *            the coalescing flag to set.
+     */
+    public void setCoalescing(boolean coalescing) {
+
+        this.coalescing = coalescing;
+        if (!coalescing) {
+            this.repaintPendingOverlayables();
+        }
+    }
+
+    /**
+     * Gets the number of overlayable repaints requested by dirty regions of overlayable children.
+     *
+     * @return the number of requested repaints.
+     */
+    public long getOverlayRepaintRequestCount() {
+
+        synchronized (this.pendingOverlayables) {
+            return this.overlayRepaintRequestCount;
+        }
+    }
+
+    /**
+     * Gets the number of overlayable repaints performed.
+     *
+     * @return the number of performed repaints.
+     */
+    public long getOverlayRepaintCount() {
+
+        synchronized (this.pendingOverlayables) {
+            return this.overlayRepaintCount;
+        }
+    }
+
+    /**
+     * Gets the number of overlayable repaints saved by coalescing, requests still pending are not counted as saved.
+     *
+     * @return the number of saved repaints.
+     */
+    public long getSavedOverlayRepaintCount() {
+
+        synchronized (this.pendingOverlayables) {
+            return this.overlayRepaintRequestCount - this.overlayRepaintCount - this.pendingOverlayables.size();
+        }
+    }
+
+    /**
+     * Resets the repaint counters.
+     */
+    public void resetOverlayRepaintCounts() {
+
+        synchronized (this.pendingOverlayables) {
+            this.overlayRepaintRequestCount = this.pendingOverlayables.size();
+            this.overlayRepaintCount = 0;
+        }
+    }
+
     /**
      * Gets the singleton instance initialized in a lazy mode (useful for reducing race conditions probability).
      *
@@ -0,0 +1,117 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.form.binding.jide;
+
+import com.jidesoft.swing.DefaultOverlayable;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.swing.*;
+
+import static org.junit.Assert.*;
+
+public class JideRepaintManagerTests {
+
+    private JideRepaintManager repaintManager;
+
+    private DefaultOverlayable overlayable;
+
+    private JTextField first;
+
+    private JTextField second;
+
+    private JTextField third;
+
+    @Before
+    public void setUp() {
+        repaintManager = new JideRepaintManager();
+        overlayable = new DefaultOverlayable();
+        first = new JTextField();
+        second = new JTextField();
+        third = new JTextField();
+        overlayable.add(first);
+        overlayable.add(second);
+        overlayable.add(third);
+    }
+
+    @Test
+    public void testRepaintsOfOneOverlayableAreCoalesced() {
+        assertTrue(repaintManager.isCoalescing());
+        addDirtyRegion(first);
+        addDirtyRegion(second);
+        addDirtyRegion(third);
+        addDirtyRegion(first);
+        assertEquals(4, repaintManager.getOverlayRepaintRequestCount());
+        assertEquals(0, repaintManager.getOverlayRepaintCount());
+
+        repaintManager.paintDirtyRegions();
+
+        assertEquals(4, repaintManager.getOverlayRepaintRequestCount());
+        assertEquals(1, repaintManager.getOverlayRepaintCount());
+        assertEquals(3, repaintManager.getSavedOverlayRepaintCount());
+
+        // nothing is pending any more
+        repaintManager.paintDirtyRegions();
+        assertEquals(1, repaintManager.getOverlayRepaintCount());
+    }
+
+    @Test
+    public void testEachOverlayableIsRepaintedOnce() {
+        DefaultOverlayable other = new DefaultOverlayable();
+        JTextField otherChild = new JTextField();
+        other.add(otherChild);
+        JPanel plain = new JPanel();
+        JTextField plainChild = new JTextField();
+        plain.add(plainChild);
+
+        addDirtyRegion(first);
+        addDirtyRegion(otherChild);
+        addDirtyRegion(second);
+        addDirtyRegion(plainChild);
+        addDirtyRegion(overlayable);
+        repaintManager.paintDirtyRegions();
+
+        assertEquals(3, repaintManager.getOverlayRepaintRequestCount());
+        assertEquals(2, repaintManager.getOverlayRepaintCount());
+        assertEquals(1, repaintManager.getSavedOverlayRepaintCount());
+    }
+
+    @Test
+    public void testRepaintsAreImmediateWithoutCoalescing() {
+        addDirtyRegion(first);
+        addDirtyRegion(second);
+        repaintManager.setCoalescing(false);
+        // disabling coalescing repaints the pending overlayable
+        assertEquals(1, repaintManager.getOverlayRepaintCount());
+
+        addDirtyRegion(first);
+        addDirtyRegion(third);
+        assertEquals(4, repaintManager.getOverlayRepaintRequestCount());
+        assertEquals(3, repaintManager.getOverlayRepaintCount());
+
+        repaintManager.paintDirtyRegions();
+        assertEquals(3, repaintManager.getOverlayRepaintCount());
+        assertEquals(1, repaintManager.getSavedOverlayRepaintCount());
+
+        repaintManager.resetOverlayRepaintCounts();
+        assertEquals(0, repaintManager.getOverlayRepaintRequestCount());
+        assertEquals(0, repaintManager.getOverlayRepaintCount());
+    }
+
+    private void addDirtyRegion(JComponent component) {
+        repaintManager.addDirtyRegion(component, 0, 0, 10, 10);
+    }
+}
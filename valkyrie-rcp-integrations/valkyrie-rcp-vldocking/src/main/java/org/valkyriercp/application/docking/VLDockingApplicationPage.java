@@ -33,6 +33,7 @@ import org.valkyriercp.application.ApplicationWindow;
 import org.valkyriercp.application.PageComponent;
 import org.valkyriercp.application.PageDescriptor;
 import org.valkyriercp.application.PageLayoutBuilder;
+import org.valkyriercp.application.View;
 import org.valkyriercp.application.ViewDescriptor;
 import org.valkyriercp.application.support.AbstractApplicationPage;
 import org.xml.sax.SAXException;
@@ -42,11 +43,23 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
 
 import javax.swing.*;
+import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
 import javax.xml.parsers.ParserConfigurationException;
 
 /**
+ * Application page laying out its page components as dockables of a VLDocking <code>DockingDesktop</code>.
+ * <p>
+ * The dockable of each page component is kept in an index, so looking it up does not depend on the number of
+ * dockables. When {@link #setLazyViews(boolean) lazy views} are enabled, the views restored from the initial layout
+ * start as placeholder dockables, and their page component is only created when the dockable is first shown. Lazy
+ * views are off by default, see {@link #setLazyViews(boolean)} for what changes when they are enabled.
+ *
  * @author Rogan Dawes
  */
 public class VLDockingApplicationPage extends AbstractApplicationPage implements PageLayoutBuilder {
@@ -60,30 +73,50 @@ public class VLDockingApplicationPage extends AbstractApplicationPage implements
 
     private Resource initialLayout = null;
 
+    private boolean lazyViews = false;
+
+    private final Map<PageComponent, Dockable> dockables = new HashMap<PageComponent, Dockable>();
+
+    private final Map<String, PlaceholderDockable> placeholderDockables = new HashMap<String, PlaceholderDockable>();
+
     public VLDockingApplicationPage(ApplicationWindow window, PageDescriptor pageDescriptor) {
         super(window, pageDescriptor);
         if (pageDescriptor instanceof VLDockingPageDescriptor) {
             VLDockingPageDescriptor descriptor = (VLDockingPageDescriptor) pageDescriptor;
             setLayoutManager(descriptor.getLayoutManager());
             setInitialLayout(descriptor.getInitialLayout());
+            setLazyViews(descriptor.isLazyViews());
         }
     }
 
+    /**
+     * Returns the page component of the given dockable, or <code>null</code> if the dockable has none or is a
+     * placeholder whose page component has not been created yet.
+     */
     protected PageComponent getPageComponent(Dockable dockable) {
-        if (dockable instanceof ViewDescriptorDockable)
-            return ((ViewDescriptorDockable) dockable).getPageComponent();
+        if (dockable instanceof ViewDescriptorDockable) {
+            ViewDescriptorDockable vdd = (ViewDescriptorDockable) dockable;
+            if (vdd instanceof PlaceholderDockable && !vdd.hasPageComponent())
+                return null;
+            return vdd.getPageComponent();
+        }
         return null;
     }
 
     protected Dockable getDockable(PageComponent pageComponent) {
-        DockableState[] states = desktop.getDockables();
-        for (int i = 0; i < states.length; i++) {
-            Dockable dockable = states[i].getDockable();
-            PageComponent pc = getPageComponent(dockable);
-            if (pc == pageComponent)
-                return dockable;
+        return dockables.get(pageComponent);
+    }
+
+    /**
+     * Returns the view with the given id. With {@link #isLazyViews() lazy views}, a view that was restored from the
+     * layout but not shown yet is created and added to this page by this call, as if it had been shown.
+     */
+    public <T extends View> T getView(String id) {
+        PlaceholderDockable placeholder = placeholderDockables.get(id);
+        if (placeholder != null) {
+            materialize(placeholder);
         }
-        return null;
+        return super.getView(id);
     }
 
     protected boolean giveFocusTo(PageComponent pageComponent) {
@@ -110,7 +143,17 @@ public class VLDockingApplicationPage extends AbstractApplicationPage implements
         Dockable dockable = getDockable(pageComponent);
         if (dockable != null)
             return;
+        PlaceholderDockable placeholder = placeholderDockables.remove(pageComponent.getId());
+        if (placeholder != null) {
+            // the view was restored from the layout but not shown yet, adopt its dockable
+            placeholder.setPageComponent(pageComponent);
+            dockables.put(pageComponent, placeholder);
+            if (isDockableClosed(placeholder))
+                getLayoutManager().addDockable(desktop, placeholder);
+            return;
+        }
         dockable = createDockable(pageComponent);
+        dockables.put(pageComponent, dockable);
         getLayoutManager().addDockable(desktop, dockable);
     }
 
@@ -122,8 +165,59 @@ public class VLDockingApplicationPage extends AbstractApplicationPage implements
         return new ViewDescriptorDockable(descriptor, pageComponent);
     }
 
+    /**
+     * Creates the dockable of a view restored from the layout whose page component is created when the dockable is
+     * first shown.
+     */
+    protected Dockable createPlaceholderDockable(ViewDescriptor descriptor) {
+        PlaceholderDockable placeholder = new PlaceholderDockable(descriptor);
+        placeholderDockables.put(descriptor.getId(), placeholder);
+        return placeholder;
+    }
+
+    /**
+     * Creates and adds the page component of a placeholder dockable.
+     */
+    private void materialize(PlaceholderDockable placeholder) {
+        if (placeholder.hasPageComponent())
+            return;
+        ViewDescriptor descriptor = placeholder.getViewDescriptor();
+        placeholderDockables.remove(descriptor.getId());
+        PageComponent pageComponent = createPageComponent(descriptor);
+        placeholder.setPageComponent(pageComponent);
+        dockables.put(pageComponent, placeholder);
+        resolving = true;
+        try {
+            addPageComponent(pageComponent);
+        } finally {
+            resolving = false;
+        }
+    }
+
+    /**
+     * @return whether the given dockable is not on the desktop or closed
+     */
+    protected boolean isDockableClosed(Dockable dockable) {
+        DockableState state = desktop.getDockableState(dockable);
+        return state == null || state.isClosed();
+    }
+
+    /**
+     * Called when the given dockable has been closed on the desktop. Closes its page component, or forgets the
+     * placeholder of a view that was never shown, so showing the view again creates a new dockable.
+     */
+    protected void dockableClosed(Dockable dockable) {
+        if (dockable instanceof PlaceholderDockable && !((PlaceholderDockable) dockable).hasPageComponent()) {
+            placeholderDockables.remove(((PlaceholderDockable) dockable).getViewDescriptor().getId());
+            return;
+        }
+        PageComponent pc = getPageComponent(dockable);
+        if (pc != null)
+            pc.getContext().getPage().close(pc);
+    }
+
     protected void doRemovePageComponent(PageComponent pageComponent) {
-        Dockable dockable = getDockable(pageComponent);
+        Dockable dockable = dockables.remove(pageComponent);
         if (dockable != null) {
             getLayoutManager().removeDockable(desktop, dockable);
         }
@@ -207,6 +301,32 @@ public class VLDockingApplicationPage extends AbstractApplicationPage implements
         this.initialLayout = initialLayout;
     }
 
+    /**
+     * @return whether views restored from the initial layout are created when first shown
+     */
+    public boolean isLazyViews() {
+        return this.lazyViews;
+    }
+
+    /**
+     * Sets whether the views restored from the initial layout are created when their dockable is first shown, instead
+     * of all at once while the layout is read. Defaults to <code>false</code>.
+     * <p>
+     * This speeds up restoring a layout with many views, but until a restored view is shown:
+     * <ul>
+     * <li>it is not one of the {@link #getPageComponents() page components} of this page,</li>
+     * <li>it is not registered as <code>ApplicationListener</code>, so it misses application events,</li>
+     * <li>it does not receive <code>componentOpened</code>.</li>
+     * </ul>
+     * Besides, {@link #getView(String)} creates such a view when it is asked for.
+     *
+     * @param lazyViews
+     *            the lazyViews flag to set
+     */
+    public void setLazyViews(boolean lazyViews) {
+        this.lazyViews = lazyViews;
+    }
+
     public boolean close() {
         // try to save the layout if it came from a file we can write to
         if (initialLayout != null) {
@@ -239,12 +359,9 @@ public class VLDockingApplicationPage extends AbstractApplicationPage implements
             DockableState futureState = event.getFutureState();
             if (futureState.isClosed()) {
                 Dockable dockable = futureState.getDockable();
-                if (dockable instanceof ViewDescriptorDockable) {
-                    ViewDescriptorDockable vdd = (ViewDescriptorDockable) dockable;
-                    PageComponent pc = vdd.getPageComponent();
-                    if (!pc.canClose())
-                        event.cancel();
-                }
+                PageComponent pc = getPageComponent(dockable);
+                if (pc != null && !pc.canClose())
+                    event.cancel();
             }
         }
 
@@ -256,12 +373,8 @@ public class VLDockingApplicationPage extends AbstractApplicationPage implements
         public void dockableStateChanged(DockableStateChangeEvent event) {
             DockableState previousState = event.getPreviousState();
             DockableState newState = event.getNewState();
-            Dockable dockable = newState.getDockable();
-            PageComponent pc = getPageComponent(dockable);
-            if (pc == null)
-                return;
             if (previousState != null && !previousState.isClosed() && newState.isClosed()) {
-                pc.getContext().getPage().close(pc);
+                dockableClosed(newState.getDockable());
             }
         }
 
@@ -272,6 +385,9 @@ public class VLDockingApplicationPage extends AbstractApplicationPage implements
          */
         public void selectionChanged(DockableSelectionEvent e) {
             Dockable dockable = e.getSelectedDockable();
+            if (dockable instanceof PlaceholderDockable) {
+                materialize((PlaceholderDockable) dockable);
+            }
             if (dockable != null) {
                 PageComponent pc = getPageComponent(dockable);
                 if (pc != null)
@@ -287,16 +403,56 @@ public class VLDockingApplicationPage extends AbstractApplicationPage implements
             ViewDescriptor descriptor = getViewDescriptor(keyName);
             if (descriptor == null)
                 return null;
+            if (isLazyViews())
+                return createPlaceholderDockable(descriptor);
             PageComponent pageComponent = createPageComponent(descriptor);
             resolving = true;
             addPageComponent(pageComponent);
             resolving = false;
             Dockable dockable = createDockable(descriptor, pageComponent);
+            dockables.put(pageComponent, dockable);
             return dockable;
         }
 
     }
 
+    /**
+     * Dockable of a restored view, showing an empty panel until the panel is first shown and the page component of the
+     * view is created.
+     */
+    private class PlaceholderDockable extends ViewDescriptorDockable implements HierarchyListener {
+
+        private final JPanel placeholder = new JPanel(new BorderLayout());
+
+        public PlaceholderDockable(ViewDescriptor viewDescriptor) {
+            super(viewDescriptor);
+            placeholder.addHierarchyListener(this);
+        }
+
+        public PageComponent getPageComponent() {
+            materialize(this);
+            return super.getPageComponent();
+        }
+
+        public void setPageComponent(PageComponent pageComponent) {
+            super.setPageComponent(pageComponent);
+            placeholder.removeHierarchyListener(this);
+            placeholder.add(pageComponent.getControl(), BorderLayout.CENTER);
+            placeholder.revalidate();
+        }
+
+        public Component getComponent() {
+            return placeholder;
+        }
+
+        public void hierarchyChanged(HierarchyEvent e) {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && placeholder.isShowing()) {
+                materialize(this);
+            }
+        }
+
+    }
+
     private class DefaultLayoutManager implements VLDockingLayoutManager {
 
         /*
@@ -27,6 +27,8 @@ public class VLDockingPageDescriptor extends MultiViewPageDescriptor {
 
     private Resource initialLayout;
 
+    private boolean lazyViews = false;
+
     /**
      * @return the layoutManager
      */
@@ -55,4 +57,20 @@ public class VLDockingPageDescriptor extends MultiViewPageDescriptor {
         this.initialLayout = initialLayout;
     }
 
+    /**
+     * @return whether views restored from the initial layout are created when first shown
+     */
+    public boolean isLazyViews() {
+        return this.lazyViews;
+    }
+
+    /**
+     * @param lazyViews whether views restored from the initial layout are created when first shown, defaults to
+     *            <code>false</code>
+     * @see VLDockingApplicationPage#setLazyViews(boolean)
+     */
+    public void setLazyViews(boolean lazyViews) {
+        this.lazyViews = lazyViews;
+    }
+
 }
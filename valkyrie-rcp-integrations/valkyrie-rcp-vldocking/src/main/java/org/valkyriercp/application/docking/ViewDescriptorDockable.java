@@ -83,6 +83,17 @@ public class ViewDescriptorDockable implements Dockable {
         this.pageComponent = pageComponent;
     }
 
+    /**
+     * @return whether the page component has been set or created
+     */
+    public boolean hasPageComponent() {
+        return pageComponent != null;
+    }
+
+    public ViewDescriptor getViewDescriptor() {
+        return viewDescriptor;
+    }
+
     /*
     * (non-Javadoc)
     *
@@ -0,0 +1,201 @@
+/**
+ * Copyright (C) 2015 Valkyrie RCP
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.valkyriercp.application.docking;
+
+import com.vldocking.swing.docking.Dockable;
+import com.vldocking.swing.docking.DockingDesktop;
+import org.junit.Before;
+import org.junit.Test;
+import org.valkyriercp.application.ApplicationWindow;
+import org.valkyriercp.application.PageComponent;
+import org.valkyriercp.application.PageComponentDescriptor;
+import org.valkyriercp.application.View;
+import org.valkyriercp.application.ViewDescriptor;
+
+import javax.swing.*;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the lazy views of {@link VLDockingApplicationPage} without a <code>DockingDesktop</code>, which can't be
+ * created in a headless environment.
+ */
+public class VLDockingApplicationPageTests {
+
+    private static final String VIEW_ID = "view";
+
+    private TestPage page;
+
+    private RecordingLayoutManager layoutManager;
+
+    private ViewDescriptor viewDescriptor;
+
+    @Before
+    public void setUp() {
+        VLDockingPageDescriptor pageDescriptor = new VLDockingPageDescriptor();
+        pageDescriptor.setId("page");
+        pageDescriptor.setLazyViews(true);
+        page = new TestPage(pageDescriptor);
+        layoutManager = new RecordingLayoutManager();
+        page.setLayoutManager(layoutManager);
+        viewDescriptor = stub(ViewDescriptor.class, Collections.<String, Object> singletonMap("getId", VIEW_ID));
+        page.viewDescriptors.put(VIEW_ID, viewDescriptor);
+    }
+
+    @Test
+    public void testLazyViewsAreOptIn() {
+        assertFalse(new VLDockingPageDescriptor().isLazyViews());
+        assertFalse(new TestPage(new VLDockingPageDescriptor()).isLazyViews());
+        assertTrue(page.isLazyViews());
+    }
+
+    @Test
+    public void testShowViewAdoptsPlaceholder() {
+        Dockable placeholder = page.createPlaceholderDockable(viewDescriptor);
+        assertTrue(page.created.isEmpty());
+
+        View view = page.showView(VIEW_ID);
+
+        assertEquals(Collections.singletonList(view), page.created);
+        assertEquals(Collections.singletonList(view), page.getPageComponents());
+        assertSame(placeholder, page.getDockable(view));
+        assertSame(view, page.getPageComponent(placeholder));
+        assertSame(view.getControl(), ((JComponent) placeholder.getComponent()).getComponent(0));
+        // the placeholder is still on the desktop, no second dockable is added
+        assertTrue(layoutManager.added.isEmpty());
+        assertSame(view, page.getView(VIEW_ID));
+        assertEquals(1, page.created.size());
+    }
+
+    @Test
+    public void testShowViewAddsClosedPlaceholderAgain() {
+        Dockable placeholder = page.createPlaceholderDockable(viewDescriptor);
+        page.closedDockables.add(placeholder);
+
+        View view = page.showView(VIEW_ID);
+
+        assertSame(placeholder, page.getDockable(view));
+        assertEquals(Collections.singletonList(placeholder), layoutManager.added);
+    }
+
+    @Test
+    public void testGetViewCreatesPlaceholderView() {
+        Dockable placeholder = page.createPlaceholderDockable(viewDescriptor);
+
+        View view = page.getView(VIEW_ID);
+
+        assertNotNull(view);
+        assertEquals(Collections.singletonList(view), page.created);
+        assertEquals(Collections.singletonList(view), page.getPageComponents());
+        assertSame(placeholder, page.getDockable(view));
+        assertTrue(layoutManager.added.isEmpty());
+    }
+
+    @Test
+    public void testCloseNeverShownPlaceholder() {
+        Dockable placeholder = page.createPlaceholderDockable(viewDescriptor);
+
+        page.dockableClosed(placeholder);
+
+        assertTrue(page.created.isEmpty());
+        assertTrue(page.getPageComponents().isEmpty());
+        assertNull(page.getView(VIEW_ID));
+        assertTrue(page.created.isEmpty());
+
+        // showing the view again creates a new dockable instead of reviving the closed placeholder
+        View view = page.showView(VIEW_ID);
+        Dockable dockable = page.getDockable(view);
+        assertNotNull(dockable);
+        assertNotSame(placeholder, dockable);
+        assertEquals(Collections.singletonList(dockable), layoutManager.added);
+        assertFalse(((ViewDescriptorDockable) placeholder).hasPageComponent());
+    }
+
+    private static class TestPage extends VLDockingApplicationPage {
+
+        private final Map<String, ViewDescriptor> viewDescriptors = new HashMap<String, ViewDescriptor>();
+
+        private final List<PageComponent> created = new ArrayList<PageComponent>();
+
+        private final Set<Dockable> closedDockables = new HashSet<Dockable>();
+
+        TestPage(VLDockingPageDescriptor pageDescriptor) {
+            super(stub(ApplicationWindow.class, Collections.<String, Object> emptyMap()), pageDescriptor);
+        }
+
+        protected ViewDescriptor getViewDescriptor(String viewDescriptorId) {
+            return viewDescriptors.get(viewDescriptorId);
+        }
+
+        protected PageComponent createPageComponent(PageComponentDescriptor descriptor) {
+            Map<String, Object> answers = new HashMap<String, Object>();
+            answers.put("getId", descriptor.getId());
+            answers.put("getControl", new JPanel());
+            answers.put("canClose", Boolean.TRUE);
+            PageComponent pageComponent = stub(View.class, answers);
+            created.add(pageComponent);
+            return pageComponent;
+        }
+
+        protected boolean isDockableClosed(Dockable dockable) {
+            // placeholders are restored on the desktop
+            return closedDockables.contains(dockable);
+        }
+    }
+
+    private static class RecordingLayoutManager implements VLDockingLayoutManager {
+
+        private final List<Dockable> added = new ArrayList<Dockable>();
+
+        public void addDockable(DockingDesktop desktop, Dockable dockable) {
+            added.add(dockable);
+        }
+
+        public void removeDockable(DockingDesktop desktop, Dockable dockable) {
+            added.remove(dockable);
+        }
+    }
+
+    /**
+     * Creates an implementation of the given interface that returns the given answers by method name and the default
+     * value of the return type otherwise.
+     */
+    private static <T> T stub(Class<T> type, final Map<String, Object> answers) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class[] { type }, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                String name = method.getName();
+                if (name.equals("equals"))
+                    return proxy == args[0];
+                if (name.equals("hashCode"))
+                    return System.identityHashCode(proxy);
+                if (name.equals("toString"))
+                    return "stub " + answers.get("getId");
+                if (answers.containsKey(name))
+                    return answers.get(name);
+                Class<?> returnType = method.getReturnType();
+                if (returnType == boolean.class)
+                    return Boolean.FALSE;
+                if (returnType == Iterator.class)
+                    return Collections.emptyIterator();
+                return null;
+            }
+        }));
+    }
+}